@@ -8,22 +8,20 @@
  */
 package org.openhab.binding.amazondashbutton.internal.capturing;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.openhab.binding.amazondashbutton.internal.pcap.PcapNetworkInterfaceWrapper;
 import org.pcap4j.core.BpfProgram.BpfCompileMode;
 import org.pcap4j.core.NotOpenException;
-import org.pcap4j.core.PacketListener;
 import org.pcap4j.core.PcapHandle;
+import org.pcap4j.core.PcapNativeException;
 import org.pcap4j.core.PcapNetworkInterface.PromiscuousMode;
-import org.pcap4j.packet.ArpPacket;
-import org.pcap4j.packet.EthernetPacket;
-import org.pcap4j.packet.Packet;
-import org.pcap4j.packet.UdpPacket;
-import org.pcap4j.packet.namednumber.ArpOperation;
-import org.pcap4j.packet.namednumber.UdpPort;
+import org.pcap4j.core.RawPacketListener;
+import org.pcap4j.packet.namednumber.DataLinkType;
 import org.pcap4j.util.MacAddress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,19 +29,35 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link PacketCapturingService} is responsible for capturing packets.
  *
+ * All {@link PacketCapturingService}s of a network interface share one {@link PcapHandle}. Its BPF filter only lets
+ * pass the ARP and BOOTP requests sent by the MAC addresses of the started services, so that the other traffic isn't
+ * copied from the kernel. The captured frames are decoded from their raw bytes and dispatched by the source MAC
+ * address.
+ *
  * @author Oliver Libutzki - Initial contribution
  *
  */
 public class PacketCapturingService {
 
-    private final Logger logger = LoggerFactory.getLogger(PacketCapturingService.class);
-
     private static final int READ_TIMEOUT = 10; // [ms]
-    private static final int SNAPLEN = 65536; // [bytes]
+    private static final int SNAPLEN = 128; // [bytes], enough for the Ethernet, IP and UDP headers
+
+    private static final String CAPTURE_FILTER = "(arp or port bootps)";
+
+    /**
+     * The shared captures by network interface
+     */
+    private static final Map<PcapNetworkInterfaceWrapper, SharedCapture> sharedCaptures = new HashMap<>();
+
+    private final Logger logger = LoggerFactory.getLogger(PacketCapturingService.class);
 
     private final PcapNetworkInterfaceWrapper pcapNetworkInterface;
 
-    private PcapHandle pcapHandle;
+    private PacketCapturingHandler packetCapturingHandler;
+    private String macAddress;
+    private Long macAddressKey;
+
+    private SharedCapture sharedCapture;
 
     public PacketCapturingService(PcapNetworkInterfaceWrapper pcapNetworkInterface) {
         this.pcapNetworkInterface = pcapNetworkInterface;
@@ -71,57 +85,45 @@ public class PacketCapturingService {
      * @param macAddress The source MAC address of the captured packet, might be null in order to deactivate this filter
      *            criteria
      * @return Returns true, if the capturing has been started successfully, otherwise returns false
-     * @throws IllegalStateException Thrown if {@link PcapHandle#isOpen()} of {@link #pcapHandle} returns true
+     * @throws IllegalStateException Thrown if the capturing has already been started
      */
 
     public boolean startCapturing(final PacketCapturingHandler packetCapturingHandler, final String macAddress) {
-        if (pcapHandle != null) {
-            if (pcapHandle.isOpen()) {
-                throw new IllegalStateException("There is an open pcap handle.");
-            } else {
-                pcapHandle.close();
-            }
+        if (sharedCapture != null) {
+            throw new IllegalStateException("The capturing has already been started.");
         }
-        try {
-            pcapHandle = pcapNetworkInterface.openLive(SNAPLEN, PromiscuousMode.PROMISCUOUS, READ_TIMEOUT);
-            StringBuilder filterBuilder = new StringBuilder("(arp or port bootps)");
-            if (macAddress != null) {
-                filterBuilder.append(" and ether src " + macAddress);
+        if (macAddress != null) {
+            try {
+                MacAddress parsedMacAddress = MacAddress.getByName(macAddress);
+                this.macAddress = parsedMacAddress.toString();
+                macAddressKey = toKey(parsedMacAddress.getAddress(), 0);
+            } catch (IllegalArgumentException e) {
+                logger.error("Capturing packets for invalid MAC address {} failed.", macAddress);
+                return false;
             }
-            pcapHandle.setFilter(filterBuilder.toString(), BpfCompileMode.OPTIMIZE);
-        } catch (Exception e) {
-            logger.error("Capturing packets on device {} failed.", pcapNetworkInterface.getName(), e);
-            return false;
+        } else {
+            this.macAddress = null;
+            macAddressKey = null;
         }
-        ExecutorService executorService = Executors.newSingleThreadExecutor();
-        executorService.submit(new Callable<Void>() {
+        this.packetCapturingHandler = packetCapturingHandler;
 
-            @Override
-            public Void call() throws Exception {
+        synchronized (sharedCaptures) {
+            SharedCapture capture = sharedCaptures.get(pcapNetworkInterface);
+            if (capture == null) {
                 try {
-                    pcapHandle.loop(-1, new PacketListener() {
-
-                        @Override
-                        public void gotPacket(Packet packet) {
-                            if (!packet.contains(EthernetPacket.class)) {
-                                return;
-                            }
-                            final EthernetPacket ethernetPacket = packet.get(EthernetPacket.class);
-                            final MacAddress sourceMacAddress = ethernetPacket.getHeader().getSrcAddr();
-                            if (shouldCapture(packet)) {
-                                packetCapturingHandler.packetCaptured(sourceMacAddress);
-                            }
-                        }
-                    });
-                } finally {
-                    if (pcapHandle != null && pcapHandle.isOpen()) {
-                        pcapHandle.close();
-                        pcapHandle = null;
-                    }
+                    capture = new SharedCapture(pcapNetworkInterface);
+                } catch (Exception e) {
+                    logger.error("Capturing packets on device {} failed.", pcapNetworkInterface.getName(), e);
+                    return false;
                 }
-                return null;
+                sharedCaptures.put(pcapNetworkInterface, capture);
+                capture.add(this);
+                capture.start();
+            } else {
+                capture.add(this);
             }
-        });
+            sharedCapture = capture;
+        }
         if (macAddress == null) {
             logger.debug("Started capturing ARP and BOOTP requests for network device {}.",
                     pcapNetworkInterface.getName());
@@ -132,44 +134,19 @@ public class PacketCapturingService {
         return true;
     }
 
-    /**
-     * Checks if the given {@link Packet} should be captured.
-     *
-     * @param packet The packet to be checked
-     * @return Returns true, if the packet should be captured, otherwise false
-     */
-    private boolean shouldCapture(final Packet packet) {
-        if (packet.contains(ArpPacket.class)) {
-            ArpPacket arpPacket = packet.get(ArpPacket.class);
-            if (arpPacket.getHeader().getOperation().equals(ArpOperation.REQUEST)) {
-                return true;
-            }
-        }
-        if (packet.contains(UdpPacket.class)) {
-            final UdpPacket udpPacket = packet.get(UdpPacket.class);
-            if (UdpPort.BOOTPS == udpPacket.getHeader().getDstPort()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * Stops the capturing. This can be called without calling {@link #startCapturing(PacketCapturingHandler)} or
      * {@link #startCapturing(PacketCapturingHandler, String)} before.
      */
     public void stopCapturing() {
-        if (pcapHandle != null) {
-            if (pcapHandle.isOpen()) {
-                try {
-                    pcapHandle.breakLoop();
-                    logger.debug("Stopped capturing ARP and BOOTP requests for network device {}.",
-                            pcapNetworkInterface.getName());
-                } catch (NotOpenException e) {
-                    // Just ignore
+        synchronized (sharedCaptures) {
+            if (sharedCapture != null) {
+                if (sharedCapture.remove(this)) {
+                    sharedCaptures.remove(pcapNetworkInterface, sharedCapture);
                 }
-            } else {
-                pcapHandle = null;
+                sharedCapture = null;
+                logger.debug("Stopped capturing ARP and BOOTP requests for network device {}.",
+                        pcapNetworkInterface.getName());
             }
         }
     }
@@ -182,4 +159,225 @@ public class PacketCapturingService {
     public PcapNetworkInterfaceWrapper getPcapNetworkInterface() {
         return pcapNetworkInterface;
     }
+
+    /**
+     * Returns the 48 bit MAC address at the given offset as a long, which is used as hash key.
+     */
+    private static long toKey(byte[] bytes, int offset) {
+        long key = 0;
+        for (int i = offset; i < offset + MacAddress.SIZE_IN_BYTES; i++) {
+            key = (key << 8) | (bytes[i] & 0xFF);
+        }
+        return key;
+    }
+
+    /**
+     * The {@link SharedCapture} captures the packets of one network interface for all {@link PacketCapturingService}s
+     * of this interface. The BPF filter is updated every time a service is added or removed.
+     */
+    private static class SharedCapture implements Runnable, RawPacketListener {
+
+        private static final int ETHER_TYPE_OFFSET = 12;
+        private static final int ETHER_TYPE_VLAN = 0x8100;
+        private static final int ETHER_TYPE_ARP = 0x0806;
+        private static final int ETHER_TYPE_IPV4 = 0x0800;
+        private static final int ARP_OPERATION_REQUEST = 1;
+        private static final int IP_PROTOCOL_UDP = 17;
+        private static final int UDP_PORT_BOOTPS = 67;
+
+        private final Logger logger = LoggerFactory.getLogger(SharedCapture.class);
+
+        private final PcapNetworkInterfaceWrapper pcapNetworkInterface;
+        private final PcapHandle pcapHandle;
+        private final boolean ethernet;
+
+        /**
+         * The services capturing a single MAC address by its key and the services capturing all MAC addresses. Both are
+         * replaced on every change, so the capture thread can read them without locking.
+         */
+        private volatile Map<Long, List<PacketCapturingService>> servicesByMacAddress = Collections.emptyMap();
+        private volatile List<PacketCapturingService> allMacAddressServices = Collections.emptyList();
+
+        private boolean closed = false;
+        private String appliedFilter;
+
+        SharedCapture(PcapNetworkInterfaceWrapper pcapNetworkInterface) throws PcapNativeException {
+            this.pcapNetworkInterface = pcapNetworkInterface;
+            pcapHandle = pcapNetworkInterface.openLive(SNAPLEN, PromiscuousMode.PROMISCUOUS, READ_TIMEOUT);
+            ethernet = DataLinkType.EN10MB.equals(pcapHandle.getDlt());
+            if (!ethernet) {
+                logger.warn("Network device {} is no Ethernet device, no packets will be captured.",
+                        pcapNetworkInterface.getName());
+            }
+        }
+
+        void start() {
+            Thread thread = new Thread(this, "Amazon Dash Button capture " + pcapNetworkInterface.getName());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        synchronized void add(PacketCapturingService service) {
+            if (service.macAddressKey == null) {
+                List<PacketCapturingService> services = new ArrayList<>(allMacAddressServices);
+                services.add(service);
+                allMacAddressServices = Collections.unmodifiableList(services);
+            } else {
+                Map<Long, List<PacketCapturingService>> servicesByKey = new HashMap<>(servicesByMacAddress);
+                List<PacketCapturingService> services = servicesByKey.get(service.macAddressKey);
+                services = services == null ? new ArrayList<PacketCapturingService>() : new ArrayList<>(services);
+                services.add(service);
+                servicesByKey.put(service.macAddressKey, Collections.unmodifiableList(services));
+                servicesByMacAddress = Collections.unmodifiableMap(servicesByKey);
+            }
+            updateFilter();
+        }
+
+        /**
+         * Removes the service and closes the capture if it was the last one.
+         *
+         * @return true if the capture has been closed
+         */
+        synchronized boolean remove(PacketCapturingService service) {
+            if (service.macAddressKey == null) {
+                List<PacketCapturingService> services = new ArrayList<>(allMacAddressServices);
+                services.remove(service);
+                allMacAddressServices = Collections.unmodifiableList(services);
+            } else {
+                Map<Long, List<PacketCapturingService>> servicesByKey = new HashMap<>(servicesByMacAddress);
+                List<PacketCapturingService> services = new ArrayList<>(servicesByKey.get(service.macAddressKey));
+                services.remove(service);
+                if (services.isEmpty()) {
+                    servicesByKey.remove(service.macAddressKey);
+                } else {
+                    servicesByKey.put(service.macAddressKey, Collections.unmodifiableList(services));
+                }
+                servicesByMacAddress = Collections.unmodifiableMap(servicesByKey);
+            }
+            closed = allMacAddressServices.isEmpty() && servicesByMacAddress.isEmpty();
+            updateFilter();
+            return closed;
+        }
+
+        /**
+         * Builds the filter, which is restricted to the captured MAC addresses unless a service captures all MAC
+         * addresses.
+         */
+        private synchronized String buildFilter() {
+            if (!allMacAddressServices.isEmpty() || servicesByMacAddress.isEmpty()) {
+                return CAPTURE_FILTER;
+            }
+            StringBuilder filterBuilder = new StringBuilder(CAPTURE_FILTER).append(" and (");
+            boolean first = true;
+            for (List<PacketCapturingService> services : servicesByMacAddress.values()) {
+                if (!first) {
+                    filterBuilder.append(" or ");
+                }
+                filterBuilder.append("ether src ").append(services.get(0).macAddress);
+                first = false;
+            }
+            return filterBuilder.append(")").toString();
+        }
+
+        /**
+         * Interrupts the capture loop, which applies the new filter or closes the handle.
+         */
+        private void updateFilter() {
+            try {
+                pcapHandle.breakLoop();
+            } catch (NotOpenException e) {
+                // Just ignore
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    String filter;
+                    synchronized (this) {
+                        if (closed) {
+                            break;
+                        }
+                        filter = buildFilter();
+                    }
+                    if (!filter.equals(appliedFilter)) {
+                        pcapHandle.setFilter(filter, BpfCompileMode.OPTIMIZE);
+                        appliedFilter = filter;
+                        logger.debug("Capturing on network device {} with filter '{}'.",
+                                pcapNetworkInterface.getName(), filter);
+                    }
+                    try {
+                        pcapHandle.loop(-1, this);
+                    } catch (InterruptedException e) {
+                        // The loop has been broken in order to update the filter
+                    }
+                }
+            } catch (PcapNativeException | NotOpenException e) {
+                logger.error("Capturing packets on device {} failed.", pcapNetworkInterface.getName(), e);
+                synchronized (sharedCaptures) {
+                    sharedCaptures.remove(pcapNetworkInterface, this);
+                }
+            } finally {
+                pcapHandle.close();
+            }
+        }
+
+        @Override
+        public void gotPacket(byte[] frame) {
+            if (!ethernet || frame.length < ETHER_TYPE_OFFSET + 2) {
+                return;
+            }
+            int offset = ETHER_TYPE_OFFSET;
+            int etherType = readUnsignedShort(frame, offset);
+            if (etherType == ETHER_TYPE_VLAN && frame.length >= offset + 6) {
+                offset += 4;
+                etherType = readUnsignedShort(frame, offset);
+            }
+            offset += 2;
+            if (!isRequest(frame, offset, etherType)) {
+                return;
+            }
+
+            // The source MAC address follows the destination MAC address
+            List<PacketCapturingService> services = servicesByMacAddress.get(toKey(frame, MacAddress.SIZE_IN_BYTES));
+            List<PacketCapturingService> allServices = allMacAddressServices;
+            if (services == null && allServices.isEmpty()) {
+                return;
+            }
+            byte[] sourceAddress = new byte[MacAddress.SIZE_IN_BYTES];
+            System.arraycopy(frame, MacAddress.SIZE_IN_BYTES, sourceAddress, 0, MacAddress.SIZE_IN_BYTES);
+            MacAddress sourceMacAddress = MacAddress.getByAddress(sourceAddress);
+            if (services != null) {
+                for (PacketCapturingService service : services) {
+                    service.packetCapturingHandler.packetCaptured(sourceMacAddress);
+                }
+            }
+            for (PacketCapturingService service : allServices) {
+                service.packetCapturingHandler.packetCaptured(sourceMacAddress);
+            }
+        }
+
+        /**
+         * Checks if the Ethernet payload at the given offset is an ARP request or a UDP packet to the BOOTP server
+         * port.
+         */
+        private boolean isRequest(byte[] frame, int offset, int etherType) {
+            if (etherType == ETHER_TYPE_ARP) {
+                return frame.length >= offset + 8 && readUnsignedShort(frame, offset + 6) == ARP_OPERATION_REQUEST;
+            }
+            if (etherType == ETHER_TYPE_IPV4 && frame.length >= offset + 20) {
+                int headerLength = (frame[offset] & 0x0F) * 4;
+                int protocol = frame[offset + 9] & 0xFF;
+                int udpOffset = offset + headerLength;
+                return protocol == IP_PROTOCOL_UDP && frame.length >= udpOffset + 4
+                        && readUnsignedShort(frame, udpOffset + 2) == UDP_PORT_BOOTPS;
+            }
+            return false;
+        }
+
+        private static int readUnsignedShort(byte[] bytes, int offset) {
+            return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+        }
+    }
 }
@@ -11,17 +11,19 @@ package org.openhab.binding.atlona.internal.net;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
-import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,11 +32,29 @@ import org.slf4j.LoggerFactory;
  * {@link #sendCommand(String)} and responses will be received on any {@link SocketSessionListener}. This implementation
  * of {@link SocketSession} communicates using a {@link SocketChannel} connection.
  *
+ * All sessions share a single {@link SocketReactor} thread that reads from the connections without blocking. The
+ * responses are dispatched to the listeners on the binding's thread pool, in order for each session.
+ *
  * @author Tim Roberts
  */
 public class SocketChannelSession implements SocketSession {
     private final Logger logger = LoggerFactory.getLogger(SocketChannelSession.class);
 
+    /**
+     * The name of the thread pool the responses are dispatched on
+     */
+    private static final String THREAD_POOL_NAME = "atlona";
+
+    /**
+     * The number of undispatched responses at which reading from the connection is suspended
+     */
+    private static final int MAX_QUEUED_RESPONSES = 50;
+
+    /**
+     * The time to wait before retrying a write when the send buffer of the socket is full
+     */
+    private static final int WRITE_RETRY_MILLIS = 10;
+
     /**
      * The host/ip address to connect to
      */
@@ -46,24 +66,29 @@ public class SocketChannelSession implements SocketSession {
     private final int _port;
 
     /**
-     * The actual socket being used. Will be null if not connected
+     * The actual connection being used. Will be null if not connected
      */
-    private final AtomicReference<SocketChannel> _socketChannel = new AtomicReference<SocketChannel>();
+    private final AtomicReference<Connection> _connection = new AtomicReference<Connection>();
 
     /**
-     * The {@link ResponseReader} that will be used to read from {@link #_readBuffer}
+     * The responses read from the {@link #_connection}
      */
-    private final ResponseReader _responseReader = new ResponseReader();
+    private final Queue<Object> _responses = new ConcurrentLinkedQueue<Object>();
 
     /**
-     * The responses read from the {@link #_responseReader}
+     * The number of responses in {@link #_responses}
      */
-    private final BlockingQueue<Object> _responses = new ArrayBlockingQueue<Object>(50);
+    private final AtomicInteger _queuedResponses = new AtomicInteger();
+
+    /**
+     * Whether the {@link #_dispatcher} is scheduled or running
+     */
+    private final AtomicBoolean _dispatching = new AtomicBoolean(false);
 
     /**
      * The dispatcher of responses from {@link #_responses}
      */
-    private final Dispatcher _dispatcher = new Dispatcher();
+    private final Runnable _dispatcher = new Dispatcher();
 
     /**
      * The {@link SocketSessionListener} that the {@link #_dispatcher} will call
@@ -94,6 +119,9 @@ public class SocketChannelSession implements SocketSession {
             throw new IllegalArgumentException("listener cannot be null");
         }
         _listeners.add(listener);
+
+        // responses may have piled up while there was no listener
+        scheduleDispatch();
     }
 
     @Override
@@ -111,22 +139,23 @@ public class SocketChannelSession implements SocketSession {
         disconnect();
 
         final SocketChannel channel = SocketChannel.open();
-        channel.configureBlocking(true);
-
-        logger.debug("Connecting to {}:{}", _host, _port);
-        channel.connect(new InetSocketAddress(_host, _port));
+        try {
+            channel.configureBlocking(true);
 
-        logger.debug("Waiting for connect");
-        while (!channel.finishConnect()) {
-            try {
-                Thread.sleep(250);
-            } catch (InterruptedException e) {
-            }
+            logger.debug("Connecting to {}:{}", _host, _port);
+            channel.connect(new InetSocketAddress(_host, _port));
+            channel.configureBlocking(false);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
         }
 
-        _socketChannel.set(channel);
-        new Thread(_dispatcher).start();
-        new Thread(_responseReader).start();
+        final Connection newConnection = new Connection(channel);
+        _connection.set(newConnection);
+
+        clearResponses();
+
+        SocketReactor.register(newConnection);
     }
 
     @Override
@@ -134,20 +163,20 @@ public class SocketChannelSession implements SocketSession {
         if (isConnected()) {
             logger.debug("Disconnecting from {}:{}", _host, _port);
 
-            final SocketChannel channel = _socketChannel.getAndSet(null);
-            channel.close();
-
-            _dispatcher.stopRunning();
-            _responseReader.stopRunning();
+            final Connection oldConnection = _connection.getAndSet(null);
+            if (oldConnection != null) {
+                // closing the channel cancels its registration with the reactor
+                oldConnection.channel.close();
+            }
 
-            _responses.clear();
+            clearResponses();
         }
     }
 
     @Override
     public boolean isConnected() {
-        final SocketChannel channel = _socketChannel.get();
-        return channel != null && channel.isConnected();
+        final Connection current = _connection.get();
+        return current != null && current.channel.isConnected();
     }
 
     @Override
@@ -162,218 +191,320 @@ public class SocketChannelSession implements SocketSession {
 
         ByteBuffer toSend = ByteBuffer.wrap((command + "\r\n").getBytes());
 
-        final SocketChannel channel = _socketChannel.get();
-        if (channel == null) {
+        final Connection current = _connection.get();
+        if (current == null) {
             logger.debug("Cannot send command '{}' - socket channel was closed", command);
         } else {
             logger.debug("Sending Command: '{}'", command);
-            channel.write(toSend);
+            current.write(toSend);
         }
     }
 
+    private void clearResponses() {
+        _responses.clear();
+        _queuedResponses.set(0);
+    }
+
     /**
-     * This is the runnable that will read from the socket and add messages to the responses queue (to be processed by
-     * the dispatcher)
-     *
-     * @author Tim Roberts
-     *
+     * Schedules the {@link #_dispatcher} on the thread pool, unless it is already scheduled, there is nothing to
+     * dispatch or there are no listeners yet
+     */
+    private void scheduleDispatch() {
+        if (!_responses.isEmpty() && !_listeners.isEmpty() && _dispatching.compareAndSet(false, true)) {
+            ThreadPoolManager.getPool(THREAD_POOL_NAME).execute(_dispatcher);
+        }
+    }
+
+    /**
+     * A connection of this session, which is registered with the {@link SocketReactor}. A 'response' is anything that
+     * ends with a carriage-return/newline combo. Additionally, the special "Login: " and "Password: " prompts are
+     * treated as responses for purposes of logging in.
      */
-    private class ResponseReader implements Runnable {
+    private class Connection {
+        private final SocketChannel channel;
 
         /**
-         * Whether the reader is currently running
+         * The partial response read so far - only used by the reactor thread
          */
-        private final AtomicBoolean _isRunning = new AtomicBoolean(false);
+        private final StringBuilder sb = new StringBuilder(100);
 
         /**
-         * Locking to allow proper shutdown of the reader
+         * The registration with the reactor - only used by the reactor thread
          */
-        private final CountDownLatch _running = new CountDownLatch(1);
+        private SelectionKey key;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
 
         /**
-         * Stops the reader. Will wait 5 seconds for the runnable to stop
+         * Writes the whole buffer to the non-blocking channel
          */
-        public void stopRunning() {
-            if (_isRunning.getAndSet(false)) {
-                try {
-                    if (!_running.await(5, TimeUnit.SECONDS)) {
-                        logger.warn("Waited too long for response reader to finish");
+        private void write(ByteBuffer toSend) throws IOException {
+            while (toSend.hasRemaining()) {
+                if (channel.write(toSend) == 0) {
+                    try {
+                        Thread.sleep(WRITE_RETRY_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while sending command");
                     }
-                } catch (InterruptedException e) {
-                    // Do nothing
                 }
             }
         }
 
         /**
-         * Runs the logic to read from the socket until {@link #_isRunning} is false. A 'response' is anything that ends
-         * with a carriage-return/newline combo. Additionally, the special "Login: " and "Password: " prompts are
-         * treated as responses for purposes of logging in.
+         * Reads the available data into the given buffer and decodes the responses from it. Called by the reactor
+         * thread when the channel is readable.
          */
-        @Override
-        public void run() {
-            final StringBuilder sb = new StringBuilder(100);
-            final ByteBuffer readBuffer = ByteBuffer.allocate(1024);
-
-            _isRunning.set(true);
-            _responses.clear();
+        private void read(ByteBuffer readBuffer) {
+            try {
+                final int bytesRead = channel.read(readBuffer);
+                if (bytesRead == -1) {
+                    key.cancel();
+                    addResponse(new IOException("server closed connection"));
+                    return;
+                }
 
-            while (_isRunning.get()) {
-                try {
-                    // if reader is null, sleep and try again
-                    if (readBuffer == null) {
-                        Thread.sleep(250);
-                        continue;
+                readBuffer.flip();
+                while (readBuffer.hasRemaining()) {
+                    final char ch = (char) readBuffer.get();
+                    sb.append(ch);
+                    if ((ch == '\n' && endsWith("\r\n"))
+                            || (ch == ' ' && (endsWith("Login: ") || endsWith("Password: ")))) {
+                        final String response = sb.substring(0, sb.length() - 2);
+                        sb.setLength(0);
+                        addResponse(response);
                     }
+                }
+            } catch (IOException e) {
+                key.cancel();
+                addResponse(e);
+            }
+        }
 
-                    final SocketChannel channel = _socketChannel.get();
-                    if (channel == null) {
-                        // socket was closed
-                        _isRunning.set(false);
-                        break;
-                    }
+        private boolean endsWith(String suffix) {
+            final int offset = sb.length() - suffix.length();
+            if (offset < 0) {
+                return false;
+            }
+            for (int i = 0; i < suffix.length(); i++) {
+                if (sb.charAt(offset + i) != suffix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
 
-                    int bytesRead = channel.read(readBuffer);
-                    if (bytesRead == -1) {
-                        _responses.put(new IOException("server closed connection"));
-                        _isRunning.set(false);
-                        break;
-                    } else if (bytesRead == 0) {
-                        readBuffer.clear();
-                        continue;
-                    }
+        /**
+         * Queues a response for dispatching, suspending further reads if too many responses are waiting
+         */
+        private void addResponse(Object response) {
+            if (_connection.get() != this) {
+                // the session was disconnected or reconnected in the meantime
+                return;
+            }
+            _responses.add(response);
+            if (_queuedResponses.incrementAndGet() >= MAX_QUEUED_RESPONSES && key != null && key.isValid()) {
+                key.interestOps(0);
+            }
+            scheduleDispatch();
+        }
 
-                    readBuffer.flip();
-                    while (readBuffer.hasRemaining()) {
-                        final char ch = (char) readBuffer.get();
-                        sb.append(ch);
-                        if (ch == '\n' || ch == ' ') {
-                            final String str = sb.toString();
-                            if (str.endsWith("\r\n") || str.endsWith("Login: ") || str.endsWith("Password: ")) {
-                                sb.setLength(0);
-                                final String response = str.substring(0, str.length() - 2);
-                                _responses.put(response);
+        /**
+         * Called when a response has been taken from the queue - resumes reading if it was suspended
+         */
+        private void responseTaken() {
+            if (_queuedResponses.decrementAndGet() == MAX_QUEUED_RESPONSES - 1 && _connection.get() == this) {
+                try {
+                    SocketReactor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (key != null && key.isValid()) {
+                                key.interestOps(SelectionKey.OP_READ);
                             }
                         }
-                    }
-
-                    readBuffer.flip();
-
-                } catch (InterruptedException e) {
-                    // Do nothing - probably shutting down
-                } catch (AsynchronousCloseException e) {
-                    // socket was definitely closed by another thread
+                    });
                 } catch (IOException e) {
-                    try {
-                        _isRunning.set(false);
-                        _responses.put(e);
-                    } catch (InterruptedException e1) {
-                        // Do nothing - probably shutting down
-                    }
+                    logger.debug("Unable to resume reading from {}:{}: {}", _host, _port, e.getMessage());
                 }
             }
-
-            _running.countDown();
         }
     }
 
     /**
-     * The dispatcher runnable is responsible for reading the response queue and dispatching it to the current callable.
-     * Since the dispatcher is ONLY started when a callable is set, responses may pile up in the queue and be dispatched
-     * when a callable is set. Unlike the socket reader, this can be assigned to another thread (no state outside of the
-     * class).
+     * The dispatcher runnable is responsible for reading the response queue and dispatching it to the current
+     * listeners. Since the dispatcher is ONLY scheduled when a listener is set, responses may pile up in the queue and
+     * be dispatched when a listener is set. Only one instance per session runs at a time, so the responses are
+     * dispatched in order.
      *
      * @author Tim Roberts
      */
     private class Dispatcher implements Runnable {
-
         /**
-         * Whether the dispatcher is running or not
+         * Runs the logic to dispatch the queued responses to the current listeners until the queue is empty
          */
-        private final AtomicBoolean _isRunning = new AtomicBoolean(false);
+        @Override
+        public void run() {
+            try {
+                Object response;
+                while (!_listeners.isEmpty() && (response = _responses.poll()) != null) {
+                    final Connection current = _connection.get();
+                    if (current != null) {
+                        current.responseTaken();
+                    }
+                    dispatch(response);
+                }
+            } finally {
+                _dispatching.set(false);
+            }
+
+            // a response might have been added after the queue was found empty
+            scheduleDispatch();
+        }
+
+        private void dispatch(Object response) {
+            final SocketSessionListener[] listeners = _listeners.toArray(new SocketSessionListener[0]);
+            if (response instanceof String) {
+                try {
+                    logger.debug("Dispatching response: {}", response);
+                    for (SocketSessionListener listener : listeners) {
+                        listener.responseReceived((String) response);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Exception occurred processing the response '{}': {}", response, e);
+                }
+            } else if (response instanceof Exception) {
+                logger.debug("Dispatching exception: {}", response);
+                for (SocketSessionListener listener : listeners) {
+                    listener.responseException((Exception) response);
+                }
+            } else {
+                logger.warn("Unknown response class: {}", response);
+            }
+        }
+    }
+
+    /**
+     * The single thread, shared by all sessions of the binding, that reads from the connections using a
+     * {@link Selector}. The data is read into one reusable buffer and decoded directly into responses. The thread ends
+     * when no connection has been registered for a while and is started again by the next registration.
+     */
+    private static class SocketReactor implements Runnable {
+        private static final long IDLE_TIMEOUT_MILLIS = 10000;
 
         /**
-         * Locking to allow proper shutdown of the reader
+         * The running reactor - guarded by the class
          */
-        private final CountDownLatch _running = new CountDownLatch(1);
+        private static SocketReactor instance;
+
+        private final Logger logger = LoggerFactory.getLogger(SocketReactor.class);
+        private final Selector selector;
+        private final Queue<Connection> registrations = new ConcurrentLinkedQueue<Connection>();
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(8192);
+        private long idleSince;
+
+        private SocketReactor() throws IOException {
+            selector = Selector.open();
+        }
 
         /**
-         * Whether the dispatcher is currently processing a message
+         * Registers the connection for reading, starting the reactor if needed
          */
-        private final AtomicReference<Thread> _processingThread = new AtomicReference<Thread>();
+        static synchronized void register(Connection connection) throws IOException {
+            final SocketReactor reactor = getInstance();
+            reactor.registrations.add(connection);
+            reactor.selector.wakeup();
+        }
 
         /**
-         * Stops the reader. Will wait 5 seconds for the runnable to stop (should stop within 1 second based on the poll
-         * timeout below)
+         * Runs the task on the reactor thread, starting the reactor if needed
          */
-        public void stopRunning() {
-            if (_isRunning.getAndSet(false)) {
-                // only wait if stopRunning didn't get called as part of processing a message
-                // (which would happen if we are processing an exception that forced a session close)
-                final Thread processingThread = _processingThread.get();
-                if (processingThread != null && Thread.currentThread() != processingThread) {
-                    try {
-                        if (!_running.await(5, TimeUnit.SECONDS)) {
-                            logger.warn("Waited too long for dispatcher to finish");
-                        }
-                    } catch (InterruptedException e) {
-                        // do nothing
-                    }
-                }
+        static synchronized void execute(Runnable task) throws IOException {
+            final SocketReactor reactor = getInstance();
+            reactor.tasks.add(task);
+            reactor.selector.wakeup();
+        }
+
+        private static SocketReactor getInstance() throws IOException {
+            if (instance == null) {
+                instance = new SocketReactor();
+                final Thread thread = new Thread(instance, "ESH-" + THREAD_POOL_NAME + "-SocketReactor");
+                thread.setDaemon(true);
+                thread.start();
             }
+            return instance;
         }
 
-        /**
-         * Runs the logic to dispatch any responses to the current listeners until {@link #_isRunning} is false.
-         */
         @Override
         public void run() {
-            _processingThread.set(Thread.currentThread());
-
-            _isRunning.set(true);
-            while (_isRunning.get()) {
-                try {
+            try {
+                while (true) {
+                    selector.select(IDLE_TIMEOUT_MILLIS);
+
+                    Connection connection;
+                    while ((connection = registrations.poll()) != null) {
+                        try {
+                            connection.key = connection.channel.register(selector, SelectionKey.OP_READ, connection);
+                        } catch (IOException e) {
+                            connection.addResponse(e);
+                        }
+                    }
 
-                    // if no listeners, we don't want to start dispatching yet.
-                    if (_listeners.size() == 0) {
-                        Thread.sleep(250);
-                        continue;
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        task.run();
                     }
 
-                    final Object response = _responses.poll(1, TimeUnit.SECONDS);
-
-                    if (response != null) {
-                        if (response instanceof String) {
-                            try {
-                                logger.debug("Dispatching response: {}", response);
-                                final SocketSessionListener[] listeners = _listeners
-                                        .toArray(new SocketSessionListener[0]);
-                                for (SocketSessionListener listener : listeners) {
-                                    listener.responseReceived((String) response);
-                                }
-                            } catch (Exception e) {
-                                logger.warn("Exception occurred processing the response '{}': {}", response, e);
-                            }
-                        } else if (response instanceof Exception) {
-                            logger.debug("Dispatching exception: {}", response);
-                            final SocketSessionListener[] listeners = _listeners.toArray(new SocketSessionListener[0]);
-                            for (SocketSessionListener listener : listeners) {
-                                listener.responseException((Exception) response);
+                    final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        final SelectionKey key = keys.next();
+                        keys.remove();
+                        try {
+                            if (key.isValid() && key.isReadable()) {
+                                ((Connection) key.attachment()).read(readBuffer);
                             }
-                        } else {
-                            logger.warn("Unknown response class: {}", response);
+                        } catch (RuntimeException e) {
+                            logger.debug("Exception reading from the socket: {}", e.getMessage(), e);
+                        } finally {
+                            readBuffer.clear();
                         }
                     }
-                } catch (InterruptedException e) {
-                    // Do nothing
-                } catch (Exception e) {
-                    logger.debug("Uncaught exception {}", e.getMessage(), e);
-                    break;
+
+                    if (isIdle()) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Socket reactor stopped: {}", e.getMessage(), e);
+                synchronized (SocketReactor.class) {
+                    instance = null;
+                }
+            }
+        }
+
+        /**
+         * Stops the reactor when no connection has been registered for the idle timeout
+         */
+        private boolean isIdle() throws IOException {
+            synchronized (SocketReactor.class) {
+                if (!selector.keys().isEmpty() || !registrations.isEmpty() || !tasks.isEmpty()) {
+                    idleSince = 0;
+                    return false;
+                }
+                final long now = System.currentTimeMillis();
+                if (idleSince == 0) {
+                    idleSince = now;
+                    return false;
+                }
+                if (now - idleSince < IDLE_TIMEOUT_MILLIS) {
+                    return false;
                 }
+                instance = null;
+                selector.close();
+                return true;
             }
-            _isRunning.set(false);
-            _processingThread.set(null);
-            _running.countDown();
         }
     }
 }
@@ -14,6 +14,8 @@ import static org.openhab.binding.avmfritz.BindingConstants.*;
 import java.math.BigDecimal;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -33,6 +35,7 @@ import org.eclipse.smarthome.core.thing.ThingStatusInfo;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
@@ -75,6 +78,18 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
      * Schedule for polling
      */
     private ScheduledFuture<?> pollingJob;
+    /**
+     * XML fragments of the devices in the last polled device list by AIN, used to skip unchanged devices
+     */
+    private final Map<String, String> deviceSnapshots = new ConcurrentHashMap<>();
+    /**
+     * Child things by their thing ID, which is derived from the AIN
+     */
+    private final Map<String, Thing> thingsByAin = new ConcurrentHashMap<>();
+    /**
+     * Last state sent for each channel, used to skip unchanged channels
+     */
+    private final Map<ChannelUID, State> channelStates = new ConcurrentHashMap<>();
 
     /**
      * Constructor
@@ -97,6 +112,7 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
         logger.debug("Discovered FRITZ!Box initialized: {}", config);
 
         this.refreshInterval = config.getPollingInterval();
+        clearSnapshots();
         this.connection = new FritzahaWebInterface(config, this);
         if (config.getPassword() != null) {
             this.onUpdate();
@@ -121,9 +137,33 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
 
     @Override
     public void setStatusInfo(ThingStatus status, ThingStatusDetail statusDetail, String description) {
+        if (status != ThingStatus.ONLINE) {
+            // Update all devices once the FRITZ!Box is back online
+            clearSnapshots();
+        }
         super.updateStatus(status, statusDetail, description);
     }
 
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        thingsByAin.put(childThing.getUID().getId(), childThing);
+        // Update the new handler with the next polled device list
+        clearSnapshots();
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        thingsByAin.remove(childThing.getUID().getId());
+    }
+
+    /**
+     * Makes the next polled device list update all devices and channels, e.g. after a command changed a device.
+     */
+    public void clearSnapshots() {
+        deviceSnapshots.clear();
+        channelStates.clear();
+    }
+
     @Override
     public FritzahaWebInterface getWebInterface() {
         return connection;
@@ -133,10 +173,16 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
     public void addDeviceList(DeviceModel device) {
         try {
             logger.debug("set device model: {}", device);
-            ThingUID thingUID = getThingUID(device);
-            Thing thing = getThingByUID(thingUID);
+            Thing thing = thingsByAin.get(device.getIdentifier().replaceAll("[^a-zA-Z0-9_]", "_"));
+            if (thing == null) {
+                ThingUID thingUID = getThingUID(device);
+                thing = thingUID != null ? getThingByUID(thingUID) : null;
+                if (thing != null) {
+                    thingsByAin.put(thingUID.getId(), thing);
+                }
+            }
             if (thing != null) {
-                logger.debug("update thing {} with device model: {}", thingUID, device);
+                logger.debug("update thing {} with device model: {}", thing.getUID(), device);
                 DeviceHandler handler = (DeviceHandler) thing.getHandler();
                 if (handler != null) {
                     handler.setState(device);
@@ -228,7 +274,7 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
     }
 
     /**
-     * Updates thing channels.
+     * Updates thing channels whose state has changed.
      *
      * @param thing Thing which channels should be updated.
      * @param channelId ID of the channel to be updated.
@@ -237,7 +283,9 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
     private void updateThingChannelState(Thing thing, String channelId, State state) {
         final Channel channel = thing.getChannel(channelId);
         if (channel != null) {
-            updateState(channel.getUID(), state);
+            if (!state.equals(channelStates.put(channel.getUID(), state))) {
+                updateState(channel.getUID(), state);
+            }
         } else {
             logger.warn("Channel {} in thing {} does not exist, please recreate the thing", channelId, thing.getUID());
         }
@@ -275,7 +323,8 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
             pollingJob = scheduler.scheduleWithFixedDelay(() -> {
                 if (getWebInterface() != null) {
                     logger.debug("polling FRITZ!Box {}", getThing().getUID());
-                    FritzAhaUpdateXmlCallback callback = new FritzAhaUpdateXmlCallback(getWebInterface(), this);
+                    FritzAhaUpdateXmlCallback callback = new FritzAhaUpdateXmlCallback(getWebInterface(), this,
+                            deviceSnapshots);
                     getWebInterface().asyncGet(callback);
                 }
             }, INITIAL_DELAY, refreshInterval, TimeUnit.SECONDS);
@@ -293,7 +342,9 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
         if (command instanceof RefreshType) {
             if (getWebInterface() != null) {
                 logger.debug("polling FRITZ!Box {}", getThing().getUID());
-                FritzAhaUpdateXmlCallback callback = new FritzAhaUpdateXmlCallback(getWebInterface(), this);
+                clearSnapshots();
+                FritzAhaUpdateXmlCallback callback = new FritzAhaUpdateXmlCallback(getWebInterface(), this,
+                        deviceSnapshots);
                 getWebInterface().asyncGet(callback);
             }
             return;
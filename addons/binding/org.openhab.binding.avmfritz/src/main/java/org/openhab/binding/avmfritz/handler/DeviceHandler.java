@@ -158,6 +158,11 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
         if (fritzBox == null) {
             return;
         }
+        Bridge bridge = getBridge();
+        if (bridge != null && bridge.getHandler() instanceof BoxHandler) {
+            // Make sure the next poll updates the channels that are changed by the command
+            ((BoxHandler) bridge.getHandler()).clearSnapshots();
+        }
         String ain = getThing().getConfiguration().get(THING_AIN).toString();
         switch (channelUID.getIdWithoutGroup()) {
             case CHANNEL_TEMP:
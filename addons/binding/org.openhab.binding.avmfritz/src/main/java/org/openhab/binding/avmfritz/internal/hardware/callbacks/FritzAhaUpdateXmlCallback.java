@@ -9,15 +9,22 @@
 package org.openhab.binding.avmfritz.internal.hardware.callbacks;
 
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
 
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.openhab.binding.avmfritz.handler.IFritzHandler;
 import org.openhab.binding.avmfritz.internal.ahamodel.DeviceModel;
-import org.openhab.binding.avmfritz.internal.ahamodel.DevicelistModel;
 import org.openhab.binding.avmfritz.internal.hardware.FritzahaWebInterface;
 import org.openhab.binding.avmfritz.internal.util.JAXBtUtils;
 import org.slf4j.Logger;
@@ -27,12 +34,20 @@ import org.slf4j.LoggerFactory;
  * Callback implementation for updating multiple numbers decoded from a xml
  * response. Supports reauthorization.
  *
+ * The response is read as a stream of XML events. Each device element is
+ * copied into a compact XML fragment, which is compared with the fragment of
+ * the previous response. Only devices whose fragment changed are unmarshalled
+ * and passed to the handler.
+ *
  * @author Robert Bausdorf
  * @author Christoph Weitkamp
  *
  */
 public class FritzAhaUpdateXmlCallback extends FritzAhaReauthCallback {
 
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
     private final Logger logger = LoggerFactory.getLogger(FritzAhaUpdateXmlCallback.class);
 
     /**
@@ -40,6 +55,12 @@ public class FritzAhaUpdateXmlCallback extends FritzAhaReauthCallback {
      */
     private IFritzHandler handler;
 
+    /**
+     * XML fragments of the devices in the previous response by identifier, or
+     * null if all devices are passed to the handler
+     */
+    private Map<String, String> deviceSnapshots;
+
     /**
      * Constructor
      *
@@ -47,8 +68,30 @@ public class FritzAhaUpdateXmlCallback extends FritzAhaReauthCallback {
      * @param handler Bridge handler that will update things.
      */
     public FritzAhaUpdateXmlCallback(FritzahaWebInterface webIface, IFritzHandler handler) {
+        this(webIface, handler, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param webIface Webinterface to FRITZ!Box
+     * @param handler Bridge handler that will update things.
+     * @param deviceSnapshots Snapshots of the previous response, which are
+     *            updated by this callback. Unchanged devices are skipped.
+     */
+    public FritzAhaUpdateXmlCallback(FritzahaWebInterface webIface, IFritzHandler handler,
+            Map<String, String> deviceSnapshots) {
         super(WEBSERVICE_PATH, "switchcmd=getdevicelistinfos", webIface, Method.GET, 1);
         this.handler = handler;
+        this.deviceSnapshots = deviceSnapshots;
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
     }
 
     @Override
@@ -58,20 +101,99 @@ public class FritzAhaUpdateXmlCallback extends FritzAhaReauthCallback {
         if (isValidRequest()) {
             try {
                 final Unmarshaller jaxbUnmarshaller = JAXBtUtils.JAXBCONTEXT.createUnmarshaller();
-                final DevicelistModel model = (DevicelistModel) jaxbUnmarshaller.unmarshal(new StringReader(response));
-                if (model != null) {
-                    for (final DeviceModel device : model.getDevicelist()) {
-                        handler.addDeviceList(device);
+                final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(response));
+                boolean devicelist = false;
+                int changedDevices = 0;
+                try {
+                    while (reader.hasNext()) {
+                        if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                            if ("devicelist".equals(reader.getLocalName())) {
+                                devicelist = true;
+                            } else if (devicelist && "device".equals(reader.getLocalName())) {
+                                if (processDevice(reader, jaxbUnmarshaller)) {
+                                    changedDevices++;
+                                }
+                            }
+                        }
                     }
+                } finally {
+                    reader.close();
+                }
+                if (devicelist) {
+                    logger.debug("{} devices changed", changedDevices);
                     handler.setStatusInfo(ThingStatus.ONLINE, ThingStatusDetail.NONE, "FRITZ!Box online");
                 } else {
                     logger.warn("no model in response");
                 }
             } catch (JAXBException e) {
                 logger.error("Exception creating Unmarshaller: {}", e.getLocalizedMessage(), e);
+            } catch (XMLStreamException e) {
+                logger.error("Exception parsing response: {}", e.getLocalizedMessage(), e);
             }
         } else {
             logger.info("request is invalid: {}", status);
         }
     }
+
+    /**
+     * Copies the device element at the current position of the reader and
+     * passes it to the handler if it has changed since the previous response.
+     * The reader is positioned at the end of the device element afterwards.
+     *
+     * @param reader Reader positioned at the start of a device element
+     * @param jaxbUnmarshaller Unmarshaller for changed devices
+     * @return true if the device has been passed to the handler
+     */
+    private boolean processDevice(XMLStreamReader reader, Unmarshaller jaxbUnmarshaller)
+            throws XMLStreamException, JAXBException {
+        final String identifier = reader.getAttributeValue(null, "identifier");
+        final StringWriter fragment = new StringWriter();
+        final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(fragment);
+        int depth = 0;
+        while (true) {
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    writer.writeStartElement(reader.getLocalName());
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    if (!reader.isWhiteSpace()) {
+                        writer.writeCharacters(reader.getText());
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    writer.writeEndElement();
+                    break;
+                default:
+                    break;
+            }
+            if (depth == 0) {
+                break;
+            }
+            reader.next();
+        }
+        writer.close();
+
+        final String deviceXml = fragment.toString();
+        if (deviceSnapshots != null && identifier != null) {
+            if (deviceXml.equals(deviceSnapshots.put(identifier, deviceXml))) {
+                logger.trace("device {} is unchanged", identifier);
+                return false;
+            }
+        }
+        try {
+            handler.addDeviceList((DeviceModel) jaxbUnmarshaller.unmarshal(new StringReader(deviceXml)));
+        } catch (JAXBException e) {
+            if (deviceSnapshots != null && identifier != null) {
+                deviceSnapshots.remove(identifier);
+            }
+            throw e;
+        }
+        return true;
+    }
 }
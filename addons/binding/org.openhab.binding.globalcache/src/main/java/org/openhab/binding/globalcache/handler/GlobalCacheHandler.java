@@ -25,6 +25,11 @@ import java.net.SocketException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -229,7 +234,8 @@ public class GlobalCacheHandler extends BaseThingHandler {
     }
 
     private int getCounter() {
-        return irCounter.getAndIncrement();
+        // The device accepts IDs 0-65535, and returns the ID in the completeir reply
+        return irCounter.getAndIncrement() & 0xffff;
     }
 
     /*
@@ -433,10 +439,14 @@ public class GlobalCacheHandler extends BaseThingHandler {
 
     /**
      * The {@link CommandProcessor} class is responsible for handling communication with the GlobalCache
-     * device. It waits for requests to arrive on a queue. When a request arrives, it sends the command to the
-     * GlobalCache device, waits for a response from the device, parses the response, then responds to the caller by
-     * placing a message in a response queue. Device response time is typically well below 100 ms, hence the reason
-     * fgor a relatively low timeout when reading the response queue.
+     * device. It waits for requests to arrive on a queue and writes the commands to the GlobalCache device. The
+     * replies are read by the {@link CommandPortReader}, matched to the pending requests, and returned to the caller
+     * by placing a message in a response queue.
+     *
+     * Commands are pipelined. Infrared commands are sent without waiting for the completion of infrared commands on
+     * other connectors, and their completeir replies are matched by the ID of the sendir command. Commands on the same
+     * connector are sent in order, one at a time. All other commands are sent on their own, as their replies can only
+     * be matched by order. Getstate requests for a connector that is already being polled get the same reply.
      *
      * @author Mark Hilbush - Initial contribution
      */
@@ -445,12 +455,28 @@ public class GlobalCacheHandler extends BaseThingHandler {
 
         private boolean terminate = false;
         private final String TERMINATE_COMMAND = "terminate";
+        private final String WAKEUP_COMMAND = "wakeup";
 
         private final int SEND_QUEUE_MAX_DEPTH = 10;
         private final int SEND_QUEUE_TIMEOUT = 2000;
 
+        // Poll timeout while requests are waiting to be sent or waiting for a reply
+        private final int PIPELINE_POLL_TIMEOUT = 100;
+
+        // Requests that haven't received a reply within this time are failed to free their connector
+        private final int REPLY_TIMEOUT = 3000;
+
         private ConnectionManager connectionManager;
 
+        // Requests waiting for their connector to be free, in order of arrival. Only used by the processor thread.
+        private final List<RequestMessage> waitingRequests = new LinkedList<RequestMessage>();
+
+        // Requests written to the device that are waiting for a reply, in order of sending
+        private final List<RequestMessage> pendingRequests = new LinkedList<RequestMessage>();
+
+        // Error reported by the command port reader
+        private volatile String readerError;
+
         public CommandProcessor() {
             super("GlobalCache Command Processor");
             sendQueue = new LinkedBlockingQueue<RequestMessage>(SEND_QUEUE_MAX_DEPTH);
@@ -469,6 +495,14 @@ public class GlobalCacheHandler extends BaseThingHandler {
             }
         }
 
+        /*
+         * Wake up the processor so it can send the requests that were waiting for a reply. If the queue
+         * is full, the processor is woken up by the queued requests.
+         */
+        private void wakeUp() {
+            sendQueue.offer(new RequestMessage(WAKEUP_COMMAND, null, null, null));
+        }
+
         @Override
         public void run() {
             logger.debug("Command processor STARTING for thing {} at IP {}", thingID(), getIP());
@@ -481,42 +515,26 @@ public class GlobalCacheHandler extends BaseThingHandler {
             try {
                 RequestMessage requestMessage;
                 while (!terminate) {
-                    requestMessage = sendQueue.poll(SEND_QUEUE_TIMEOUT, TimeUnit.MILLISECONDS);
+                    int timeout = waitingRequests.isEmpty() && !hasPendingRequests() ? SEND_QUEUE_TIMEOUT
+                            : PIPELINE_POLL_TIMEOUT;
+                    requestMessage = sendQueue.poll(timeout, TimeUnit.MILLISECONDS);
                     if (requestMessage != null) {
                         if (requestMessage.getCommandName().equals(TERMINATE_COMMAND)) {
                             logger.debug("Processor for thing {} received terminate message", thingID());
                             break;
                         }
-
-                        String deviceReply;
-                        connectionManager.connect();
-                        if (connectionManager.isConnected()) {
-                            try {
-                                long startTime = System.currentTimeMillis();
-                                if (requestMessage.isCommand()) {
-                                    writeCommandToDevice(requestMessage);
-                                    deviceReply = readReplyFromDevice(requestMessage);
-                                } else {
-                                    writeSerialToDevice(requestMessage);
-                                    deviceReply = "successful";
-                                }
-                                long endTime = System.currentTimeMillis();
-                                logger.debug("Transaction '{}' for thing {} at {} took {} ms",
-                                        requestMessage.getCommandName(), thingID(), getIP(), endTime - startTime);
-
-                            } catch (IOException e) {
-                                logger.error("Comm error for thing {} at {}: {}", thingID(), getIP(), e.getMessage());
-                                deviceReply = "ERROR: " + e.getMessage();
-                                connectionManager.setCommError(deviceReply);
-                                connectionManager.disconnect();
-                            }
-                        } else {
-                            deviceReply = "ERROR: " + "No connection to device";
+                        if (!requestMessage.getCommandName().equals(WAKEUP_COMMAND)) {
+                            queueRequest(requestMessage);
                         }
+                    }
 
-                        logger.trace("Processor for thing {} queuing response message: {}", thingID(), deviceReply);
-                        requestMessage.getReceiveQueue().put(new ResponseMessage(deviceReply));
+                    String error = readerError;
+                    if (error != null) {
+                        readerError = null;
+                        handleCommError(error);
                     }
+                    expirePendingRequests();
+                    sendWaitingRequests();
                 }
             } catch (InterruptedException e) {
                 logger.warn("Processor for thing {} was interrupted: {}", thingID(), e.getMessage());
@@ -526,9 +544,227 @@ public class GlobalCacheHandler extends BaseThingHandler {
             connectionManager.cancelConnectionMonitorJob();
             connectionManager.disconnect();
             connectionManager = null;
+            failRequests("ERROR: " + "No connection to device");
             logger.debug("Command processor TERMINATING for thing {} at IP {}", thingID(), getIP());
         }
 
+        /*
+         * Add the request to the waiting requests, unless the same getstate command is already waiting or pending.
+         */
+        private void queueRequest(RequestMessage requestMessage) {
+            if (requestMessage.isGetstate()) {
+                for (RequestMessage waitingRequest : waitingRequests) {
+                    if (requestMessage.getDeviceCommand().equals(waitingRequest.getDeviceCommand())) {
+                        logger.trace("Processor for thing {} coalescing waiting request '{}'", thingID(),
+                                requestMessage.getDeviceCommand());
+                        waitingRequest.coalesce(requestMessage);
+                        return;
+                    }
+                }
+                synchronized (pendingRequests) {
+                    for (RequestMessage pendingRequest : pendingRequests) {
+                        if (requestMessage.getDeviceCommand().equals(pendingRequest.getDeviceCommand())) {
+                            logger.trace("Processor for thing {} coalescing pending request '{}'", thingID(),
+                                    requestMessage.getDeviceCommand());
+                            pendingRequest.coalesce(requestMessage);
+                            return;
+                        }
+                    }
+                }
+            }
+            waitingRequests.add(requestMessage);
+        }
+
+        /*
+         * Send the waiting requests whose connector is free. An infrared command waits only for a pending
+         * command on its own connector. Other commands wait until there are no pending commands at all, and
+         * hold up the requests that arrived after them.
+         */
+        private void sendWaitingRequests() {
+            Set<String> busyAddresses = new HashSet<String>();
+            Iterator<RequestMessage> iterator = waitingRequests.iterator();
+            while (iterator.hasNext()) {
+                RequestMessage requestMessage = iterator.next();
+                if (requestMessage.isCommand()) {
+                    String address = requestMessage.getAddress();
+                    if (!requestMessage.isSendir() || address == null) {
+                        if (!busyAddresses.isEmpty() || hasPendingRequests()) {
+                            break;
+                        }
+                    } else if (busyAddresses.contains(address) || isAddressBusy(address)) {
+                        busyAddresses.add(address);
+                        continue;
+                    }
+                }
+                iterator.remove();
+                sendRequest(requestMessage);
+            }
+        }
+
+        private void sendRequest(RequestMessage requestMessage) {
+            connectionManager.connect();
+            if (!connectionManager.isConnected()) {
+                requestMessage.reply(new ResponseMessage("ERROR: " + "No connection to device"));
+                return;
+            }
+
+            try {
+                requestMessage.setSentTime(System.currentTimeMillis());
+                if (requestMessage.isCommand()) {
+                    // Add to the pending requests first, so that the reader can't miss a fast reply
+                    synchronized (pendingRequests) {
+                        pendingRequests.add(requestMessage);
+                    }
+                    writeCommandToDevice(requestMessage);
+                } else {
+                    writeSerialToDevice(requestMessage);
+                    logTransaction(requestMessage);
+                    requestMessage.reply(new ResponseMessage("successful"));
+                }
+            } catch (IOException e) {
+                String deviceReply = "ERROR: " + e.getMessage();
+                if (!requestMessage.isCommand()) {
+                    requestMessage.reply(new ResponseMessage(deviceReply));
+                }
+                handleCommError(deviceReply);
+            }
+        }
+
+        /*
+         * Called by the command port reader for each reply read from the device.
+         */
+        private void processReply(String deviceReply) {
+            RequestMessage requestMessage;
+            synchronized (pendingRequests) {
+                requestMessage = findPendingRequest(deviceReply);
+                if (requestMessage == null) {
+                    logger.debug("Processor for thing {} received unexpected reply: {}", thingID(), deviceReply);
+                    return;
+                }
+                pendingRequests.remove(requestMessage);
+                logger.trace("Processor for thing {} queuing response message: {}", thingID(), deviceReply);
+                requestMessage.reply(new ResponseMessage(deviceReply));
+            }
+            logTransaction(requestMessage);
+            wakeUp();
+        }
+
+        /*
+         * Called by the command port reader when reading from the device failed.
+         */
+        private void processReaderError(String error) {
+            readerError = error;
+            wakeUp();
+        }
+
+        /*
+         * Find the pending request that a reply belongs to. Must be called while holding the pendingRequests lock.
+         */
+        private RequestMessage findPendingRequest(String deviceReply) {
+            if (pendingRequests.isEmpty()) {
+                return null;
+            }
+
+            // Replies of form completeir,1:1,<ID> and busyIR,1:1,<ID> carry the ID of the sendir command
+            if (deviceReply.startsWith("completeir") || deviceReply.startsWith("busyIR")) {
+                String[] fields = deviceReply.split(",");
+                if (fields.length < 3) {
+                    return null;
+                }
+                for (RequestMessage requestMessage : pendingRequests) {
+                    if (requestMessage.isSendir() && fields[1].equals(requestMessage.getAddress())
+                            && fields[2].equals(requestMessage.getSendirId())) {
+                        return requestMessage;
+                    }
+                }
+                return null;
+            }
+
+            // iTach errors of form ERR_1:1,001 carry the module and connector of the failed command
+            if (deviceReply.startsWith("ERR_")) {
+                String address = StringUtils.substringBetween(deviceReply, "ERR_", ",");
+                for (RequestMessage requestMessage : pendingRequests) {
+                    if (requestMessage.getAddress() != null && requestMessage.getAddress().equals(address)) {
+                        return requestMessage;
+                    }
+                }
+            }
+
+            /*
+             * Any other reply is for the request sent last. Except for infrared commands, which complete later,
+             * requests are only sent when there are no pending requests, so this is the only pending request
+             * or the infrared command that failed right away.
+             */
+            return pendingRequests.get(pendingRequests.size() - 1);
+        }
+
+        private boolean hasPendingRequests() {
+            synchronized (pendingRequests) {
+                return !pendingRequests.isEmpty();
+            }
+        }
+
+        private boolean isAddressBusy(String address) {
+            synchronized (pendingRequests) {
+                for (RequestMessage requestMessage : pendingRequests) {
+                    if (!requestMessage.isSendir() || address.equals(requestMessage.getAddress())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /*
+         * Fail the requests that haven't received a reply in time, so that their connector is freed.
+         */
+        private void expirePendingRequests() {
+            long now = System.currentTimeMillis();
+            synchronized (pendingRequests) {
+                Iterator<RequestMessage> iterator = pendingRequests.iterator();
+                while (iterator.hasNext()) {
+                    RequestMessage requestMessage = iterator.next();
+                    if (now - requestMessage.getSentTime() > REPLY_TIMEOUT) {
+                        logger.debug("Processor for thing {} got no reply to '{}'", thingID(),
+                                requestMessage.getDeviceCommand());
+                        iterator.remove();
+                        requestMessage.reply(new ResponseMessage("ERROR: " + "No reply from device"));
+                    }
+                }
+            }
+        }
+
+        private void failRequests(String deviceReply) {
+            failPendingRequests(deviceReply);
+            for (RequestMessage requestMessage : waitingRequests) {
+                requestMessage.reply(new ResponseMessage(deviceReply));
+            }
+            waitingRequests.clear();
+        }
+
+        private void handleCommError(String deviceReply) {
+            logger.error("Comm error for thing {} at {}: {}", thingID(), getIP(), deviceReply);
+            connectionManager.setCommError(deviceReply);
+            connectionManager.disconnect();
+
+            // The replies to the pending requests are lost with the connection
+            failPendingRequests(deviceReply);
+        }
+
+        private void failPendingRequests(String deviceReply) {
+            synchronized (pendingRequests) {
+                for (RequestMessage requestMessage : pendingRequests) {
+                    requestMessage.reply(new ResponseMessage(deviceReply));
+                }
+                pendingRequests.clear();
+            }
+        }
+
+        private void logTransaction(RequestMessage requestMessage) {
+            logger.debug("Transaction '{}' for thing {} at {} took {} ms", requestMessage.getCommandName(), thingID(),
+                    getIP(), System.currentTimeMillis() - requestMessage.getSentTime());
+        }
+
         /*
          * Write the command to the device.
          */
@@ -545,21 +781,6 @@ public class GlobalCacheHandler extends BaseThingHandler {
             connectionManager.getCommandOut().flush();
         }
 
-        /*
-         * Read command reply from the device, then remove the CR at the end of the line.
-         */
-        private String readReplyFromDevice(RequestMessage requestMessage) throws IOException {
-            logger.trace("Processor for thing {} reading reply from device", thingID());
-
-            if (connectionManager.getCommandIn() == null) {
-                logger.debug("Error reading from device because input stream object is null");
-                return "ERROR: BufferedReader is null!";
-            }
-
-            logger.trace("Processor for thing {} reading response from device", thingID());
-            return connectionManager.getCommandIn().readLine().trim();
-        }
-
         /*
          * Write a serial command to the device
          */
@@ -593,6 +814,7 @@ public class GlobalCacheHandler extends BaseThingHandler {
 
         private SerialPortReader serialReaderPort1;
         private SerialPortReader serialReaderPort2;
+        private CommandPortReader commandPortReader;
 
         private boolean deviceIsConnected;
 
@@ -676,6 +898,7 @@ public class GlobalCacheHandler extends BaseThingHandler {
              */
             markThingOnline();
             deviceIsConnected = true;
+            startCommandPortReader();
             startSerialPortReaders();
         }
 
@@ -752,6 +975,7 @@ public class GlobalCacheHandler extends BaseThingHandler {
             if (!isConnected()) {
                 return;
             }
+            stopCommandPortReader();
             commandDisconnect(commandConnection);
 
             stopSerialPortReaders();
@@ -929,6 +1153,21 @@ public class GlobalCacheHandler extends BaseThingHandler {
             return null;
         }
 
+        private void startCommandPortReader() {
+            logger.debug("Starting command port reader for thing {} at IP {}", thingID(), commandConnection.getIP());
+            commandPortReader = new CommandPortReader(getCommandIn());
+            commandPortReader.start();
+        }
+
+        private void stopCommandPortReader() {
+            if (commandPortReader != null) {
+                logger.debug("Stopping command port reader for thing {} at IP {}", thingID(),
+                        commandConnection.getIP());
+                commandPortReader.stop();
+                commandPortReader = null;
+            }
+        }
+
         private void stopSerialPortReaders() {
             if (deviceSupportsSerialPort1() && serialReaderPort1 != null) {
                 logger.debug("Stopping serial port 1 reader for thing {} at IP {}", thingID(),
@@ -945,6 +1184,71 @@ public class GlobalCacheHandler extends BaseThingHandler {
         }
     }
 
+    /*
+     * The {@link CommandPortReader} class reads the replies from the command connection and passes them to the
+     * command processor, which matches them to the pending requests.
+     */
+    private class CommandPortReader {
+        private Logger logger = LoggerFactory.getLogger(CommandPortReader.class);
+
+        private BufferedReader commandIn;
+        private ScheduledFuture<?> commandPortReaderJob;
+        private volatile boolean terminateCommandPortReader;
+
+        private Runnable commandPortReaderRunnable = new Runnable() {
+            @Override
+            public void run() {
+                commandPortReader();
+            }
+        };
+
+        CommandPortReader(BufferedReader commandIn) {
+            if (commandIn == null) {
+                throw new IllegalArgumentException("Command input stream is not set");
+            }
+            this.commandIn = commandIn;
+            commandPortReaderJob = null;
+            terminateCommandPortReader = false;
+        }
+
+        public void start() {
+            commandPortReaderJob = scheduledExecutorService.schedule(commandPortReaderRunnable, 0, TimeUnit.SECONDS);
+        }
+
+        public void stop() {
+            if (commandPortReaderJob != null) {
+                terminateCommandPortReader = true;
+                commandPortReaderJob.cancel(true);
+                commandPortReaderJob = null;
+            }
+        }
+
+        private void commandPortReader() {
+            logger.debug("Command reader RUNNING for {} on {}", thingID(), getIP());
+
+            String error = "ERROR: " + "Unexpected end of stream";
+            try {
+                String deviceReply;
+                while (!terminateCommandPortReader && (deviceReply = commandIn.readLine()) != null) {
+                    deviceReply = deviceReply.trim();
+                    if (!deviceReply.isEmpty()) {
+                        logger.trace("Command reader for thing {} read reply: {}", thingID(), deviceReply);
+                        commandProcessor.processReply(deviceReply);
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("Command reader got IOException: {}", e.getMessage());
+                error = "ERROR: " + e.getMessage();
+            }
+
+            // A reader that was stopped because of a disconnect doesn't report an error
+            if (!terminateCommandPortReader) {
+                commandProcessor.processReaderError(error);
+            }
+            logger.debug("Command reader STOPPING for {} on {}", thingID(), getIP());
+        }
+    }
+
     /*
      * The {@link SerialReader} class reads data from the serial connection. When data is
      * received, the receive channel is updated with the data. Data is read up to the
@@ -8,13 +8,16 @@
  */
 package org.openhab.binding.globalcache.internal.command;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
 
 /**
  * The {@link RequestMessage} class is responsible for storing the command to be sent to the GlobalCache
- * device and for storing whether the command is serial or not.
+ * device and for storing whether the command is serial or not. Requests for the same getstate command that
+ * are waiting at the same time can be coalesced, in which case the reply is returned to all of their callers.
  *
  * @author Mark Hilbush - Initial contribution
  */
@@ -24,12 +27,30 @@ public class RequestMessage {
     private CommandType commandType;
     private String commandName;
 
+    // Module:connector and sendir ID parsed from the device command
+    private String address;
+    private String sendirId;
+
+    private List<LinkedBlockingQueue<ResponseMessage>> coalescedRcvQueues;
+    private long sentTime;
+
     public RequestMessage(String commandName, CommandType commandType, String deviceCommand,
             LinkedBlockingQueue<ResponseMessage> rcvQueue) {
         this.commandName = commandName;
         this.commandType = commandType;
         this.deviceCommand = deviceCommand;
         this.rcvQueue = rcvQueue;
+
+        // Commands of form <command>,<module>:<connector>[,<ID or parameters>]
+        if (commandType == CommandType.COMMAND && deviceCommand != null) {
+            String[] fields = deviceCommand.split(",", 4);
+            if (fields.length > 1 && fields[1].indexOf(':') > 0) {
+                address = fields[1];
+            }
+            if (isSendir() && fields.length > 2) {
+                sendirId = fields[2];
+            }
+        }
     }
 
     public String getDeviceCommand() {
@@ -63,4 +84,57 @@ public class RequestMessage {
     public LinkedBlockingQueue<ResponseMessage> getReceiveQueue() {
         return rcvQueue;
     }
+
+    /*
+     * Module and connector the command is sent to, in the form m:c, or null for commands
+     * that are not sent to a connector.
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /*
+     * ID of a sendir command, which the device returns in the completeir reply.
+     */
+    public String getSendirId() {
+        return sendirId;
+    }
+
+    public boolean isSendir() {
+        return "sendir".equals(commandName);
+    }
+
+    public boolean isGetstate() {
+        return "getstate".equals(commandName);
+    }
+
+    public long getSentTime() {
+        return sentTime;
+    }
+
+    public void setSentTime(long sentTime) {
+        this.sentTime = sentTime;
+    }
+
+    /*
+     * Return the reply to this request also to the caller of another request for the same command.
+     */
+    public void coalesce(RequestMessage requestMessage) {
+        if (coalescedRcvQueues == null) {
+            coalescedRcvQueues = new ArrayList<LinkedBlockingQueue<ResponseMessage>>();
+        }
+        coalescedRcvQueues.add(requestMessage.getReceiveQueue());
+    }
+
+    /*
+     * Return the reply to the caller(s). Callers that have given up waiting are not waited for.
+     */
+    public void reply(ResponseMessage responseMessage) {
+        rcvQueue.offer(responseMessage);
+        if (coalescedRcvQueues != null) {
+            for (LinkedBlockingQueue<ResponseMessage> queue : coalescedRcvQueues) {
+                queue.offer(responseMessage);
+            }
+        }
+    }
 }
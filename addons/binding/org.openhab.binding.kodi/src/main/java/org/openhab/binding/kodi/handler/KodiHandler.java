@@ -263,7 +263,10 @@ public class KodiHandler extends BaseThingHandler implements KodiEventListener {
 
                 statusUpdaterFuture = scheduler.scheduleWithFixedDelay(() -> {
                     if (KodiState.Play.equals(connection.getState())) {
-                        connection.updatePlayerStatus();
+                        connection.updatePlayerStatusAsync().exceptionally(e -> {
+                            logger.debug("Error during player status update: {}", e.getMessage(), e);
+                            return null;
+                        });
                     }
                 }, 1, getIntConfigParameter(REFRESH_PARAMETER, 10), TimeUnit.SECONDS);
             }
@@ -277,12 +280,13 @@ public class KodiHandler extends BaseThingHandler implements KodiEventListener {
     public void updateConnectionState(boolean connected) {
         if (connected) {
             updateStatus(ThingStatus.ONLINE);
-            try {
-                String version = connection.getVersion();
-                thing.setProperty(PROPERTY_VERSION, version);
-            } catch (Exception e) {
-                logger.debug("error during reading version: {}", e.getMessage(), e);
-            }
+            connection.getVersionAsync().whenComplete((version, e) -> {
+                if (e != null) {
+                    logger.debug("error during reading version: {}", e.getMessage(), e);
+                } else {
+                    thing.setProperty(PROPERTY_VERSION, version);
+                }
+            });
         } else {
             updateStatus(ThingStatus.OFFLINE);
         }
@@ -9,9 +9,17 @@
 package org.openhab.binding.kodi.internal.protocol;
 
 import java.net.URI;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
@@ -24,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -32,6 +41,9 @@ import com.google.gson.JsonParser;
  * KodiClientSocket implements the low level communication to Kodi through
  * websocket. Usually this communication is done through port 9090
  *
+ * Requests are correlated with their responses by the JSON-RPC id, so several requests may be outstanding at the
+ * same time. Related requests can be sent as a single JSON-RPC batch.
+ *
  * @author Paul Frank
  *
  */
@@ -42,12 +54,12 @@ public class KodiClientSocket {
     private final ScheduledExecutorService scheduler;
     private static final int REQUEST_TIMEOUT_MS = 60000;
 
-    private CountDownLatch commandLatch = null;
-    private JsonObject commandResponse = null;
-    private int nextMessageId = 1;
+    private final Map<Integer, KodiRequest> pendingRequests = new ConcurrentHashMap<>();
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
 
     private boolean connected = false;
 
+    private final Object sendLock = new Object();
     private final JsonParser parser = new JsonParser();
     private final Gson mapper = new Gson();
     private URI uri;
@@ -86,6 +98,7 @@ public class KodiClientSocket {
      * Close this connection to the Kodi instance
      */
     public void close() {
+        failPendingRequests();
         // if there is an old web socket then clean up and destroy
         if (session != null) {
             try {
@@ -132,13 +145,32 @@ public class KodiClientSocket {
         @OnWebSocketMessage
         public void onMessage(String message) {
             logger.debug("Message received from server: {}", message);
-            final JsonObject json = parser.parse(message).getAsJsonObject();
+            final JsonElement element = parser.parse(message);
+            if (element.isJsonArray()) {
+                // response to a batch request
+                for (JsonElement response : element.getAsJsonArray()) {
+                    if (response.isJsonObject()) {
+                        handleMessage(response.getAsJsonObject());
+                    }
+                }
+            } else if (element.isJsonObject()) {
+                handleMessage(element.getAsJsonObject());
+            }
+        }
+
+        private void handleMessage(final JsonObject json) {
             if (json.has("id")) {
                 logger.debug("Response received from server: {}", json);
-                int messageId = json.get("id").getAsInt();
-                if (messageId == nextMessageId - 1) {
-                    commandResponse = json;
-                    commandLatch.countDown();
+                JsonElement id = json.get("id");
+                KodiRequest request = id.isJsonNull() ? null : pendingRequests.remove(id.getAsInt());
+                if (request == null) {
+                    logger.debug("Received response for unknown or expired request: {}", json);
+                } else if (json.has("result")) {
+                    request.complete(json.get("result"));
+                } else {
+                    JsonElement error = json.get("error");
+                    logger.debug("Error received from server: {}", error);
+                    request.complete(null);
                 }
             } else {
                 logger.debug("Event received from server: {}", json);
@@ -160,6 +192,7 @@ public class KodiClientSocket {
             logger.debug("Closing a WebSocket due to {}", reason);
             session = null;
             connected = false;
+            failPendingRequests();
             if (eventHandler != null) {
                 scheduler.submit(() -> {
                     try {
@@ -175,7 +208,10 @@ public class KodiClientSocket {
     private void sendMessage(String str) throws Exception {
         if (isConnected()) {
             logger.debug("send message: {}", str);
-            session.getRemote().sendString(str);
+            // blocking sends must not overlap on the remote endpoint
+            synchronized (sendLock) {
+                session.getRemote().sendString(str);
+            }
         } else {
             throw new Exception("socket not initialized");
         }
@@ -185,40 +221,122 @@ public class KodiClientSocket {
         return callMethod(methodName, null);
     }
 
-    public synchronized JsonElement callMethod(String methodName, JsonObject params) {
+    public JsonElement callMethod(String methodName, JsonObject params) {
+        try {
+            JsonElement result = callMethodAsync(methodName, params).get(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            logger.debug("callMethod returns {}", result);
+            return result;
+        } catch (TimeoutException e) {
+            logger.debug("Timeout during callMethod({}, {})", methodName, params);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            logger.debug("Error during callMethod({}): {}", methodName, e.getCause().getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Sends a request without waiting for its response.
+     *
+     * @param methodName the JSON-RPC method
+     * @param params the method parameters or <code>null</code>
+     * @return a future completed with the <code>result</code> member of the response, or with <code>null</code> if
+     *         Kodi returned an error
+     */
+    public CompletableFuture<JsonElement> callMethodAsync(String methodName, JsonObject params) {
+        KodiRequest request = new KodiRequest(methodName, params);
         try {
-            JsonObject payloadObject = new JsonObject();
-            payloadObject.addProperty("jsonrpc", "2.0");
-            payloadObject.addProperty("id", nextMessageId);
-            payloadObject.addProperty("method", methodName);
+            sendMessage(mapper.toJson(request.payload));
+        } catch (Exception e) {
+            pendingRequests.remove(request.id);
+            request.fail(e);
+        }
+        return request.future;
+    }
 
-            if (params != null) {
-                payloadObject.add("params", params);
+    /**
+     * Sends several requests as one JSON-RPC batch, so that they cost a single round trip.
+     *
+     * @param methodNames the JSON-RPC methods
+     * @param params the parameters of each method, an entry may be <code>null</code>
+     * @return one future per method, in the same order as the methods
+     */
+    public List<CompletableFuture<JsonElement>> callMethodsAsync(String[] methodNames, JsonObject[] params) {
+        JsonArray batch = new JsonArray();
+        List<KodiRequest> requests = new ArrayList<>(methodNames.length);
+        for (int i = 0; i < methodNames.length; i++) {
+            KodiRequest request = new KodiRequest(methodNames[i], params[i]);
+            requests.add(request);
+            batch.add(request.payload);
+        }
+
+        List<CompletableFuture<JsonElement>> futures = new ArrayList<>(requests.size());
+        try {
+            sendMessage(mapper.toJson(batch));
+        } catch (Exception e) {
+            for (KodiRequest request : requests) {
+                pendingRequests.remove(request.id);
+                request.fail(e);
             }
+        }
+        for (KodiRequest request : requests) {
+            futures.add(request.future);
+        }
+        return futures;
+    }
 
-            String message = mapper.toJson(payloadObject);
+    private void failPendingRequests() {
+        for (Integer id : pendingRequests.keySet()) {
+            KodiRequest request = pendingRequests.remove(id);
+            if (request != null) {
+                request.fail(new IllegalStateException("connection closed"));
+            }
+        }
+    }
 
-            commandLatch = new CountDownLatch(1);
-            commandResponse = null;
-            nextMessageId++;
+    /**
+     * A request registered as pending until its response arrives or it times out.
+     */
+    private class KodiRequest {
+        private final int id = nextMessageId.getAndIncrement();
+        private final JsonObject payload = new JsonObject();
+        private final CompletableFuture<JsonElement> future = new CompletableFuture<>();
+        private final ScheduledFuture<?> timeout;
 
-            sendMessage(message);
-            if (commandLatch.await(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-                logger.debug("callMethod returns {}", commandResponse);
-                if (commandResponse.has("result")) {
-                    return commandResponse.get("result");
-                } else {
-                    JsonElement error = commandResponse.get("error");
-                    logger.debug("Error received from server: {}", error);
-                    return null;
-                }
-            } else {
-                logger.debug("Timeout during callMethod({}, {})", methodName, params);
-                return null;
+        private KodiRequest(String methodName, JsonObject params) {
+            payload.addProperty("jsonrpc", "2.0");
+            payload.addProperty("id", id);
+            payload.addProperty("method", methodName);
+            if (params != null) {
+                payload.add("params", params);
             }
-        } catch (Exception e) {
-            logger.debug("Error during callMethod({}): {}", methodName, e.getMessage(), e);
-            return null;
+
+            pendingRequests.put(id, this);
+            timeout = scheduler.schedule(() -> {
+                if (pendingRequests.remove(id) != null) {
+                    logger.debug("Timeout during callMethod({}, {})", methodName, params);
+                    future.complete(null);
+                }
+            }, REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Completes the request with its result and cancels its timeout.
+         */
+        private void complete(JsonElement result) {
+            timeout.cancel(false);
+            future.complete(result);
+        }
+
+        /**
+         * Fails the request and cancels its timeout.
+         */
+        private void fail(Exception e) {
+            timeout.cancel(false);
+            future.completeExceptionally(e);
         }
     }
 }
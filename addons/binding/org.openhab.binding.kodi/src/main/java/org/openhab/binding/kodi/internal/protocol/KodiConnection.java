@@ -10,7 +10,12 @@ package org.openhab.binding.kodi.internal.protocol;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.kodi.internal.KodiEventListener;
@@ -35,12 +40,24 @@ public class KodiConnection implements KodiClientSocketEventListener {
     private final Logger logger = LoggerFactory.getLogger(KodiConnection.class);
 
     private static final int VOLUMESTEP = 10;
+    private static final int REFRESH_TIMEOUT_MS = 60000;
+
+    private static final String[] SPEED_PROPERTIES = { "speed", "position" };
+    private static final String[] ITEM_PROPERTIES = { "title", "album", "artist", "director", "thumbnail", "file",
+            "fanart", "showtitle", "streamdetails", "channel", "channeltype" };
+    private static final String[] VERSION_PROPERTIES = { "version", "name" };
 
     private URI wsUri;
     private KodiClientSocket socket;
 
     private int volume = 0;
-    private KodiState currentState = KodiState.Stop;
+    private volatile KodiState currentState = KodiState.Stop;
+
+    /**
+     * guards the check and update of {@link #currentState}, which is also done from the asynchronous status updates;
+     * the connection itself can not be used, as {@link #updatePlayerStatus()} waits for those updates while holding it
+     */
+    private final Object stateLock = new Object();
 
     private final KodiEventListener listener;
 
@@ -70,8 +87,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private int getActivePlayer() {
-        JsonElement response = socket.callMethod("Player.GetActivePlayers");
+        return parseActivePlayer(socket.callMethod("Player.GetActivePlayers"));
+    }
 
+    private int parseActivePlayer(JsonElement response) {
         if (response instanceof JsonArray) {
             JsonArray result = response.getAsJsonArray();
             if (result.size() > 0) {
@@ -175,42 +194,69 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Application.SetMute", params);
     }
 
-    private int getSpeed(int activePlayer) {
-        final String[] properties = { "speed", "position" };
-
+    private JsonObject getPlayerParams(int activePlayer, String[] properties) {
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
+        return params;
+    }
 
+    private void updateSpeed(JsonElement response) {
+        int speed = 0;
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
             if (result.has("speed")) {
-                return result.get("speed").getAsInt();
+                speed = result.get("speed").getAsInt();
             }
         }
-        return 0;
+        if (speed == 0) {
+            updateState(KodiState.Stop);
+        } else if (speed == 1) {
+            updateState(KodiState.Play);
+        } else if (speed < 0) {
+            updateState(KodiState.Rewind);
+        } else {
+            updateState(KodiState.FastForward);
+        }
     }
 
     public synchronized void updatePlayerStatus() {
-        if (socket.isConnected()) {
-            int activePlayer = getActivePlayer();
-            if (activePlayer >= 0) {
-                int speed = getSpeed(activePlayer);
-                if (speed == 0) {
-                    updateState(KodiState.Stop);
-                } else if (speed == 1) {
-                    updateState(KodiState.Play);
-                } else if (speed < 0) {
-                    updateState(KodiState.Rewind);
-                } else {
-                    updateState(KodiState.FastForward);
-                }
-                requestPlayerUpdate(activePlayer);
-            } else {
+        try {
+            updatePlayerStatusAsync().get(REFRESH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.debug("Timeout during updatePlayerStatus()");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug("Error during updatePlayerStatus(): {}", e.getCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Refreshes the player state without blocking the caller. The active player is requested first, the speed and
+     * the current item are then requested together in a single batch.
+     *
+     * @return a future completed once the listener has been updated
+     */
+    public CompletableFuture<Void> updatePlayerStatusAsync() {
+        if (!socket.isConnected()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return socket.callMethodAsync("Player.GetActivePlayers", null).thenCompose(response -> {
+            int activePlayer = parseActivePlayer(response);
+            if (activePlayer < 0) {
                 updateState(KodiState.Stop);
+                return CompletableFuture.<Void> completedFuture(null);
             }
-        }
+            List<CompletableFuture<JsonElement>> responses = socket.callMethodsAsync(
+                    new String[] { "Player.GetProperties", "Player.GetItem" },
+                    new JsonObject[] { getPlayerParams(activePlayer, SPEED_PROPERTIES),
+                            getPlayerParams(activePlayer, ITEM_PROPERTIES) });
+            return responses.get(0).thenAcceptBoth(responses.get(1), (speed, item) -> {
+                updateSpeed(speed);
+                updatePlayerItem(item);
+            });
+        });
     }
 
     private void updateFanartUrl(String imagePath) {
@@ -235,14 +281,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private void requestPlayerUpdate(int activePlayer) {
-        final String[] properties = { "title", "album", "artist", "director", "thumbnail", "file", "fanart",
-                "showtitle", "streamdetails", "channel", "channeltype" };
-
-        JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
-        params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetItem", params);
+        updatePlayerItem(socket.callMethod("Player.GetItem", getPlayerParams(activePlayer, ITEM_PROPERTIES)));
+    }
 
+    private void updatePlayerItem(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
             if (result.has("item")) {
@@ -337,27 +379,29 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private void updateState(KodiState state) {
-        // sometimes get a Pause immediately after a Stop - so just ignore
-        if (currentState.equals(KodiState.Stop) && state.equals(KodiState.Pause)) {
-            return;
-        }
-        try {
-            listener.updatePlayerState(state);
-            // if this is a Stop then clear everything else
-            if (state == KodiState.Stop) {
-                listener.updateAlbum("");
-                listener.updateTitle("");
-                listener.updateShowTitle("");
-                listener.updateArtist("");
-                listener.updateMediaType("");
-                listener.updatePVRChannel("");
+        synchronized (stateLock) {
+            // sometimes get a Pause immediately after a Stop - so just ignore
+            if (currentState.equals(KodiState.Stop) && state.equals(KodiState.Pause)) {
+                return;
+            }
+            try {
+                listener.updatePlayerState(state);
+                // if this is a Stop then clear everything else
+                if (state == KodiState.Stop) {
+                    listener.updateAlbum("");
+                    listener.updateTitle("");
+                    listener.updateShowTitle("");
+                    listener.updateArtist("");
+                    listener.updateMediaType("");
+                    listener.updatePVRChannel("");
+                }
+            } catch (Exception e) {
+                logger.error("Event listener invoking error", e);
             }
-        } catch (Exception e) {
-            logger.error("Event listener invoking error", e);
-        }
 
-        // keep track of our current state
-        currentState = state;
+            // keep track of our current state
+            currentState = state;
+        }
     }
 
     @Override
@@ -608,13 +652,25 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     public String getVersion() {
-        if (socket.isConnected()) {
-            String[] props = { "version", "name" };
-
-            JsonObject params = new JsonObject();
-            params.add("properties", getJsonArray(props));
-            JsonElement response = socket.callMethod("Application.GetProperties", params);
+        try {
+            return getVersionAsync().get(REFRESH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.debug("Timeout during getVersion()");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug("Error during getVersion(): {}", e.getCause().getMessage(), e);
+        }
+        return "";
+    }
 
+    public CompletableFuture<String> getVersionAsync() {
+        if (!socket.isConnected()) {
+            return CompletableFuture.completedFuture("");
+        }
+        JsonObject params = new JsonObject();
+        params.add("properties", getJsonArray(VERSION_PROPERTIES));
+        return socket.callMethodAsync("Application.GetProperties", params).thenApply(response -> {
             if (response instanceof JsonObject) {
                 JsonObject result = response.getAsJsonObject();
                 if (result.has("version")) {
@@ -625,8 +681,8 @@ public class KodiConnection implements KodiClientSocketEventListener {
                     return String.format("%d.%d (%s)", major, minor, revision);
                 }
             }
-        }
-        return "";
+            return "";
+        });
     }
 
     public void input(String key) {
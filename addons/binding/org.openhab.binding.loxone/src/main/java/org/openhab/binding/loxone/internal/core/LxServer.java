@@ -11,8 +11,8 @@ package org.openhab.binding.loxone.internal.core;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -70,13 +70,22 @@ public class LxServer {
     private int comErrorDelay = 30;
 
     // Data structures
-    private Set<LxUuid> uuids = new HashSet<>();
+    // canonical UUID objects, so each UUID value is represented by one object shared by all structures
+    private Map<LxUuid, LxUuid> uuids = new HashMap<>();
     private Map<LxUuid, LxControl> controls = new HashMap<>();
+    // replaced as a whole after each configuration update, so it can be read outside of the server thread
+    private volatile Map<String, LxControl> controlsByName = new HashMap<>();
     private Map<LxUuid, LxContainer> rooms = new HashMap<>();
     private Map<LxUuid, LxCategory> categories = new HashMap<>();
     private Map<LxUuid, LxControlState> states = new HashMap<>();
     private List<LxServerListener> listeners = new ArrayList<>();
 
+    // State update statistics
+    private static final long STATS_PERIOD_MS = 60000;
+    private long statsPeriodStart = 0;
+    private int statsStateCount = 0;
+    private long statsMaxQueueLag = 0;
+
     // Services
     private boolean running = true;
     private LxWsClient socketClient;
@@ -248,10 +257,7 @@ public class LxServer {
         if (controls == null || id == null) {
             return null;
         }
-        if (controls.containsKey(id)) {
-            return controls.get(id);
-        }
-        return null;
+        return controls.get(id);
     }
 
     /**
@@ -263,12 +269,10 @@ public class LxServer {
      *         Found control or null if not found
      */
     public LxControl findControl(String name) {
-        for (LxControl l : controls.values()) {
-            if (l.getName().equals(name)) {
-                return l;
-            }
+        if (name == null) {
+            return null;
         }
-        return null;
+        return controlsByName.get(name);
     }
 
     /**
@@ -390,23 +394,7 @@ public class LxServer {
                                 }
                                 break;
                             case STATE_UPDATE:
-                                LxWsStateUpdateEvent update = (LxWsStateUpdateEvent) wsMsg.getObject();
-                                LxControlState state = findState(update.getUuid());
-                                if (state != null) {
-                                    state.setValue(update.getValue(), update.getText());
-                                    LxControl control = state.getControl();
-                                    if (control != null) {
-                                        logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId,
-                                                update.getUuid(), control.getName(), state.getName(), update.getValue(),
-                                                update.getText());
-                                        for (LxServerListener listener : listeners) {
-                                            listener.onControlStateUpdate(control);
-                                        }
-                                    } else {
-                                        logger.debug("[{}] State update {} ({}) of unknown control", debugId,
-                                                update.getUuid(), state.getName());
-                                    }
-                                }
+                                updateStates((LxWsStateUpdateEvent.Table) wsMsg.getObject());
                                 break;
                             case SERVER_ONLINE:
                                 for (LxServerListener listener : listeners) {
@@ -461,6 +449,69 @@ public class LxServer {
         }
     }
 
+    /**
+     * Applies a table of state updates received from the Miniserver. Each control whose states were updated is passed
+     * to the listeners only once, after all states in the table have been applied.
+     *
+     * @param table
+     *            table of state updates
+     */
+    private void updateStates(LxWsStateUpdateEvent.Table table) {
+        Set<LxControl> updatedControls = new LinkedHashSet<>();
+        int size = table.size();
+        for (int i = 0; i < size; i++) {
+            LxControlState state = findState(table.getUuid(i));
+            if (state != null) {
+                state.setValue(table.getValue(i), table.getText(i));
+                LxControl control = state.getControl();
+                if (control != null) {
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId,
+                                table.getUuid(i), control.getName(), state.getName(), table.getValue(i),
+                                table.getText(i));
+                    }
+                    updatedControls.add(control);
+                } else {
+                    logger.debug("[{}] State update {} ({}) of unknown control", debugId, table.getUuid(i),
+                            state.getName());
+                }
+            }
+        }
+        for (LxControl control : updatedControls) {
+            for (LxServerListener listener : listeners) {
+                listener.onControlStateUpdate(control);
+            }
+        }
+        logger.debug("[{}] Applied {} state updates to {} controls", debugId, size, updatedControls.size());
+        updateStatistics(size, System.currentTimeMillis() - table.getReceivedTime());
+    }
+
+    /**
+     * Collects statistics of processed state updates and logs them once per statistics period.
+     *
+     * @param count
+     *            number of state updates processed
+     * @param lag
+     *            time in milliseconds the updates spent in the queue before being processed
+     */
+    private void updateStatistics(int count, long lag) {
+        long now = System.currentTimeMillis();
+        if (statsPeriodStart == 0) {
+            statsPeriodStart = now;
+        }
+        statsStateCount += count;
+        statsMaxQueueLag = Math.max(statsMaxQueueLag, lag);
+        long elapsed = now - statsPeriodStart;
+        if (elapsed >= STATS_PERIOD_MS) {
+            logger.debug("[{}] Processed {} state updates per second, max queue lag {} ms, queue size {}", debugId,
+                    String.format("%.1f", statsStateCount * 1000.0 / elapsed), statsMaxQueueLag,
+                    queue == null ? 0 : queue.size());
+            statsPeriodStart = now;
+            statsStateCount = 0;
+            statsMaxQueueLag = 0;
+        }
+    }
+
     /**
      * Updates runtime configuration from parsed JSON configuration file of Loxone Miniserver (LoxApp3.json)
      *
@@ -470,7 +521,7 @@ public class LxServer {
     private void updateConfig(LxJsonApp3 config) {
         logger.trace("[{}] Updating configuration from Miniserver", debugId);
 
-        for (LxUuid id : uuids) {
+        for (LxUuid id : uuids.keySet()) {
             id.setUpdate(false);
         }
         for (LxUuid id : states.keySet()) {
@@ -518,6 +569,22 @@ public class LxServer {
         removeUnusedFromMap(categories);
         removeUnusedFromMap(controls);
         removeUnusedFromMap(states);
+        updateControlsByName();
+    }
+
+    /**
+     * Rebuilds the index of controls by their names. If more than one control has the same name, the first one
+     * found is indexed.
+     */
+    private void updateControlsByName() {
+        Map<String, LxControl> byName = new HashMap<>();
+        for (LxControl control : controls.values()) {
+            String name = control.getName();
+            if (name != null) {
+                byName.putIfAbsent(name, control);
+            }
+        }
+        controlsByName = byName;
     }
 
     /**
@@ -554,12 +621,7 @@ public class LxServer {
         if (uuids == null || id == null) {
             return null;
         }
-        for (LxUuid i : uuids) {
-            if (id.equals(i)) {
-                return i;
-            }
-        }
-        return null;
+        return uuids.get(id);
     }
 
     /**
@@ -572,11 +634,10 @@ public class LxServer {
      *         object belonging to server (either same as provided as an argument or already existing one)
      */
     private LxUuid addUuid(LxUuid id) {
-        LxUuid i = findUuid(id);
+        LxUuid i = uuids.putIfAbsent(id, id);
         if (i != null) {
             return i;
         }
-        uuids.add(id);
         return id;
     }
 
@@ -635,10 +696,7 @@ public class LxServer {
         if (states == null || id == null) {
             return null;
         }
-        if (states.containsKey(id)) {
-            return states.get(id);
-        }
-        return null;
+        return states.get(id);
     }
 
     /**
@@ -42,8 +42,8 @@ class LxServerEvent {
          */
         RECEIVED_CONFIG,
         /**
-         * Received control's state value or text update from Miniserver. There is a {@link LxWsStateUpdateEvent} object
-         * associated.
+         * Received a table of controls' state value or text updates from Miniserver. There is a
+         * {@link LxWsStateUpdateEvent.Table} object associated.
          */
         STATE_UPDATE,
         /**
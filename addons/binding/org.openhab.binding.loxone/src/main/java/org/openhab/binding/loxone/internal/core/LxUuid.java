@@ -8,9 +8,6 @@
  */
 package org.openhab.binding.loxone.internal.core;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-
 /**
  * Unique identifier of an object on Loxone Miniserver.
  * <p>
@@ -21,6 +18,9 @@ import java.nio.ByteOrder;
  *
  */
 public class LxUuid {
+    private static final char[] HEX_LOWER = "0123456789abcdef".toCharArray();
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+
     private String uuid;
     private String uuidOriginal;
     private boolean updated;
@@ -35,14 +35,51 @@ public class LxUuid {
         init(uuid);
     }
 
+    /**
+     * Create a new {@link LxUuid} object from a binary UUID received from a Miniserver (e.g. in state update events).
+     * This is called for every received state update, so the string is built directly from the bytes.
+     *
+     * @param data
+     *            buffer with binary UUID
+     * @param offset
+     *            offset in buffer where UUID starts
+     */
     public LxUuid(byte data[], int offset) {
-        String id = String.format("%08x-%04x-%04x-%02x%02x%02x%02x%02x%02x%02x%02x",
-                ByteBuffer.wrap(data, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt(),
-                ByteBuffer.wrap(data, offset + 4, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(),
-                ByteBuffer.wrap(data, offset + 6, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(), data[offset + 8],
-                data[offset + 9], data[offset + 10], data[offset + 11], data[offset + 12], data[offset + 13],
-                data[offset + 14], data[offset + 15]);
-        init(id);
+        char[] lower = new char[35];
+        char[] upper = new char[35];
+        int pos = 0;
+        // first three fields are little endian 32, 16 and 16 bit values, the remaining eight bytes are in order
+        for (int i = 3; i >= 0; i--) {
+            pos = appendHex(data[offset + i], lower, upper, pos);
+        }
+        lower[pos] = upper[pos] = '-';
+        pos++;
+        for (int i = 5; i >= 4; i--) {
+            pos = appendHex(data[offset + i], lower, upper, pos);
+        }
+        lower[pos] = upper[pos] = '-';
+        pos++;
+        for (int i = 7; i >= 6; i--) {
+            pos = appendHex(data[offset + i], lower, upper, pos);
+        }
+        lower[pos] = upper[pos] = '-';
+        pos++;
+        for (int i = 8; i < 16; i++) {
+            pos = appendHex(data[offset + i], lower, upper, pos);
+        }
+        uuidOriginal = new String(lower);
+        uuid = new String(upper);
+        updated = true;
+    }
+
+    private static int appendHex(byte b, char[] lower, char[] upper, int pos) {
+        int hi = (b >> 4) & 0x0F;
+        int lo = b & 0x0F;
+        lower[pos] = HEX_LOWER[hi];
+        upper[pos] = HEX_UPPER[hi];
+        lower[pos + 1] = HEX_LOWER[lo];
+        upper[pos + 1] = HEX_UPPER[lo];
+        return pos + 2;
     }
 
     private void init(String uuid) {
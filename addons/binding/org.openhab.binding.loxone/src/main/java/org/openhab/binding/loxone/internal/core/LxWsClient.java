@@ -597,20 +597,12 @@ class LxWsClient {
                         switch (header.type) {
                             case EVENT_TABLE_OF_VALUE_STATES:
                                 stopResponseTimeout();
-                                while (length > 0) {
-                                    LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(true, data, offset);
-                                    offset += event.getSize();
-                                    length -= event.getSize();
-                                    notifyMaster(EventType.STATE_UPDATE, null, event);
-                                }
+                                notifyMaster(EventType.STATE_UPDATE, null,
+                                        new LxWsStateUpdateEvent.Table(true, data, offset, length));
                                 break;
                             case EVENT_TABLE_OF_TEXT_STATES:
-                                while (length > 0) {
-                                    LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(false, data, offset);
-                                    offset += event.getSize();
-                                    length -= event.getSize();
-                                    notifyMaster(EventType.STATE_UPDATE, null, event);
-                                }
+                                notifyMaster(EventType.STATE_UPDATE, null,
+                                        new LxWsStateUpdateEvent.Table(false, data, offset, length));
                                 break;
                             case KEEPALIVE_RESPONSE:
                             case TEXT_MESSAGE:
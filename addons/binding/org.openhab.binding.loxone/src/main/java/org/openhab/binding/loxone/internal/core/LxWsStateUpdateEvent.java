@@ -10,6 +10,11 @@ package org.openhab.binding.loxone.internal.core;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An event received from Loxone Miniserver with control's state update
@@ -95,4 +100,139 @@ class LxWsStateUpdateEvent {
     int getSize() {
         return size;
     }
+
+    /**
+     * A complete table of state updates received from Miniserver in one binary message.
+     * <p>
+     * Value tables are decoded into parallel arrays of UUIDs and primitive values, so a table with thousands of entries
+     * is passed to {@link LxServer} as a single queue event and applied in one go.
+     */
+    static class Table {
+        private static final int VALUE_EVENT_SIZE = 24;
+
+        private final Logger logger = LoggerFactory.getLogger(Table.class);
+
+        private final boolean valueTable;
+        private final long receivedTime;
+        private final LxUuid[] uuids;
+        private final double[] values;
+        private final String[] texts;
+
+        /**
+         * Decode a table of state updates from binary message
+         *
+         * @param isValueTable
+         *            true if this table contains double value updates, false if it contains text updates
+         * @param data
+         *            buffer with binary message received from Miniserver
+         * @param offset
+         *            offset in buffer where the table starts
+         * @param length
+         *            length of the table in bytes
+         */
+        Table(boolean isValueTable, byte data[], int offset, int length) throws IndexOutOfBoundsException {
+            valueTable = isValueTable;
+            receivedTime = System.currentTimeMillis();
+            if (isValueTable) {
+                // Apply all complete entries, a truncated entry at the end is ignored
+                int count = length / VALUE_EVENT_SIZE;
+                if (length % VALUE_EVENT_SIZE != 0) {
+                    logger.debug("Ignoring {} bytes at the end of value state table of length {}",
+                            length % VALUE_EVENT_SIZE, length);
+                }
+                uuids = new LxUuid[count];
+                values = new double[count];
+                texts = null;
+                ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < count; i++) {
+                    uuids[i] = new LxUuid(data, offset);
+                    values[i] = buffer.getDouble(offset + 16);
+                    offset += VALUE_EVENT_SIZE;
+                }
+            } else {
+                // Apply all complete entries, a truncated entry at the end is ignored
+                List<LxWsStateUpdateEvent> events = new ArrayList<>();
+                int tableLength = length;
+                while (length > 0) {
+                    LxWsStateUpdateEvent event;
+                    try {
+                        event = new LxWsStateUpdateEvent(false, data, offset);
+                    } catch (IndexOutOfBoundsException e) {
+                        event = null;
+                    }
+                    if (event == null || event.getSize() > length) {
+                        logger.debug("Ignoring {} bytes at the end of text state table of length {}", length,
+                                tableLength);
+                        break;
+                    }
+                    offset += event.getSize();
+                    length -= event.getSize();
+                    events.add(event);
+                }
+                uuids = new LxUuid[events.size()];
+                values = null;
+                texts = new String[events.size()];
+                for (int i = 0; i < uuids.length; i++) {
+                    uuids[i] = events.get(i).getUuid();
+                    texts[i] = events.get(i).getText();
+                }
+            }
+        }
+
+        /**
+         * Get number of state updates in this table
+         *
+         * @return
+         *         number of state updates
+         */
+        int size() {
+            return uuids.length;
+        }
+
+        /**
+         * Get UUID of the state at given position
+         *
+         * @param index
+         *            position in the table
+         * @return
+         *         UUID of the state
+         */
+        LxUuid getUuid(int index) {
+            return uuids[index];
+        }
+
+        /**
+         * Get new value of the state at given position
+         *
+         * @param index
+         *            position in the table
+         * @return
+         *         new value of the state or null if this is a table of text updates
+         */
+        Double getValue(int index) {
+            return valueTable ? values[index] : null;
+        }
+
+        /**
+         * Get new text of the state at given position
+         *
+         * @param index
+         *            position in the table
+         * @return
+         *         new text of the state or null if this is a table of value updates
+         */
+        String getText(int index) {
+            return valueTable ? null : texts[index];
+        }
+
+        /**
+         * Get time when the table was received from Miniserver
+         *
+         * @return
+         *         time of reception in milliseconds
+         */
+        long getReceivedTime() {
+            return receivedTime;
+        }
+    }
 }
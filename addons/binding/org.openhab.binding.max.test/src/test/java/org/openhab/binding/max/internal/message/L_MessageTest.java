@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.max.internal.message;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.max.internal.device.Device;
+import org.openhab.binding.max.internal.device.DeviceConfiguration;
+import org.openhab.binding.max.internal.device.DeviceInformation;
+import org.openhab.binding.max.internal.device.DeviceType;
+import org.openhab.binding.max.internal.device.ShutterContact;
+
+/**
+ * Tests cases for {@link L_Message} updating a list of devices.
+ *
+ * @author agent - Initial contribution
+ * @since 2.2
+ */
+public class L_MessageTest {
+
+    private static final int DEVICE_COUNT = 50;
+
+    private List<DeviceConfiguration> configurations;
+    private List<Device> devices;
+
+    @Before
+    public void before() {
+        configurations = new ArrayList<>();
+        for (int i = 0; i < DEVICE_COUNT; i++) {
+            configurations.add(DeviceConfiguration.create(new DeviceInformation(DeviceType.ShutterContact,
+                    serialNumber(i), rfAddress(i), "Contact " + i, 1)));
+        }
+        devices = new ArrayList<>();
+    }
+
+    @Test
+    public void devicesAreCreatedFromFirstMessage() {
+        new L_Message(buildMessage(-1)).updateDevices(devices, configurations);
+
+        assertEquals(DEVICE_COUNT, devices.size());
+        for (int i = 0; i < DEVICE_COUNT; i++) {
+            assertEquals(rfAddress(i), devices.get(i).getRFAddress());
+            assertEquals(serialNumber(i), devices.get(i).getSerialNumber());
+        }
+    }
+
+    @Test
+    public void onlyChangedDeviceIsMarkedUpdated() {
+        new L_Message(buildMessage(-1)).updateDevices(devices, configurations);
+        List<Device> firstDevices = new ArrayList<>(devices);
+        for (Device device : devices) {
+            device.setUpdated(false);
+        }
+
+        new L_Message(buildMessage(7)).updateDevices(devices, configurations);
+
+        assertEquals(DEVICE_COUNT, devices.size());
+        for (int i = 0; i < DEVICE_COUNT; i++) {
+            assertSame(firstDevices.get(i), devices.get(i));
+            assertEquals(i == 7, devices.get(i).isUpdated());
+        }
+        assertEquals(OpenClosedType.OPEN, ((ShutterContact) devices.get(7)).getShutterState());
+        assertEquals(OpenClosedType.CLOSED, ((ShutterContact) devices.get(8)).getShutterState());
+    }
+
+    @Test
+    public void unchangedMessageDoesNotMarkDevicesUpdated() {
+        new L_Message(buildMessage(-1)).updateDevices(devices, configurations);
+        for (Device device : devices) {
+            device.setUpdated(false);
+        }
+
+        new L_Message(buildMessage(-1)).updateDevices(devices, configurations);
+
+        for (Device device : devices) {
+            assertFalse(device.isUpdated());
+        }
+    }
+
+    private static String rfAddress(int index) {
+        return String.format("0A%04X", index);
+    }
+
+    private static String serialNumber(int index) {
+        return String.format("KEQ%07d", index);
+    }
+
+    /**
+     * Builds an L message with all shutter contacts closed, except the one with the given index
+     */
+    private static String buildMessage(int openIndex) {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (int i = 0; i < DEVICE_COUNT; i++) {
+            data.write(6);
+            data.write(0x0A);
+            data.write((i >> 8) & 0xFF);
+            data.write(i & 0xFF);
+            data.write(0x00);
+            data.write(0x12);
+            data.write(i == openIndex ? 0x02 : 0x00);
+        }
+        return "L:" + Base64.getEncoder().encodeToString(data.toByteArray());
+    }
+}
@@ -53,6 +53,7 @@ public class MaxBinding {
     public static final String CHANNEL_CONTACT_STATE = "contact_state";
     public static final String CHANNEL_FREE_MEMORY = "free_mem";
     public static final String CHANNEL_DUTY_CYCLE = "duty_cycle";
+    public static final String CHANNEL_COMMAND_LATENCY = "command_latency";
 
     // Custom Properties
     public static final String PROPERTY_SERIAL_NUMBER = "serialNumber";
@@ -49,6 +49,13 @@ public class MaxCubeBridgeConfiguration {
      */
     public Integer maxRequestsPerConnection;
 
+    /**
+     * If set to true, the binding keeps one connection to the cube open and
+     * processes all messages as they are received. Commands are sent right away
+     * as long as the duty cycle of the cube allows it.
+     */
+    public boolean persistentConnection = false;
+
     public Integer cubeReboot;
 
     /** NTP Server 1 hostname */
@@ -61,4 +61,24 @@ public interface DeviceStatusListener {
      */
     public void onDeviceConfigUpdate(Bridge bridge, Device device);
 
+    /**
+     * Returns the serial number of the device this listener is interested in. Listeners for a single device are only
+     * called for that device, listeners returning <code>null</code> are called for all devices.
+     *
+     * @return the serial number of the device or <code>null</code> for all devices
+     */
+    public default String getDeviceSerial() {
+        return null;
+    }
+
+    /**
+     * Returns whether this listener wants to receive {@link #onDeviceStateChanged(ThingUID, Device)} with the next
+     * data refresh, even if the state of its device did not change.
+     *
+     * @return true if the next state should be passed regardless of changes
+     */
+    public default boolean isRefreshRequired() {
+        return false;
+    }
+
 }
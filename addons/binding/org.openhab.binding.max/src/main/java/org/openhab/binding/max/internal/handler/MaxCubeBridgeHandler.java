@@ -21,11 +21,14 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -101,7 +104,25 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     /** timeout on network connection **/
     private static final int NETWORK_TIMEOUT = 10000;
 
+    /** timeout for the response to the inclusion command **/
+    private static final int INCLUSION_TIMEOUT = 80000;
+
+    /** duty cycle (in %) from which queued commands are held back until the Cube reports a lower duty cycle */
+    private static final int DUTY_CYCLE_LIMIT = 90;
+
+    /**
+     * maximum time (in ms) commands are held back by a high duty cycle. The duty cycle is only reported on connect
+     * and in the responses to commands, so one command is sent after this time to learn the current duty cycle.
+     */
+    private static final long DUTY_CYCLE_MAX_HOLD_TIME = TimeUnit.MINUTES.toMillis(5);
+
+    /** duty cycles (in %) from which polling of the Cube is slowed down */
+    private static final int DUTY_CYCLE_HIGH = 80;
+    private static final int DUTY_CYCLE_MEDIUM = 50;
+
     private ArrayList<Device> devices = new ArrayList<Device>();
+    /** devices of the last refreshData by upper case serial number */
+    private Map<String, Device> devicesBySerial = new ConcurrentHashMap<>();
     private ArrayList<RoomInformation> rooms;
     private HashSet<String> lastActiveDevices = new HashSet<String>();
 
@@ -122,6 +143,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     private String ipAddress;
     private int port;
     private boolean exclusive;
+    private boolean persistentConnection;
     private int maxRequestsPerConnection;
     private String ntpServer1;
     private String ntpServer2;
@@ -134,7 +156,17 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     /**
      * Duty cycle of the cube
      */
-    private int dutyCycle = 0;
+    private volatile int dutyCycle = 0;
+
+    /**
+     * Time since which commands are held back by a high duty cycle, 0 if they are not held back
+     */
+    private long dutyCycleHoldStart = 0;
+
+    /**
+     * Time in ms between queuing and completion of the last command
+     */
+    private long commandLatency = 0;
 
     /**
      * The available memory slots of the cube
@@ -145,21 +177,41 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      * connection socket and reader/writer for execute method
      */
     private Socket socket = null;
+    /** guards the connection to this cube, other cubes use their own connection and lock */
+    private final Object cubeLock = new Object();
     private BufferedReader reader = null;
     private OutputStreamWriter writer = null;
 
+    /**
+     * reader of the persistent connection and the response the sender is waiting for
+     */
+    private volatile CubeReader cubeReader = null;
+    private volatile PendingResponse pendingResponse = null;
+
     private boolean previousOnline = false;
 
+    /** listeners for all devices */
     private Set<DeviceStatusListener> deviceStatusListeners = new CopyOnWriteArraySet<>();
+    /** listeners for a single device, by serial number */
+    private Map<String, Set<DeviceStatusListener>> deviceSerialListeners = new ConcurrentHashMap<>();
 
     private ScheduledFuture<?> pollingJob;
+    private int skippedPolls = 0;
     private Runnable pollingRunnable = new Runnable() {
         @Override
         public void run() {
+            // poll less often while the radio duty cycle is high
+            if (skippedPolls + 1 < getPollingBackoff()) {
+                skippedPolls++;
+                logger.debug("Skipping poll of MAX! Cube {}, duty cycle {}%", ipAddress, dutyCycle);
+                return;
+            }
+            skippedPolls = 0;
             refreshData();
         }
     };
     private ScheduledFuture<?> sendCommandJob;
+    private final Object sendCommandsLock = new Object();
     private long sendCommandInterval = 5;
     private Runnable sendCommandRunnable = new Runnable() {
         @Override
@@ -196,6 +248,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         ipAddress = configuration.ipAddress;
         refreshInterval = configuration.refreshInterval;
         exclusive = configuration.exclusive;
+        persistentConnection = configuration.persistentConnection;
         maxRequestsPerConnection = configuration.maxRequestsPerConnection;
         ntpServer1 = configuration.ntpServer1;
         ntpServer2 = configuration.ntpServer2;
@@ -203,6 +256,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         logger.debug("Port            {}.", port);
         logger.debug("RefreshInterval {}.", refreshInterval);
         logger.debug("Exclusive mode  {}.", exclusive);
+        logger.debug("Persistent      {}.", persistentConnection);
         logger.debug("Max Requests    {}.", maxRequestsPerConnection);
 
         previousOnline = true; // To trigger offline in case no connection @ startup
@@ -255,7 +309,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         logger.info("Resetting configuration for MAX! Cube {}", getThing().getUID());
         sendCubeCommand(new A_Command());
         for (Device di : devices) {
-            for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
+            for (DeviceStatusListener deviceStatusListener : getDeviceStatusListeners(di)) {
                 try {
                     deviceStatusListener.onDeviceRemoved(this, di);
                 } catch (Exception e) {
@@ -288,12 +342,16 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.CONFIGURATION_PENDING, "Inclusion");
             logger.info("Start MAX! inclusion mode for 60 seconds");
             try {
-                socket.setSoTimeout((80000));
+                if (!persistentConnection) {
+                    socket.setSoTimeout((INCLUSION_TIMEOUT));
+                }
                 if (!sendCubeCommand(new N_Command())) {
                     logger.debug("Error during Inclusion mode");
                 }
                 logger.info("End MAX! inclusion mode");
-                socket.setSoTimeout((NETWORK_TIMEOUT));
+                if (!persistentConnection && socket != null) {
+                    socket.setSoTimeout((NETWORK_TIMEOUT));
+                }
             } catch (SocketException e) {
                 logger.debug("Timeout during MAX! inclusion mode");
             }
@@ -312,6 +370,18 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Returns the factor by which polling is slowed down depending on the current duty cycle
+     */
+    private int getPollingBackoff() {
+        if (dutyCycle >= DUTY_CYCLE_HIGH) {
+            return 4;
+        } else if (dutyCycle >= DUTY_CYCLE_MEDIUM) {
+            return 2;
+        }
+        return 1;
+    }
+
     /**
      * stops the refreshing jobs
      */
@@ -327,29 +397,53 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Takes a command from the command queue and send it to
-     * {@link executeCommand} for execution.
+     * Takes the commands from the command queue and send them to
+     * {@link executeCommand} for execution. Commands are held back in the queue
+     * while the duty cycle of the Cube is too high.
      *
      */
-    private synchronized void sendCommands() {
-
-        SendCommand sendCommand = commandQueue.poll();
-        if (sendCommand != null) {
-            CubeCommand cmd = sendCommand.getCubeCommand();
-            if (cmd == null) {
-                cmd = getCommand(sendCommand);
-            }
-            if (cmd != null) {
-                // Actual sending of the data to the Max! Cube Lan Gateway
-                logger.debug("Command {} ({}:{}) sent to MAX! Cube at IP: {}", sendCommand.getId(),
-                        sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
-
-                if (sendCubeCommand(cmd)) {
-                    logger.trace("Command {} ({}:{}) completed for MAX! Cube at IP: {}", sendCommand.getId(),
-                            sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
-                } else {
-                    logger.warn("Error sending command {} ({}:{}) to MAX! Cube at IP: {}", sendCommand.getId(),
+    private void sendCommands() {
+        synchronized (sendCommandsLock) {
+            while (!commandQueue.isEmpty()) {
+                if (dutyCycle >= DUTY_CYCLE_LIMIT) {
+                    long now = System.currentTimeMillis();
+                    if (dutyCycleHoldStart == 0) {
+                        dutyCycleHoldStart = now;
+                    }
+                    if (now - dutyCycleHoldStart < DUTY_CYCLE_MAX_HOLD_TIME) {
+                        logger.debug("Duty cycle {}% of MAX! Cube at IP: {} too high, {} commands postponed",
+                                dutyCycle, ipAddress, commandQueue.size());
+                        return;
+                    }
+                    logger.debug("Duty cycle {}% of MAX! Cube at IP: {} not updated for {} ms, sending next command",
+                            dutyCycle, ipAddress, now - dutyCycleHoldStart);
+                }
+                // the response to this command reports the current duty cycle, a new hold starts if it is still high
+                dutyCycleHoldStart = 0;
+                SendCommand sendCommand = commandQueue.poll();
+                if (sendCommand == null) {
+                    return;
+                }
+                CubeCommand cmd = sendCommand.getCubeCommand();
+                if (cmd == null) {
+                    cmd = getCommand(sendCommand);
+                }
+                if (cmd != null) {
+                    // Actual sending of the data to the Max! Cube Lan Gateway
+                    logger.debug("Command {} ({}:{}) sent to MAX! Cube at IP: {}", sendCommand.getId(),
                             sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
+
+                    if (sendCubeCommand(cmd)) {
+                        commandLatency = System.currentTimeMillis() - sendCommand.getQueuedTime();
+                        logger.trace("Command {} ({}:{}) completed in {} ms for MAX! Cube at IP: {}",
+                                sendCommand.getId(), sendCommand.getKey(), sendCommand.getCommandText(),
+                                commandLatency, ipAddress);
+                        updateState(new ChannelUID(getThing().getUID(), CHANNEL_COMMAND_LATENCY),
+                                new DecimalType(commandLatency));
+                    } else {
+                        logger.warn("Error sending command {} ({}:{}) to MAX! Cube at IP: {}", sendCommand.getId(),
+                                sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
+                    }
                 }
             }
         }
@@ -362,32 +456,12 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
 
         try {
             if (sendCubeCommand(new L_Command())) {
+                boolean wasOnline = getThing().getStatus() == ThingStatus.ONLINE;
                 updateStatus(ThingStatus.ONLINE);
                 previousOnline = true;
-                for (Device di : devices) {
-                    if (lastActiveDevices != null && lastActiveDevices.contains(di.getSerialNumber())) {
-                        for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
-                            try {
-                                deviceStatusListener.onDeviceStateChanged(getThing().getUID(), di);
-                            } catch (Exception e) {
-                                logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                                unregisterDeviceStatusListener(deviceStatusListener);
-                            }
-                        }
-                    }
-                    // New device, not seen before, pass to Discovery
-                    else {
-                        for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
-                            try {
-                                deviceStatusListener.onDeviceAdded(getThing(), di);
-                                di.setUpdated(true);
-                                deviceStatusListener.onDeviceStateChanged(getThing().getUID(), di);
-                            } catch (Exception e) {
-                                logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                            }
-                            lastActiveDevices.add(di.getSerialNumber());
-                        }
-                    }
+                // with a persistent connection the device states are passed on as soon as they are received
+                if (!persistentConnection || !wasOnline) {
+                    notifyDevices();
                 }
             } else if (previousOnline) {
                 onConnectionLost();
@@ -398,6 +472,80 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Passes the devices decoded from the last L_Message to the listeners
+     */
+    private synchronized void notifyDevices() {
+        for (Device di : devices) {
+            if (lastActiveDevices != null && lastActiveDevices.contains(di.getSerialNumber())) {
+                notifyDeviceStateChanged(di);
+            }
+            // New device, not seen before, pass to Discovery
+            else {
+                List<DeviceStatusListener> listeners = getAllDeviceStatusListeners();
+                for (DeviceStatusListener deviceStatusListener : listeners) {
+                    try {
+                        deviceStatusListener.onDeviceAdded(getThing(), di);
+                    } catch (Exception e) {
+                        logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                    }
+                }
+                if (!listeners.isEmpty()) {
+                    di.setUpdated(true);
+                    notifyDeviceStateChanged(di);
+                    lastActiveDevices.add(di.getSerialNumber());
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes the device state to the listeners of the device. Listeners are only called if the state
+     * decoded from the last L_Message changed or if they require a refresh.
+     *
+     * @param device
+     *            the device to notify the listeners for
+     */
+    private void notifyDeviceStateChanged(Device device) {
+        boolean updated = device.isUpdated();
+        for (DeviceStatusListener deviceStatusListener : getDeviceStatusListeners(device)) {
+            if (updated || deviceStatusListener.isRefreshRequired()) {
+                try {
+                    device.setUpdated(updated);
+                    deviceStatusListener.onDeviceStateChanged(getThing().getUID(), device);
+                } catch (Exception e) {
+                    logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                    unregisterDeviceStatusListener(deviceStatusListener);
+                }
+            }
+        }
+        device.setUpdated(false);
+    }
+
+    /**
+     * Returns the listeners for all devices and the listeners for the given device
+     *
+     * @param device
+     *            the device
+     * @return the listeners interested in the device
+     */
+    private List<DeviceStatusListener> getDeviceStatusListeners(Device device) {
+        List<DeviceStatusListener> listeners = new ArrayList<>(deviceStatusListeners);
+        Set<DeviceStatusListener> serialListeners = deviceSerialListeners.get(device.getSerialNumber());
+        if (serialListeners != null) {
+            listeners.addAll(serialListeners);
+        }
+        return listeners;
+    }
+
+    private List<DeviceStatusListener> getAllDeviceStatusListeners() {
+        List<DeviceStatusListener> listeners = new ArrayList<>(deviceStatusListeners);
+        for (Set<DeviceStatusListener> serialListeners : deviceSerialListeners.values()) {
+            listeners.addAll(serialListeners);
+        }
+        return listeners;
+    }
+
     public void onConnectionLost() {
         logger.debug("Bridge connection lost. Updating thing status to OFFLINE.");
         previousOnline = false;
@@ -420,11 +568,12 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
-        boolean result = deviceStatusListeners.add(deviceStatusListener);
-        if (result) {
-            // onUpdate();
+        String serialNumber = deviceStatusListener.getDeviceSerial();
+        if (serialNumber != null) {
+            return deviceSerialListeners.computeIfAbsent(serialNumber, k -> new CopyOnWriteArraySet<>())
+                    .add(deviceStatusListener);
         }
-        return result;
+        return deviceStatusListeners.add(deviceStatusListener);
     }
 
     public boolean unregisterDeviceStatusListener(DeviceStatusListener deviceStatusListener) {
@@ -432,6 +581,9 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
         boolean result = deviceStatusListeners.remove(deviceStatusListener);
+        for (Set<DeviceStatusListener> serialListeners : deviceSerialListeners.values()) {
+            result |= serialListeners.remove(deviceStatusListener);
+        }
         if (result) {
             clearDeviceList();
         }
@@ -449,8 +601,11 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      * @param {@link CubeCommand}
      * @return boolean success
      */
-    private synchronized boolean sendCubeCommand(CubeCommand command) {
-        synchronized (MaxCubeBridgeHandler.class) {
+    private boolean sendCubeCommand(CubeCommand command) {
+        if (persistentConnection) {
+            return sendPersistentCubeCommand(command);
+        }
+        synchronized (cubeLock) {
             boolean sendSuccess = false;
             try {
                 if (socket == null || socket.isClosed()) {
@@ -514,6 +669,89 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Sends a command to the Cube using the persistent connection. All received messages are processed by the
+     * {@link CubeReader} of the connection, this method only waits until the response to the command arrived.
+     *
+     * @param {@link CubeCommand}
+     * @return boolean success
+     */
+    private boolean sendPersistentCubeCommand(CubeCommand command) {
+        synchronized (cubeLock) {
+            try {
+                if (maxRequestsPerConnection > 0 && requestCount >= maxRequestsPerConnection) {
+                    logger.debug("maxRequestsPerConnection reached, reconnecting.");
+                    socketClose();
+                }
+                if (socket == null || socket.isClosed()) {
+                    logger.debug("Connect to MAX! Cube");
+                    PendingResponse initialData = persistentConnect();
+                    if (!initialData.await(NETWORK_TIMEOUT)) {
+                        throw new IOException("No initial data received");
+                    }
+                    if (command instanceof L_Command) {
+                        // the Cube sends the device list after connecting, no need to request it again
+                        requestCount++;
+                        return true;
+                    }
+                }
+
+                String returnStrings = command.getReturnStrings();
+                PendingResponse response = returnStrings != null ? expectResponse(returnStrings) : null;
+                logger.debug("Sending request #{} to MAX! Cube", this.requestCount);
+                writer.write(command.getCommandString());
+                logger.trace("Write string to Max! Cube {}: {}", ipAddress, command.getCommandString());
+                writer.flush();
+                requestCount++;
+
+                if (command instanceof Q_Command) {
+                    // the Cube closes the connection after the quit command
+                    socketClose();
+                } else if (response != null
+                        && !response.await(command instanceof N_Command ? INCLUSION_TIMEOUT : NETWORK_TIMEOUT)) {
+                    throw new IOException("No response received for " + command.getClass().getSimpleName());
+                }
+                return true;
+            } catch (InterruptedException e) {
+                logger.debug("Interrupted while waiting for MAX! Cube {}", ipAddress);
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                logger.debug("IO error occurred during execution: {}", e.getMessage());
+            } catch (Exception e) {
+                logger.debug("Exception occurred during execution: {}", e.getMessage(), e);
+            }
+            socketClose(); // reconnect on next execution
+            return false;
+        }
+    }
+
+    /**
+     * Opens the persistent connection and starts its reader.
+     *
+     * @return the response for the initial data the Cube sends after connecting
+     */
+    private PendingResponse persistentConnect() throws IOException {
+        socketConnect();
+        // the reader waits for unsolicited messages, timeouts are handled when waiting for responses
+        socket.setSoTimeout(0);
+        PendingResponse initialData = expectResponse("L:");
+        cubeReader = new CubeReader(socket, reader);
+        cubeReader.start();
+        return initialData;
+    }
+
+    /**
+     * Registers the response the sender waits for
+     *
+     * @param terminator String with ending messagetype e.g. L:
+     * @return the response to wait for
+     */
+    private PendingResponse expectResponse(String terminator) {
+        PendingResponse response = new PendingResponse(terminator);
+        pendingResponse = response;
+        return response;
+    }
+
     /**
      * Read line from the Cube and process the message.
      *
@@ -528,28 +766,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         while (cont) {
             String raw = reader.readLine();
             if (raw != null) {
-                logger.trace("message block: '{}'", raw);
-                try {
-                    this.messageProcessor.addReceivedLine(raw);
-                    if (this.messageProcessor.isMessageAvailable()) {
-                        Message message = this.messageProcessor.pull();
-                        processMessage(message);
-
-                    }
-                } catch (UnprocessableMessageException e) {
-                    if (raw.contentEquals("M:")) {
-                        logger.info("No Rooms information found. Configure your MAX! Cube: {}", ipAddress);
-                        this.messageProcessor.reset();
-                    } else {
-                        logger.info("Message could not be processed: '{}' from MAX! Cube lan gateway: {}:", raw,
-                                ipAddress);
-                        this.messageProcessor.reset();
-                    }
-                } catch (Exception e) {
-                    logger.info("Error while handling message block: '{}' from MAX! Cube lan gateway: {}:", raw,
-                            ipAddress, e.getMessage(), e);
-                    this.messageProcessor.reset();
-                }
+                processLine(raw);
                 if (terminator == null || raw.startsWith(terminator)) {
                     cont = false;
                 }
@@ -559,6 +776,35 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Passes a line received from the Cube to the message processor and process the message once complete.
+     *
+     * @param raw the line received
+     */
+    private void processLine(String raw) {
+        logger.trace("message block: '{}'", raw);
+        try {
+            this.messageProcessor.addReceivedLine(raw);
+            if (this.messageProcessor.isMessageAvailable()) {
+                Message message = this.messageProcessor.pull();
+                processMessage(message);
+
+            }
+        } catch (UnprocessableMessageException e) {
+            if (raw.contentEquals("M:")) {
+                logger.info("No Rooms information found. Configure your MAX! Cube: {}", ipAddress);
+                this.messageProcessor.reset();
+            } else {
+                logger.info("Message could not be processed: '{}' from MAX! Cube lan gateway: {}:", raw, ipAddress);
+                this.messageProcessor.reset();
+            }
+        } catch (Exception e) {
+            logger.info("Error while handling message block: '{}' from MAX! Cube lan gateway: {}:", raw, ipAddress,
+                    e.getMessage(), e);
+            this.messageProcessor.reset();
+        }
+    }
+
     /**
      * Processes the message
      *
@@ -635,13 +881,11 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                         ;
                     }
                 }
-                if (exclusive == true) {
-                    for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
+                Device di = getDevice(((C_Message) message).getSerialNumber());
+                if (exclusive == true && di != null) {
+                    for (DeviceStatusListener deviceStatusListener : getDeviceStatusListeners(di)) {
                         try {
-                            Device di = getDevice(((C_Message) message).getSerialNumber());
-                            if (di != null) {
-                                deviceStatusListener.onDeviceConfigUpdate(getThing(), di);
-                            }
+                            deviceStatusListener.onDeviceConfigUpdate(getThing(), di);
                         } catch (NullPointerException e) {
                             // ignore
                         } catch (Exception e) {
@@ -651,8 +895,15 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                     }
                 }
             } else if (message.getType() == MessageType.L) {
-                ((L_Message) message).updateDevices(devices, configurations);
-                logger.trace("{} devices found.", devices.size());
+                // The device list is iterated by notifyDevices() on other threads
+                synchronized (this) {
+                    ((L_Message) message).updateDevices(devices, configurations);
+                    updateDeviceIndex();
+                    logger.trace("{} devices found.", devices.size());
+                }
+                if (persistentConnection && getThing().getStatus() == ThingStatus.ONLINE) {
+                    notifyDevices();
+                }
             } else if (message.getType() == MessageType.S) {
                 dutyCycle = ((S_Message) message).getDutyCycle();
                 freeMemorySlots = ((S_Message) message).getFreeMemorySlots();
@@ -744,13 +995,17 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         logger.debug("NTP properties updated");
     }
 
-    private Device getDevice(String serialNumber, ArrayList<Device> devices) {
+    /**
+     * Updates the serial number index with the devices decoded from the last L_Message
+     */
+    private void updateDeviceIndex() {
+        Set<String> serialNumbers = new HashSet<>();
         for (Device device : devices) {
-            if (device.getSerialNumber().toUpperCase().equals(serialNumber)) {
-                return device;
-            }
+            String serialNumber = device.getSerialNumber().toUpperCase();
+            serialNumbers.add(serialNumber);
+            devicesBySerial.put(serialNumber, device);
         }
-        return null;
+        devicesBySerial.keySet().retainAll(serialNumbers);
     }
 
     /**
@@ -762,7 +1017,10 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      */
 
     public Device getDevice(String serialNumber) {
-        return getDevice(serialNumber, devices);
+        if (serialNumber == null) {
+            return null;
+        }
+        return devicesBySerial.get(serialNumber);
     }
 
     /**
@@ -791,6 +1049,8 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             lastCommandId = sendCommand;
             logger.debug("Command queued id {} ({}:{}).", sendCommand.getId(), sendCommand.getKey(),
                     sendCommand.getCommandText());
+            // send right away instead of waiting for the next send command interval
+            scheduler.execute(sendCommandRunnable);
 
         } else {
             logger.debug("Command queued full dropping command id {} ({}).", sendCommand.getId(), sendCommand.getKey());
@@ -813,7 +1073,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         Command command = sendCommand.getCommand();
 
         // send command to MAX! Cube LAN Gateway
-        HeatingThermostat device = (HeatingThermostat) getDevice(serialNumber, devices);
+        HeatingThermostat device = (HeatingThermostat) getDevice(serialNumber);
 
         if (device == null) {
             logger.debug("Cannot send command to device with serial number {}, device not listed.", serialNumber);
@@ -888,7 +1148,10 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             SendCommand sendCommand = new SendCommand(maxDeviceSerial, new T_Command(device.getRFAddress(), true),
                     "Delete device " + maxDeviceSerial + " from Cube!");
             queueCommand(sendCommand);
-            devices.remove(device);
+            synchronized (this) {
+                devices.remove(device);
+                devicesBySerial.remove(device.getSerialNumber().toUpperCase());
+            }
             sendDeviceAndRoomNameUpdate("Remove name entry for " + maxDeviceSerial);
             sendCommand = new SendCommand(maxDeviceSerial, new Q_Command(), "Reload Data");
             queueCommand(sendCommand);
@@ -927,10 +1190,80 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         } catch (Exception e) {
         }
         socket = null;
+        cubeReader = null;
     }
 
     private void updateCubeState() {
         updateState(new ChannelUID(getThing().getUID(), CHANNEL_FREE_MEMORY), new DecimalType(freeMemorySlots));
         updateState(new ChannelUID(getThing().getUID(), CHANNEL_DUTY_CYCLE), new DecimalType(dutyCycle));
     }
+
+    /**
+     * Response to a command the sender is waiting for on the persistent connection.
+     */
+    private static class PendingResponse {
+        private final String terminator;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile boolean received = false;
+
+        PendingResponse(String terminator) {
+            this.terminator = terminator;
+        }
+
+        void complete(boolean received) {
+            this.received = received;
+            latch.countDown();
+        }
+
+        boolean await(long timeout) throws InterruptedException {
+            return latch.await(timeout, TimeUnit.MILLISECONDS) && received;
+        }
+    }
+
+    /**
+     * Reads and processes all messages of the persistent connection as they arrive, including messages the Cube
+     * sends without a request.
+     */
+    private class CubeReader extends Thread {
+        private final Socket readerSocket;
+        private final BufferedReader readerInput;
+
+        CubeReader(Socket readerSocket, BufferedReader readerInput) {
+            super("MAX! Cube reader " + ipAddress);
+            setDaemon(true);
+            this.readerSocket = readerSocket;
+            this.readerInput = readerInput;
+        }
+
+        @Override
+        public void run() {
+            logger.debug("Reader for MAX! Cube {} started", ipAddress);
+            try {
+                String raw;
+                while ((raw = readerInput.readLine()) != null) {
+                    processLine(raw);
+                    PendingResponse response = pendingResponse;
+                    if (response != null && raw.startsWith(response.terminator)) {
+                        pendingResponse = null;
+                        response.complete(true);
+                    }
+                }
+            } catch (IOException e) {
+                if (!readerSocket.isClosed()) {
+                    logger.debug("Error reading from MAX! Cube {}: {}", ipAddress, e.getMessage());
+                }
+            }
+            try {
+                // make sure the next command reconnects
+                readerSocket.close();
+            } catch (IOException e) {
+            }
+            PendingResponse response = pendingResponse;
+            if (cubeReader == this && response != null) {
+                pendingResponse = null;
+                response.complete(false);
+            }
+            logger.debug("Reader for MAX! Cube {} stopped", ipAddress);
+        }
+    }
 }
@@ -506,6 +506,18 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
         forceRefresh = true;
     }
 
+    @Override
+    public String getDeviceSerial() {
+        return maxDeviceSerial;
+    }
+
+    @Override
+    public boolean isRefreshRequired() {
+        // the actual temperature refresh is time based and needs to be checked with every data refresh
+        return forceRefresh || refreshingActuals || refreshActualRate >= REFRESH_ACTUAL_MIN_RATE
+                || getThing().getStatus() != ThingStatus.ONLINE;
+    }
+
     /**
      * Set the forceRefresh flag to ensure update when next data is coming
      */
@@ -29,6 +29,7 @@ public final class SendCommand {
     private String serialNumber;
     private String key;
     private String commandText;
+    private final long queuedTime = System.currentTimeMillis();
 
     public SendCommand(String serialNumber, ChannelUID channelUID, Command command) {
         commandId += 1;
@@ -147,4 +148,11 @@ public final class SendCommand {
         this.commandText = commandText;
     }
 
+    /**
+     * @return the time in ms this command was created for queuing
+     */
+    public long getQueuedTime() {
+        return queuedTime;
+    }
+
 }
@@ -14,13 +14,15 @@ import static org.openhab.binding.mihome.XiaomiGatewayBindingConstants.*;
 import java.math.BigDecimal;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.config.core.Configuration;
@@ -34,6 +36,7 @@ import org.eclipse.smarthome.core.thing.binding.ConfigStatusBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.mihome.internal.EncryptionHelper;
 import org.openhab.binding.mihome.internal.XiaomiItemUpdateListener;
+import org.openhab.binding.mihome.internal.XiaomiReport;
 import org.openhab.binding.mihome.internal.discovery.XiaomiItemDiscoveryService;
 import org.openhab.binding.mihome.internal.socket.XiaomiBridgeSocket;
 import org.openhab.binding.mihome.internal.socket.XiaomiSocketListener;
@@ -42,8 +45,6 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 /**
  * The {@link XiaomiBridgeHandler} is responsible for handling commands, which are
@@ -57,14 +58,13 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
     private static final int DISCOVERY_LOCK_TIME_MILLIS = 10000;
     private static final int READ_ACK_RETENTION_MILLIS = 60 * 60 * 1000; // 2 hours
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = Collections.singleton(THING_TYPE_BRIDGE);
-    private static final JsonParser PARSER = new JsonParser();
     private static final EncryptionHelper CRYPTER = new EncryptionHelper();
-    private static Map<String, JsonObject> retentionBox = new ConcurrentHashMap<>();
+    private static Map<String, XiaomiReport> retentionBox = new ConcurrentHashMap<>();
 
     private final Logger logger = LoggerFactory.getLogger(XiaomiBridgeHandler.class);
 
-    private List<XiaomiItemUpdateListener> itemListeners = new ArrayList<>();
-    private List<XiaomiItemUpdateListener> itemDiscoveryListeners = new ArrayList<>();
+    private Map<String, Set<XiaomiItemUpdateListener>> itemListeners = new ConcurrentHashMap<>();
+    private List<XiaomiItemUpdateListener> itemDiscoveryListeners = new CopyOnWriteArrayList<>();
 
     private String gatewayToken;
     private long lastDiscoveryTime;
@@ -119,10 +119,14 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
     }
 
     @Override
-    public void onDataReceived(JsonObject message) {
-        logger.trace("Received message {}", message);
-        String sid = message.has("sid") ? message.get("sid").getAsString() : null;
-        String command = message.get("cmd").getAsString();
+    public void onDataReceived(XiaomiReport report) {
+        logger.trace("Received message {}", report);
+        String sid = report.getSid();
+        String command = report.getCommand();
+        if (command == null) {
+            logger.debug("Ignoring message without command: {}", report);
+            return;
+        }
 
         updateDeviceStatus(sid);
         updateStatus(ThingStatus.ONLINE);
@@ -130,34 +134,39 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
             case "iam":
                 return;
             case "heartbeat":
-                if (message.has("token")) {
-                    this.gatewayToken = message.get("token").getAsString();
+                if (report.getMessage().has("token")) {
+                    this.gatewayToken = report.getMessage().get("token").getAsString();
                 }
                 break;
             case "get_id_list_ack":
-                JsonArray devices = PARSER.parse(message.get("data").getAsString()).getAsJsonArray();
-                for (JsonElement deviceId : devices) {
-                    String device = deviceId.getAsString();
-                    sendCommandToBridge("read", device);
+                JsonArray devices = report.getDataArray();
+                if (devices != null) {
+                    for (JsonElement deviceId : devices) {
+                        String device = deviceId.getAsString();
+                        sendCommandToBridge("read", device);
+                    }
                 }
                 // as well get gateway status
                 sendCommandToBridge("read", getGatewaySid());
                 return;
             case "read_ack":
                 logger.debug("Device {} honored read request", sid);
-                retend(sid, message);
+                retend(sid, report);
                 break;
             case "write_ack":
                 logger.debug("Device {} honored write request", sid);
                 break;
         }
-        notifyListeners(command, message);
+        notifyListeners(report);
     }
 
-    private synchronized void retend(String sid, JsonObject message) {
+    private synchronized void retend(String sid, XiaomiReport report) {
+        if (sid == null) {
+            return;
+        }
         synchronized (retentionBox) {
             retentionBox.remove(sid);
-            retentionBox.put(sid, message);
+            retentionBox.put(sid, report);
         }
         scheduler.schedule(new RemoveRetentionRunnable(sid), READ_ACK_RETENTION_MILLIS, TimeUnit.MILLISECONDS);
     }
@@ -177,9 +186,9 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
         }
     }
 
-    public synchronized JsonObject getRetentedMessage(String sid) {
+    public synchronized XiaomiReport getRetentedMessage(String sid) {
         synchronized (retentionBox) {
-            JsonObject ret = retentionBox.get(sid);
+            XiaomiReport ret = retentionBox.get(sid);
             if (ret != null) {
                 retentionBox.remove(sid);
             }
@@ -187,23 +196,21 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
         }
     }
 
-    private synchronized void notifyListeners(String command, JsonObject message) {
-        boolean knownDevice = false;
-        String sid = message.get("sid").getAsString();
+    private void notifyListeners(XiaomiReport report) {
+        String sid = report.getSid();
 
         // Not a message to pass to any itemListener
         if (sid == null) {
             return;
         }
-        for (XiaomiItemUpdateListener itemListener : itemListeners) {
-            if (sid.equals(itemListener.getItemId())) {
-                itemListener.onItemUpdate(sid, command, message);
-                knownDevice = true;
+        Set<XiaomiItemUpdateListener> listeners = itemListeners.get(sid);
+        if (listeners != null && !listeners.isEmpty()) {
+            for (XiaomiItemUpdateListener itemListener : listeners) {
+                itemListener.onItemUpdate(report);
             }
-        }
-        if (!knownDevice) {
+        } else {
             for (XiaomiItemUpdateListener itemListener : itemDiscoveryListeners) {
-                itemListener.onItemUpdate(sid, command, message);
+                itemListener.onItemUpdate(report);
             }
         }
     }
@@ -215,16 +222,34 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
         } else if (listener instanceof XiaomiItemDiscoveryService) {
             result = !(itemDiscoveryListeners.contains(listener)) ? itemDiscoveryListeners.add(listener) : false;
             logger.debug("Having {} Item Discovery listeners", itemDiscoveryListeners.size());
+        } else if (listener.getItemId() == null) {
+            logger.warn("Item listener {} has no device id and can't be registered", listener);
         } else {
             logger.debug("Adding item listener for device {}", listener.getItemId());
-            result = !(itemListeners.contains(listener)) ? itemListeners.add(listener) : false;
+            result = itemListeners.computeIfAbsent(listener.getItemId(), sid -> new CopyOnWriteArraySet<>())
+                    .add(listener);
             logger.debug("Having {} Item listeners", itemListeners.size());
         }
         return result;
     }
 
     public synchronized boolean unregisterItemListener(XiaomiItemUpdateListener listener) {
-        return itemListeners.remove(listener);
+        if (listener instanceof XiaomiItemDiscoveryService) {
+            return itemDiscoveryListeners.remove(listener);
+        }
+        // the device id might have changed since registration, so look at all entries
+        boolean result = false;
+        for (Iterator<Set<XiaomiItemUpdateListener>> iterator = itemListeners.values().iterator(); iterator
+                .hasNext();) {
+            Set<XiaomiItemUpdateListener> listeners = iterator.next();
+            if (listeners.remove(listener)) {
+                result = true;
+            }
+            if (listeners.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        return result;
     }
 
     private void sendMessageToBridge(String message) {
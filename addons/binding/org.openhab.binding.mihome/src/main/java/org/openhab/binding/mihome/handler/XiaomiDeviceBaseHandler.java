@@ -25,12 +25,11 @@ import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.mihome.internal.XiaomiItemUpdateListener;
+import org.openhab.binding.mihome.internal.XiaomiReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
 
 /**
  * The {@link XiaomiDeviceBaseHandler} is responsible for handling commands, which are
@@ -55,8 +54,6 @@ public abstract class XiaomiDeviceBaseHandler extends BaseThingHandler implement
 
     private static final long ONLINE_TIMEOUT_MILLIS = 2 * 60 * 60 * 1000; // 2 hours
 
-    private JsonParser parser = new JsonParser();
-
     private XiaomiBridgeHandler bridgeHandler;
 
     private String itemId;
@@ -93,11 +90,10 @@ public abstract class XiaomiDeviceBaseHandler extends BaseThingHandler implement
     public void handleCommand(ChannelUID channelUID, Command command) {
         logger.debug("Device {} on channel {} received command {}", getItemId(), channelUID, command);
         if (command instanceof RefreshType) {
-            JsonObject message = getXiaomiBridgeHandler().getRetentedMessage(getItemId());
-            if (message != null) {
-                String cmd = message.get("cmd").getAsString();
+            XiaomiReport report = getXiaomiBridgeHandler().getRetentedMessage(getItemId());
+            if (report != null) {
                 logger.debug("Update Item {} with retented message", getItemId());
-                onItemUpdate(getItemId(), cmd, message);
+                onItemUpdate(report);
             }
             return;
         }
@@ -105,15 +101,15 @@ public abstract class XiaomiDeviceBaseHandler extends BaseThingHandler implement
     }
 
     @Override
-    public void onItemUpdate(String sid, String command, JsonObject message) {
-        if (getItemId() != null && getItemId().equals(sid)) {
+    public void onItemUpdate(XiaomiReport report) {
+        if (getItemId() != null && getItemId().equals(report.getSid())) {
             updateThingStatus();
-            logger.debug("Item got update: {}", message);
-            try {
-                JsonObject data = parser.parse(message.get("data").getAsString()).getAsJsonObject();
-                parseCommand(command, data);
-            } catch (JsonSyntaxException e) {
-                logger.warn("Unable to parse message as valid JSON: {}", message);
+            logger.debug("Item got update: {}", report);
+            JsonObject data = report.getData();
+            if (data != null) {
+                parseCommand(report.getCommand(), data);
+            } else {
+                logger.warn("Unable to parse message as valid JSON: {}", report);
             }
         }
     }
@@ -8,8 +8,8 @@
  */
 package org.openhab.binding.mihome.handler;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
@@ -23,6 +23,9 @@ import org.slf4j.LoggerFactory;
  * which use a timer to update a certain channel. The user can configure the timer via an item
  * value.
  *
+ * The timers run on the shared scheduler of the handler. Restarting a running timer only moves its deadline,
+ * the scheduled task is replaced only if it would fire too late.
+ *
  * @author Dieter Schmidt - Initial contribution
  *
  */
@@ -32,8 +35,9 @@ public abstract class XiaomiSensorBaseHandlerWithTimer extends XiaomiSensorBaseH
     private int minTimer;
     private Integer timerSetpoint;
     private final String setpointChannel;
-    private boolean timerIsRunning;
-    private Timer trigger = new Timer();
+    private final Runnable timerAction = this::onTimerDue;
+    private ScheduledFuture<?> timerFuture;
+    private long timerDeadline;
 
     private final Logger logger = LoggerFactory.getLogger(XiaomiSensorBaseHandlerWithTimer.class);
 
@@ -45,30 +49,49 @@ public abstract class XiaomiSensorBaseHandlerWithTimer extends XiaomiSensorBaseH
         this.setpointChannel = setpointChannel;
     }
 
-    class TimerAction extends TimerTask {
-        @Override
-        public synchronized void run() {
-            onTimer();
-            timerIsRunning = false;
-        }
-    };
+    @Override
+    public void dispose() {
+        cancelRunningTimer();
+        super.dispose();
+    }
 
     synchronized void startTimer() {
-        cancelRunningTimer();
         logger.debug("Setting timer to {}s", timerSetpoint);
-        trigger.schedule(new TimerAction(), timerSetpoint * 1000);
-        timerIsRunning = true;
+        long delay = TimeUnit.SECONDS.toNanos(timerSetpoint);
+        timerDeadline = System.nanoTime() + delay;
+        if (timerFuture != null && timerFuture.getDelay(TimeUnit.NANOSECONDS) > delay) {
+            // the setpoint was lowered, the pending task would fire too late
+            timerFuture.cancel(false);
+            timerFuture = null;
+        }
+        if (timerFuture == null) {
+            timerFuture = scheduler.schedule(timerAction, delay, TimeUnit.NANOSECONDS);
+        }
     }
 
     synchronized void cancelRunningTimer() {
-        if (timerIsRunning) {
-            trigger.cancel();
+        if (timerFuture != null) {
+            timerFuture.cancel(false);
+            timerFuture = null;
             logger.debug("Cancelled running timer");
-            trigger = new Timer();
-            timerIsRunning = false;
         }
     }
 
+    private synchronized void onTimerDue() {
+        if (timerFuture == null || timerFuture.getDelay(TimeUnit.NANOSECONDS) > 0) {
+            // cancelled or replaced while waiting for the lock
+            return;
+        }
+        long remaining = timerDeadline - System.nanoTime();
+        if (remaining > 0) {
+            // the timer was restarted in the meantime
+            timerFuture = scheduler.schedule(timerAction, remaining, TimeUnit.NANOSECONDS);
+            return;
+        }
+        timerFuture = null;
+        onTimer();
+    }
+
     abstract void onTimer();
 
     void setTimerFromDecimalType(DecimalType value) {
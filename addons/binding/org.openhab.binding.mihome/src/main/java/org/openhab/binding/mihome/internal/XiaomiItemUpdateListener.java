@@ -8,8 +8,6 @@
  */
 package org.openhab.binding.mihome.internal;
 
-import com.google.gson.JsonObject;
-
 /**
  * Listener for item/sensor updates.
  *
@@ -19,14 +17,12 @@ public interface XiaomiItemUpdateListener {
     /**
      * Callback method to notify the listener about a device state update
      *
-     * @param sid the itemID of the device
-     * @param command the command type of the received message
-     * @param message the received message
+     * @param report the received message, which is shared by all listeners and must not be modified
      *
      * @author Patrick Boos - Initial contribution
      */
 
-    void onItemUpdate(String sid, String command, JsonObject message);
+    void onItemUpdate(XiaomiReport report);
 
     /**
      * Returns the itemID, to which the listener listens
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.mihome.internal;
+
+import java.net.InetAddress;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * A message received from a MiHome gateway.
+ *
+ * The datagram is parsed exactly once on reception, including the JSON string in the <code>data</code> field.
+ * The same instance is then passed to every listener, so the parsed objects must be treated as read-only.
+ *
+ * @author agent - Initial contribution
+ * @since 2.2
+ */
+public class XiaomiReport {
+
+    private static final JsonParser PARSER = new JsonParser();
+
+    private final InetAddress sender;
+    private final JsonObject message;
+    private final String command;
+    private final String sid;
+    private final String model;
+    private final JsonElement data;
+
+    private XiaomiReport(InetAddress sender, JsonObject message) {
+        this.sender = sender;
+        this.message = message;
+        this.command = getString(message, "cmd");
+        this.sid = getString(message, "sid");
+        this.model = getString(message, "model");
+        this.data = parseData(message.get("data"));
+    }
+
+    /**
+     * Parses a received datagram
+     *
+     * @param sentence - the content of the datagram
+     * @param sender - the address the datagram was received from
+     * @return the parsed report
+     * @throws JsonParseException if the datagram is not a valid JSON object
+     */
+    public static XiaomiReport parse(String sentence, InetAddress sender) throws JsonParseException {
+        JsonElement element = PARSER.parse(sentence);
+        if (!element.isJsonObject()) {
+            throw new JsonParseException("Message is not a JSON object: " + sentence);
+        }
+        return new XiaomiReport(sender, element.getAsJsonObject());
+    }
+
+    private static String getString(JsonObject object, String key) {
+        JsonElement element = object.get(key);
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+    }
+
+    private static JsonElement parseData(JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        if (!element.isJsonPrimitive()) {
+            return element;
+        }
+        try {
+            return PARSER.parse(element.getAsString());
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the address of the gateway which sent the message
+     */
+    public InetAddress getSender() {
+        return sender;
+    }
+
+    /**
+     * @return the complete message as received
+     */
+    public JsonObject getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the value of the <code>cmd</code> field or <code>null</code>
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * @return the value of the <code>sid</code> field or <code>null</code>
+     */
+    public String getSid() {
+        return sid;
+    }
+
+    /**
+     * @return the value of the <code>model</code> field or <code>null</code>
+     */
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * @return the parsed <code>data</code> field, or <code>null</code> if it is missing, invalid or not an object
+     */
+    public JsonObject getData() {
+        return data != null && data.isJsonObject() ? data.getAsJsonObject() : null;
+    }
+
+    /**
+     * @return the parsed <code>data</code> field, or <code>null</code> if it is missing, invalid or not an array
+     */
+    public JsonArray getDataArray() {
+        return data != null && data.isJsonArray() ? data.getAsJsonArray() : null;
+    }
+
+    @Override
+    public String toString() {
+        return message.toString();
+    }
+}
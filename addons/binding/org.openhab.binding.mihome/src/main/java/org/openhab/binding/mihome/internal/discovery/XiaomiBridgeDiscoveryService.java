@@ -23,6 +23,7 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.mihome.handler.XiaomiBridgeHandler;
+import org.openhab.binding.mihome.internal.XiaomiReport;
 import org.openhab.binding.mihome.internal.socket.XiaomiDiscoverySocket;
 import org.openhab.binding.mihome.internal.socket.XiaomiSocketListener;
 import org.slf4j.Logger;
@@ -83,10 +84,10 @@ public class XiaomiBridgeDiscoveryService extends AbstractDiscoveryService
     }
 
     @Override
-    public void onDataReceived(JsonObject data) {
-        logger.debug("Received message {}", data);
-        if (data.get("cmd").getAsString().equals("iam")) {
-            getGatewayInfo(data);
+    public void onDataReceived(XiaomiReport report) {
+        logger.debug("Received message {}", report);
+        if ("iam".equals(report.getCommand())) {
+            getGatewayInfo(report.getMessage());
         }
     }
 
@@ -23,11 +23,10 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.mihome.handler.XiaomiBridgeHandler;
 import org.openhab.binding.mihome.internal.XiaomiItemUpdateListener;
+import org.openhab.binding.mihome.internal.XiaomiReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonObject;
-
 /**
  * Discovery service for items/sensors.
  *
@@ -82,9 +81,11 @@ public class XiaomiItemDiscoveryService extends AbstractDiscoveryService
     }
 
     @Override
-    public void onItemUpdate(String sid, String command, JsonObject data) {
+    public void onItemUpdate(XiaomiReport report) {
+        String command = report.getCommand();
         if (command.equals("read_ack") || command.equals("report") || command.equals("heartbeat")) {
-            String model = data.get("model").getAsString();
+            String sid = report.getSid();
+            String model = report.getModel();
 
             ThingTypeUID thingType = getThingTypeForModel(model);
             if (thingType == null) {
@@ -13,16 +13,19 @@ import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
 
 import org.openhab.binding.mihome.handler.XiaomiBridgeHandler;
+import org.openhab.binding.mihome.internal.XiaomiReport;
 import org.openhab.binding.mihome.internal.discovery.XiaomiBridgeDiscoveryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonParseException;
 
 /**
  * Takes care of the communication with MiHome devices.
@@ -40,8 +43,6 @@ public abstract class XiaomiSocket {
 
     private List<XiaomiSocketListener> listeners = new CopyOnWriteArrayList<>();
 
-    private static final JsonParser PARSER = new JsonParser();
-
     private final Logger logger = LoggerFactory.getLogger(XiaomiSocket.class);
 
     private static ConcurrentHashMap<Integer, DatagramSocket> openSockets = new ConcurrentHashMap<Integer, DatagramSocket>();
@@ -49,6 +50,7 @@ public abstract class XiaomiSocket {
     private int port;
     private DatagramSocket socket;
     private Thread socketReceiveThread;
+    private volatile DispatcherThread dispatcherThread;
 
     /**
      * Sets up an {@link XiaomiSocket} with the MiHome multicast address and a random port
@@ -73,6 +75,8 @@ public abstract class XiaomiSocket {
     }
 
     protected void runReceiveThread() {
+        dispatcherThread = new DispatcherThread();
+        dispatcherThread.start();
         socketReceiveThread = new ReceiverThread();
         socketReceiveThread.start();
         if (getSocket() != null) {
@@ -84,7 +88,7 @@ public abstract class XiaomiSocket {
     abstract DatagramSocket setupSocket();
 
     /**
-     * Interrupts the {@link ReceiverThread} and closes the {@link XiaomiSocket}.
+     * Interrupts the {@link ReceiverThread} and the {@link DispatcherThread} and closes the {@link XiaomiSocket}.
      */
     private void closeSocket() {
         synchronized (XiaomiSocket.class) {
@@ -92,6 +96,10 @@ public abstract class XiaomiSocket {
                 logger.debug("Interrupting Thread {}", socketReceiveThread);
                 socketReceiveThread.interrupt();
             }
+            if (dispatcherThread != null) {
+                dispatcherThread.interrupt();
+                dispatcherThread = null;
+            }
             if (getSocket() != null) {
                 logger.debug("Closing socket {}", getSocket());
                 openSockets.remove(getSocket().getLocalPort());
@@ -191,8 +199,8 @@ public abstract class XiaomiSocket {
 
         /**
          * This method is the main method of the {@link ReceiverThread} for the {@link XiaomiBridgeSocket}.
-         * If the socket has data, it parses the data to a json object and calls all
-         * {@link XiaomiSocketListener} and passes the data to them.
+         * If the socket has data, it parses the data once to a {@link XiaomiReport} and hands it off to the
+         * {@link DispatcherThread}, so receiving never waits for a listener.
          *
          * @param socket - The multicast socket to listen to
          * @param dgram - The datagram to receive
@@ -206,9 +214,17 @@ public abstract class XiaomiSocket {
                     logger.debug("Received Datagram from {}:{} on Port {}", address.getHostAddress(), dgram.getPort(),
                             socket.getLocalPort());
                     String sentence = new String(dgram.getData(), 0, dgram.getLength());
-                    JsonObject message = PARSER.parse(sentence).getAsJsonObject();
-                    notifyAll(getListeners(), message, address);
-                    logger.trace("Data received and notified {} listeners", getListeners().size());
+                    XiaomiReport report;
+                    try {
+                        report = XiaomiReport.parse(sentence, address);
+                    } catch (JsonParseException e) {
+                        logger.debug("Ignoring invalid message from {}: {}", address.getHostAddress(), sentence);
+                        continue;
+                    }
+                    DispatcherThread dispatcher = dispatcherThread;
+                    if (dispatcher != null) {
+                        dispatcher.handOff(report);
+                    }
                 }
             } catch (IOException e) {
                 if (!isInterrupted()) {
@@ -219,22 +235,59 @@ public abstract class XiaomiSocket {
             }
             logger.debug("Receiver thread ended");
         }
+    }
+
+    /**
+     * The thread, which passes the received reports to the listeners. The {@link ReceiverThread} hands the reports
+     * off through a non-blocking queue and wakes this thread up, so neither side ever waits for a lock.
+     */
+    private class DispatcherThread extends Thread {
+        private final Queue<XiaomiReport> reports = new ConcurrentLinkedQueue<>();
+
+        DispatcherThread() {
+            super("XiaomiDispatcherThread");
+            // Must not keep the JVM alive, it is only stopped when the socket is closed
+            setDaemon(true);
+        }
+
+        void handOff(XiaomiReport report) {
+            reports.offer(report);
+            LockSupport.unpark(this);
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                XiaomiReport report = reports.poll();
+                if (report == null) {
+                    LockSupport.park(this);
+                } else {
+                    notifyListeners(getListeners(), report);
+                    logger.trace("Data received and notified {} listeners", getListeners().size());
+                }
+            }
+            logger.debug("Dispatcher thread ended");
+        }
 
         /**
-         * Notifies all {@link XiaomiSocketListener} on the parent {@link XiaomiSocket}. First checks for any matching
-         * {@link XiaomiBridgeHandler}, before passing to any {@link XiaomiBridgeDiscoveryService}.
+         * Notifies all {@link XiaomiSocketListener} on the parent {@link XiaomiSocket}. A {@link XiaomiBridgeHandler}
+         * only gets the reports of its own gateway, any {@link XiaomiBridgeDiscoveryService} gets all of them.
          *
          * @param listeners - a list of all {@link XiaomiSocketListener} to notify
-         * @param message - the data message as {@link JsonObject}
+         * @param report - the received report
          */
-        synchronized void notifyAll(List<XiaomiSocketListener> listeners, JsonObject message, InetAddress address) {
+        private void notifyListeners(List<XiaomiSocketListener> listeners, XiaomiReport report) {
             for (XiaomiSocketListener listener : listeners) {
-                if (listener instanceof XiaomiBridgeHandler) {
-                    if (((XiaomiBridgeHandler) listener).getHost().equals(address)) {
-                        listener.onDataReceived(message);
+                try {
+                    if (listener instanceof XiaomiBridgeHandler) {
+                        if (report.getSender().equals(((XiaomiBridgeHandler) listener).getHost())) {
+                            listener.onDataReceived(report);
+                        }
+                    } else if (listener instanceof XiaomiBridgeDiscoveryService) {
+                        listener.onDataReceived(report);
                     }
-                } else if (listener instanceof XiaomiBridgeDiscoveryService) {
-                    listener.onDataReceived(message);
+                } catch (RuntimeException e) {
+                    logger.warn("Listener {} failed to handle message {}", listener, report, e);
                 }
             }
         }
@@ -8,7 +8,7 @@
  */
 package org.openhab.binding.mihome.internal.socket;
 
-import com.google.gson.JsonObject;
+import org.openhab.binding.mihome.internal.XiaomiReport;
 
 /**
  * Interface for a listener on the {@link XiaomiSocket}.
@@ -20,7 +20,7 @@ public interface XiaomiSocketListener {
     /**
      * Callback method for the {@link XiaomiSocketListener}
      *
-     * @param message - The received message in JSON format
+     * @param report - The received message, parsed once and shared by all listeners
      */
-    void onDataReceived(JsonObject message);
+    void onDataReceived(XiaomiReport report);
 }
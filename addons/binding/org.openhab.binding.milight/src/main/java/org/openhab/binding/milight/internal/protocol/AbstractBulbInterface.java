@@ -111,6 +111,6 @@ public abstract class AbstractBulbInterface {
      * @return
      */
     protected int uidc(int command_category) {
-        return (zone + type_offset + 1) * 64 + command_category;
+        return (zone + type_offset + 1) * QueuedSend.COMMAND_IDS_PER_BULB + command_category;
     }
 }
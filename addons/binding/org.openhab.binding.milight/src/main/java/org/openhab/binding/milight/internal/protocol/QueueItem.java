@@ -18,6 +18,7 @@ public class QueueItem {
     int unique_command_id;
     boolean repeatable;
     int custom_delay_time;
+    long queued_time;
 
     private QueueItem root, last = null;
     QueueItem next = null;
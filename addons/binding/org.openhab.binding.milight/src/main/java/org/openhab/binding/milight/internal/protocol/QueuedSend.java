@@ -13,9 +13,8 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +26,10 @@ import org.slf4j.LoggerFactory;
  * delay only. The user may issue absolute brightness or color changes faster than 1/10s though, and we don't
  * want to just queue up those commands but apply the newest command only.
  *
+ * Pending commands are kept per bulb (see {@link #COMMAND_IDS_PER_BULB}) in order of arrival and the bulbs are served
+ * in turns, so a slider on one bulb does not delay the commands of other bulbs. Packets are paced by the time the next
+ * packet may be send instead of sleeping after every packet.
+ *
  * @author David Graeff <david.graeff@web.de>
  * @since 2.1
  *
@@ -34,7 +37,21 @@ import org.slf4j.LoggerFactory;
 public class QueuedSend implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(QueuedSend.class);
 
-    BlockingQueue<QueueItem> queue = new LinkedBlockingQueue<>(20);
+    /** Unique command ids of one bulb (zone and type) share the same multiple of this value */
+    public static final int COMMAND_IDS_PER_BULB = 64;
+    private static final int MAX_PENDING_COMMANDS = 20;
+
+    /** Pending commands by bulb, each bulb has its commands by unique command id in order of arrival */
+    private final Map<Integer, LinkedHashMap<Integer, QueueItem>> pending = new LinkedHashMap<>();
+    private int pendingCount = 0;
+    private int nonCategorisedId = QueueItem.INVALID;
+    private long nextSendTime = 0;
+
+    // statistics
+    private int droppedCommands = 0;
+    private long sentCommands = 0;
+    private long totalLatency = 0;
+
     protected final DatagramPacket packet;
     protected final DatagramSocket datagramSocket;
     private int delay_between_commands = 100;
@@ -88,59 +105,121 @@ public class QueuedSend implements Runnable {
      */
     @Override
     public void run() {
-        QueueItem item = null;
         while (!willbeclosed) {
-            // If the command belongs to a chain of commands, get the next command now.
-            if (item != null && item.next != null) {
-                item = item.next;
-            } else {
+            QueueItem item;
+            try {
+                // block/wait for another item
+                item = takeNext();
+            } catch (InterruptedException e) {
+                if (!willbeclosed) {
+                    logger.error("Queue take failed: {}", e.getLocalizedMessage());
+                }
+                break;
+            }
+            recordLatency(System.currentTimeMillis() - item.queued_time);
+
+            // A chain of commands is always send completely and in a row
+            for (QueueItem chainItem = item; chainItem != null; chainItem = chainItem.next) {
                 try {
-                    // block/wait for another item
-                    item = queue.take();
+                    waitForSendTime();
                 } catch (InterruptedException e) {
                     if (!willbeclosed) {
-                        logger.error("Queue take failed: {}", e.getLocalizedMessage());
+                        logger.error("Queue sleep failed: {}", e.getLocalizedMessage());
                     }
-                    break;
+                    return;
                 }
+                send(chainItem);
+                nextSendTime = System.currentTimeMillis()
+                        + ((chainItem.custom_delay_time != 0) ? chainItem.custom_delay_time : delay_between_commands);
             }
+        }
 
-            if (item == null || item.unique_command_id == QueueItem.INVALID) {
-                // Just in case it is a command chain, set the item to null to not process any chained commands.
-                item = null;
-                continue;
-            }
+    }
 
-            packet.setData(item.data);
-            try {
-                for (int i = 0; i < (item.repeatable ? repeat_commands : 1); ++i) {
-                    datagramSocket.send(packet);
-
-                    if (logger.isDebugEnabled()) {
-                        StringBuilder s = new StringBuilder();
-                        for (int c = 0; c < item.data.length; ++c) {
-                            s.append(String.format("%02X ", item.data[c]));
-                        }
-                        logger.debug("Sent packet '{}' to bridge {}", s.toString(),
-                                packet.getAddress().getHostAddress());
+    private void send(QueueItem item) {
+        packet.setData(item.data);
+        try {
+            for (int i = 0; i < (item.repeatable ? repeat_commands : 1); ++i) {
+                datagramSocket.send(packet);
+
+                if (logger.isDebugEnabled()) {
+                    StringBuilder s = new StringBuilder();
+                    for (int c = 0; c < item.data.length; ++c) {
+                        s.append(String.format("%02X ", item.data[c]));
                     }
+                    logger.debug("Sent packet '{}' to bridge {}", s.toString(), packet.getAddress().getHostAddress());
                 }
+            }
+
+        } catch (Exception e) {
+            logger.error("Failed to send Message to '{}': {}", packet.getAddress().getHostAddress(), e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until the bridge accepts the next packet. There is no waiting if the last packet has been send long
+     * enough ago.
+     */
+    private void waitForSendTime() throws InterruptedException {
+        long wait = nextSendTime - System.currentTimeMillis();
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+    }
 
-            } catch (Exception e) {
-                logger.error("Failed to send Message to '{}': {}", packet.getAddress().getHostAddress(),
-                        e.getMessage());
+    /**
+     * Takes the oldest pending command of the next bulb in turn. Waits if there is no pending command.
+     */
+    private QueueItem takeNext() throws InterruptedException {
+        synchronized (pending) {
+            while (pendingCount == 0) {
+                pending.wait();
             }
+            // bulbs without pending commands are removed, so the first bulb has at least one command
+            Iterator<Map.Entry<Integer, LinkedHashMap<Integer, QueueItem>>> bulbs = pending.entrySet().iterator();
+            Map.Entry<Integer, LinkedHashMap<Integer, QueueItem>> bulb = bulbs.next();
+            Integer bulbId = bulb.getKey();
+            LinkedHashMap<Integer, QueueItem> commands = bulb.getValue();
+            bulbs.remove();
 
-            try {
-                Thread.sleep((item.custom_delay_time != 0) ? item.custom_delay_time : delay_between_commands);
-            } catch (InterruptedException e) {
-                if (!willbeclosed) {
-                    logger.error("Queue sleep failed: {}", e.getLocalizedMessage());
-                }
-                break;
+            Iterator<QueueItem> iterator = commands.values().iterator();
+            QueueItem item = iterator.next();
+            iterator.remove();
+            pendingCount--;
+
+            // let the other bulbs go first before the next command of this bulb
+            if (!commands.isEmpty()) {
+                pending.put(bulbId, commands);
             }
+            return item;
         }
+    }
 
+    private void recordLatency(long latency) {
+        synchronized (pending) {
+            sentCommands++;
+            totalLatency += latency;
+        }
+        logger.trace("Command send {} ms after being queued", latency);
+    }
+
+    /**
+     * @return The number of commands that have been replaced by a newer command of the same id before being send or
+     *         that have been dropped because the queue was full.
+     */
+    public int getDroppedCommands() {
+        synchronized (pending) {
+            return droppedCommands;
+        }
+    }
+
+    /**
+     * @return The average time in ms between queuing and sending a command.
+     */
+    public long getAverageLatency() {
+        synchronized (pending) {
+            return sentCommands == 0 ? 0 : totalLatency / sentCommands;
+        }
     }
 
     /**
@@ -148,6 +227,8 @@ public class QueuedSend implements Runnable {
      */
     public void dispose() {
         willbeclosed = true;
+        logger.debug("Send queue closed, {} commands dropped, average latency {} ms", getDroppedCommands(),
+                getAverageLatency());
         if (thread != null) {
             try {
                 thread.join(delay_between_commands);
@@ -162,32 +243,6 @@ public class QueuedSend implements Runnable {
         repeat_commands = times;
     }
 
-    /**
-     * Mark all commands in the queue invalid that have the same unique id as the given one. This does not synchronise
-     * with the sender thread. If an element has been started to being processed, this method has no more effect on that
-     * element. Command chains are always executed in a row. Even if the head of the command queue has been marked
-     * as invalid, if the processing has been started, the chain will be processed completely.
-     *
-     * @param unique_command_id
-     */
-    private void remove_from_queue(int unique_command_id) {
-        Iterator<QueueItem> iterator = queue.iterator();
-        while (iterator.hasNext()) {
-            try {
-                QueueItem item = iterator.next();
-                if (item != null && item.unique_command_id == unique_command_id) {
-                    item.unique_command_id = QueueItem.INVALID; // invalidate
-                }
-            } catch (IllegalStateException e) {
-                // Ignore threading errors
-                logger.error("{}", e.getLocalizedMessage());
-            } catch (NoSuchElementException e) {
-                // The element might have been processed already while iterate.
-                // Ignore NoSuchElementException here.
-            }
-        }
-    }
-
     /**
      * Add data to the send queue. Use a category of 0 to make an item non-categorised.
      * Commands which need to be queued up and not replacing same type commands must be non-categorised.
@@ -202,13 +257,12 @@ public class QueuedSend implements Runnable {
      * @param data Data to be send
      */
     public void queueRepeatable(int unique_command_id, byte[]... data) {
-        remove_from_queue(unique_command_id);
         QueueItem item = QueueItem.createRepeatable(unique_command_id, data[0]);
         QueueItem next = item;
         for (int i = 1; i < data.length; ++i) {
             next = next.addRepeatable(data[i]);
         }
-        queue.offer(item);
+        queue(item);
     }
 
     /**
@@ -220,10 +274,35 @@ public class QueuedSend implements Runnable {
      * @param item A queue item, cannot be null.
      */
     public void queue(QueueItem item) {
-        if (item.unique_command_id != NO_CATEGORY) {
-            remove_from_queue(item.unique_command_id);
+        synchronized (pending) {
+            int id = item.unique_command_id;
+            int bulbId = id / COMMAND_IDS_PER_BULB;
+            if (id == NO_CATEGORY) {
+                // non-categorised items never replace each other
+                id = --nonCategorisedId;
+            }
+            LinkedHashMap<Integer, QueueItem> commands = pending.get(bulbId);
+            if (commands == null) {
+                commands = new LinkedHashMap<>();
+                pending.put(bulbId, commands);
+            }
+            // a replaced command is removed, so the newer command keeps the order of arrival
+            if (commands.remove(id) != null) {
+                droppedCommands++;
+                pendingCount--;
+            } else if (pendingCount >= MAX_PENDING_COMMANDS) {
+                droppedCommands++;
+                logger.debug("Send queue full, dropping command {}", item.unique_command_id);
+                if (commands.isEmpty()) {
+                    pending.remove(bulbId);
+                }
+                return;
+            }
+            item.queued_time = System.currentTimeMillis();
+            commands.put(id, item);
+            pendingCount++;
+            pending.notifyAll();
         }
-        queue.offer(item);
     }
 
     public InetAddress getAddr() {
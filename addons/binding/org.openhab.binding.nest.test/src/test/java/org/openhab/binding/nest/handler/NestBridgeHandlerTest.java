@@ -10,10 +10,14 @@ package org.openhab.binding.nest.handler;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.io.InputStream;
+import java.util.Scanner;
+
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -25,8 +29,19 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.openhab.binding.nest.internal.config.NestBridgeConfiguration;
+import org.openhab.binding.nest.internal.data.Camera;
+import org.openhab.binding.nest.internal.data.NestIdentifiable;
+import org.openhab.binding.nest.internal.data.SmokeDetector;
+import org.openhab.binding.nest.internal.data.Structure;
+import org.openhab.binding.nest.internal.data.Thermostat;
+import org.openhab.binding.nest.internal.data.TopLevelData;
+import org.openhab.binding.nest.internal.data.TopLevelStreamingData;
 import org.openhab.binding.nest.internal.exceptions.FailedResolvingNestUrlException;
 import org.openhab.binding.nest.internal.exceptions.InvalidAccessTokenException;
+import org.openhab.binding.nest.internal.listener.NestDeviceDataListener;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 
 /**
  * Tests cases for {@link NestBridgeHandler}.
@@ -35,6 +50,10 @@ import org.openhab.binding.nest.internal.exceptions.InvalidAccessTokenException;
  */
 public class NestBridgeHandlerTest {
 
+    private static final String THERMOSTAT_ID = "G1jouHN5yl6mXFaQw5iGwXOu-iQr8PMV";
+
+    private final Gson gson = new GsonBuilder().setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").create();
+
     private ThingHandler handler;
 
     @Mock
@@ -83,4 +102,67 @@ public class NestBridgeHandlerTest {
         assertThat(thingStatusInfo.getStatus(), is(equalTo(ThingStatus.UNKNOWN)));
     }
 
+    @Test
+    public void onlyChangedDevicesAreBroadcast() {
+        NestBridgeHandler bridgeHandler = (NestBridgeHandler) handler;
+        String json = readStreamingData();
+
+        NestDeviceDataListener listener = mock(NestDeviceDataListener.class);
+        bridgeHandler.addDeviceDataListener(listener);
+
+        bridgeHandler.onNewTopLevelData(parse(json));
+        verify(listener, times(1)).onNewNestThermostatData(any(Thermostat.class));
+        verify(listener, times(2)).onNewNestCameraData(any(Camera.class));
+        verify(listener, times(4)).onNewNestSmokeDetectorData(any(SmokeDetector.class));
+        verify(listener, times(1)).onNewNestStructureData(any(Structure.class));
+
+        // replaying the same event does not broadcast anything
+        bridgeHandler.onNewTopLevelData(parse(json));
+        verify(listener, times(1)).onNewNestThermostatData(any(Thermostat.class));
+        verify(listener, times(2)).onNewNestCameraData(any(Camera.class));
+        verify(listener, times(4)).onNewNestSmokeDetectorData(any(SmokeDetector.class));
+        verify(listener, times(1)).onNewNestStructureData(any(Structure.class));
+
+        // only the changed thermostat is broadcast
+        bridgeHandler.onNewTopLevelData(
+                parse(json.replace("\"ambient_temperature_c\": 19.0", "\"ambient_temperature_c\": 20.5")));
+        verify(listener, times(2)).onNewNestThermostatData(any(Thermostat.class));
+        verify(listener, times(2)).onNewNestCameraData(any(Camera.class));
+        verify(listener, times(4)).onNewNestSmokeDetectorData(any(SmokeDetector.class));
+        verify(listener, times(1)).onNewNestStructureData(any(Structure.class));
+    }
+
+    @Test
+    public void identifiedListenersOnlyReceiveTheirDevice() {
+        NestBridgeHandler bridgeHandler = (NestBridgeHandler) handler;
+
+        NestDeviceDataListener listener = mock(NestDeviceDataListener.class,
+                withSettings().extraInterfaces(NestIdentifiable.class));
+        when(((NestIdentifiable) listener).getId()).thenReturn(THERMOSTAT_ID);
+        bridgeHandler.addDeviceDataListener(listener);
+
+        bridgeHandler.onNewTopLevelData(parse(readStreamingData()));
+        verify(listener, times(1)).onNewNestThermostatData(any(Thermostat.class));
+        verify(listener, never()).onNewNestCameraData(any(Camera.class));
+        verify(listener, never()).onNewNestSmokeDetectorData(any(SmokeDetector.class));
+        verify(listener, never()).onNewNestStructureData(any(Structure.class));
+
+        bridgeHandler.removeDeviceDataListener(listener);
+        bridgeHandler.broadcastTopLevelData(parse(readStreamingData()));
+        verify(listener, times(1)).onNewNestThermostatData(any(Thermostat.class));
+    }
+
+    private TopLevelData parse(String json) {
+        return gson.fromJson(json, TopLevelStreamingData.class).getData();
+    }
+
+    private String readStreamingData() {
+        String packagePath = TopLevelData.class.getPackage().getName().replaceAll("\\.", "/");
+        String filePath = "src/test/resources/" + packagePath + "/top-level-streaming-data.json";
+        InputStream inputStream = NestBridgeHandlerTest.class.getClassLoader().getResourceAsStream(filePath);
+        try (Scanner scanner = new Scanner(inputStream, "UTF-8")) {
+            return scanner.useDelimiter("\\A").next();
+        }
+    }
+
 }
@@ -10,7 +10,9 @@ package org.openhab.binding.nest.handler;
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
@@ -45,6 +47,7 @@ import org.slf4j.LoggerFactory;
 abstract class NestBaseHandler<T> extends BaseThingHandler implements NestDeviceDataListener, NestIdentifiable {
     private final Logger logger = LoggerFactory.getLogger(NestBaseHandler.class);
     private T lastUpdate;
+    private final Map<String, State> lastChannelStates = new ConcurrentHashMap<>();
 
     NestBaseHandler(Thing thing) {
         super(thing);
@@ -61,6 +64,7 @@ abstract class NestBaseHandler<T> extends BaseThingHandler implements NestDevice
     @Override
     public void initialize() {
         logger.debug("Initializing handler for {}", getClass().getName());
+        lastChannelStates.clear();
         if (getNestBridgeHandler() != null) {
             boolean success = getNestBridgeHandler().addDeviceDataListener(this);
             logger.debug("Adding {} with ID '{}' as device data listener, result: {}", getClass().getSimpleName(),
@@ -127,8 +131,16 @@ abstract class NestBaseHandler<T> extends BaseThingHandler implements NestDevice
         return !(getId().equals(nestIdentifiable.getId()));
     }
 
+    /**
+     * Updates the channels whose state differs from the state they were last updated with.
+     */
     protected void updateChannels(T data) {
-        getThing().getChannels().forEach(c -> updateState(c.getUID(), getChannelState(c.getUID(), data)));
+        getThing().getChannels().forEach(c -> {
+            State state = getChannelState(c.getUID(), data);
+            if (!state.equals(lastChannelStates.put(c.getUID().getId(), state))) {
+                updateState(c.getUID(), state);
+            }
+        });
     }
 
     @Override
@@ -15,11 +15,17 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jetty.client.HttpClient;
@@ -42,6 +48,7 @@ import org.openhab.binding.nest.NestBindingConstants;
 import org.openhab.binding.nest.internal.config.NestBridgeConfiguration;
 import org.openhab.binding.nest.internal.data.ErrorData;
 import org.openhab.binding.nest.internal.data.NestDevices;
+import org.openhab.binding.nest.internal.data.NestIdentifiable;
 import org.openhab.binding.nest.internal.data.Structure;
 import org.openhab.binding.nest.internal.data.TopLevelData;
 import org.openhab.binding.nest.internal.exceptions.FailedResolvingNestUrlException;
@@ -70,7 +77,10 @@ import com.google.gson.GsonBuilder;
 public class NestBridgeHandler extends BaseBridgeHandler implements NestStreamingDataListener {
     private final Logger logger = LoggerFactory.getLogger(NestBridgeHandler.class);
 
+    /** Listeners that receive the data of all devices, e.g. the discovery service */
     private final List<NestDeviceDataListener> listeners = new CopyOnWriteArrayList<>();
+    /** Listeners that only receive the data of the device or structure with the id they are registered with */
+    private final Map<String, Set<NestDeviceDataListener>> identifiedListeners = new ConcurrentHashMap<>();
     private final List<NestUpdateRequest> nestUpdateRequests = new CopyOnWriteArrayList<>();
     private final Gson gson = new GsonBuilder().setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").create();
 
@@ -79,6 +89,7 @@ public class NestBridgeHandler extends BaseBridgeHandler implements NestStreamin
     private ScheduledFuture<?> transmitJob;
     private String redirectUrl;
     private NestStreamingRestClient streamingRestClient;
+    private TopLevelData lastBroadcastTopLevelData;
 
     /**
      * Creates the bridge handler to connect to Nest.
@@ -172,6 +183,7 @@ public class NestBridgeHandler extends BaseBridgeHandler implements NestStreamin
     public void dispose() {
         logger.debug("Nest bridge disposed");
         stopStreamingUpdates();
+        this.lastBroadcastTopLevelData = null;
         this.authorizer = null;
         this.redirectUrl = null;
     }
@@ -193,17 +205,54 @@ public class NestBridgeHandler extends BaseBridgeHandler implements NestStreamin
         }
     }
 
+    /**
+     * Broadcasts all devices and structures in the data, regardless of whether they have changed.
+     */
     public void broadcastTopLevelData(TopLevelData data) {
-        if (data.getDevices() != null) {
-            broadcastDevices(data.getDevices());
+        broadcastChangedTopLevelData(null, data);
+    }
+
+    /**
+     * Broadcasts only the devices and structures in the data that differ from the previous data. Every device or
+     * structure is sent to the listeners registered for its id and to the listeners interested in all devices.
+     *
+     * @param previous the previously broadcast data or <code>null</code> to broadcast everything
+     * @param data the newly received data
+     */
+    private void broadcastChangedTopLevelData(TopLevelData previous, TopLevelData data) {
+        NestDevices devices = data.getDevices();
+        if (devices != null) {
+            NestDevices previousDevices = previous != null ? previous.getDevices() : null;
+            broadcastChanged(previousDevices != null ? previousDevices.getThermostats() : null,
+                    devices.getThermostats(), NestDeviceDataListener::onNewNestThermostatData);
+            broadcastChanged(previousDevices != null ? previousDevices.getCameras() : null, devices.getCameras(),
+                    NestDeviceDataListener::onNewNestCameraData);
+            broadcastChanged(previousDevices != null ? previousDevices.getSmokeDetectors() : null,
+                    devices.getSmokeDetectors(), NestDeviceDataListener::onNewNestSmokeDetectorData);
         }
         if (data.getStructures() != null) {
-            broadcastStructures(data.getStructures().values());
+            broadcastChanged(previous != null ? previous.getStructures() : null, data.getStructures(),
+                    NestDeviceDataListener::onNewNestStructureData);
         }
     }
 
-    private void broadcastDevices(NestDevices devices) {
-        listeners.forEach(listener -> broadcastDevices(listener, devices));
+    private <T extends NestIdentifiable> void broadcastChanged(Map<String, T> previous, Map<String, T> current,
+            BiConsumer<NestDeviceDataListener, T> callback) {
+        if (current == null) {
+            return;
+        }
+        for (Map.Entry<String, T> entry : current.entrySet()) {
+            T item = entry.getValue();
+            if (previous != null && item.equals(previous.get(entry.getKey()))) {
+                logger.trace("Skipping broadcast of unchanged data for {}", item.getId());
+                continue;
+            }
+            Set<NestDeviceDataListener> itemListeners = identifiedListeners.get(item.getId());
+            if (itemListeners != null) {
+                itemListeners.forEach(listener -> callback.accept(listener, item));
+            }
+            listeners.forEach(listener -> callback.accept(listener, item));
+        }
     }
 
     private void broadcastDevices(NestDeviceDataListener listener, NestDevices devices) {
@@ -218,10 +267,6 @@ public class NestBridgeHandler extends BaseBridgeHandler implements NestStreamin
         }
     }
 
-    private void broadcastStructures(Collection<Structure> structures) {
-        structures.forEach(structure -> listeners.forEach(l -> l.onNewNestStructureData(structure)));
-    }
-
     private void broadcastStructures(NestDeviceDataListener listener, Collection<Structure> structures) {
         structures.forEach(listener::onNewNestStructureData);
     }
@@ -244,10 +289,20 @@ public class NestBridgeHandler extends BaseBridgeHandler implements NestStreamin
     }
 
     /**
+     * Adds a listener. Listeners implementing {@link NestIdentifiable} only receive the data of the device or
+     * structure with their id, all other listeners receive the data of all devices and structures.
+     *
      * @param nestDeviceDataListener The device added listener to add
      */
     public boolean addDeviceDataListener(NestDeviceDataListener listener) {
-        boolean success = listeners.add(listener);
+        boolean success;
+        if (listener instanceof NestIdentifiable) {
+            success = identifiedListeners
+                    .computeIfAbsent(((NestIdentifiable) listener).getId(), id -> new CopyOnWriteArraySet<>())
+                    .add(listener);
+        } else {
+            success = listeners.add(listener);
+        }
         if (streamingRestClient != null) {
             scheduler.schedule(() -> {
                 TopLevelData data = streamingRestClient.getLastReceivedTopLevelData();
@@ -272,6 +327,11 @@ public class NestBridgeHandler extends BaseBridgeHandler implements NestStreamin
      * @param nestDeviceDataListener The device added listener to remove
      */
     public boolean removeDeviceDataListener(NestDeviceDataListener listener) {
+        if (listener instanceof NestIdentifiable) {
+            Set<NestDeviceDataListener> itemListeners = identifiedListeners
+                    .getOrDefault(((NestIdentifiable) listener).getId(), Collections.emptySet());
+            return itemListeners.remove(listener);
+        }
         return listeners.remove(listener);
     }
 
@@ -424,12 +484,8 @@ public class NestBridgeHandler extends BaseBridgeHandler implements NestStreamin
 
     @Override
     public void onNewTopLevelData(TopLevelData data) {
-        if (data.getDevices() != null) {
-            broadcastDevices(data.getDevices());
-        }
-        if (data.getStructures() != null) {
-            broadcastStructures(data.getStructures().values());
-        }
+        broadcastChangedTopLevelData(lastBroadcastTopLevelData, data);
+        lastBroadcastTopLevelData = data;
         updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Receiving streaming data");
     }
 
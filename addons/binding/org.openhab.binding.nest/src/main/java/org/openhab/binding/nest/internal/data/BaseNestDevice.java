@@ -9,6 +9,7 @@
 package org.openhab.binding.nest.internal.data;
 
 import java.util.Date;
+import java.util.Objects;
 
 import com.google.gson.annotations.SerializedName;
 
@@ -76,6 +77,26 @@ public class BaseNestDevice implements NestIdentifiable {
         return whereId;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        BaseNestDevice other = (BaseNestDevice) obj;
+        return Objects.equals(deviceId, other.deviceId) && Objects.equals(name, other.name)
+                && Objects.equals(nameLong, other.nameLong) && Objects.equals(lastConnection, other.lastConnection)
+                && Objects.equals(isOnline, other.isOnline) && Objects.equals(softwareVersion, other.softwareVersion)
+                && Objects.equals(structureId, other.structureId) && Objects.equals(whereId, other.whereId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(deviceId, name, nameLong, lastConnection, isOnline, softwareVersion, structureId, whereId);
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
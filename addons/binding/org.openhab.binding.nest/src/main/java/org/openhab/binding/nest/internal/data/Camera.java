@@ -10,6 +10,7 @@ package org.openhab.binding.nest.internal.data;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 
 import com.google.gson.annotations.SerializedName;
 
@@ -103,6 +104,23 @@ public class Camera extends BaseNestDevice {
         public int getId() {
             return id;
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            ActivityZone other = (ActivityZone) obj;
+            return Objects.equals(name, other.name) && Objects.equals(id, other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, id);
+        }
     }
 
     /** Internal class to handle the camera event data. */
@@ -174,6 +192,56 @@ public class Camera extends BaseNestDevice {
             return activityZones;
         }
 
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Event other = (Event) obj;
+            return Objects.equals(hasSound, other.hasSound) && Objects.equals(hasMotion, other.hasMotion)
+                    && Objects.equals(hasPerson, other.hasPerson) && Objects.equals(startTime, other.startTime)
+                    && Objects.equals(endTime, other.endTime) && Objects.equals(urlsExpireTime, other.urlsExpireTime)
+                    && Objects.equals(webUrl, other.webUrl) && Objects.equals(appUrl, other.appUrl)
+                    && Objects.equals(imageUrl, other.imageUrl)
+                    && Objects.equals(animatedImageUrl, other.animatedImageUrl)
+                    && Objects.equals(activityZones, other.activityZones);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hasSound, hasMotion, hasPerson, startTime, endTime, urlsExpireTime, webUrl, appUrl,
+                    imageUrl, animatedImageUrl, activityZones);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        Camera other = (Camera) obj;
+        return super.equals(obj) && Objects.equals(isStreaming, other.isStreaming)
+                && Objects.equals(isAudioInputEnabled, other.isAudioInputEnabled)
+                && Objects.equals(lastIsOnlineChange, other.lastIsOnlineChange)
+                && Objects.equals(isVideoHistoryEnabled, other.isVideoHistoryEnabled)
+                && Objects.equals(webUrl, other.webUrl) && Objects.equals(appUrl, other.appUrl)
+                && Objects.equals(isPublicShareEnabled, other.isPublicShareEnabled)
+                && Objects.equals(activityZones, other.activityZones)
+                && Objects.equals(publicShareUrl, other.publicShareUrl)
+                && Objects.equals(snapshotUrl, other.snapshotUrl) && Objects.equals(lastEvent, other.lastEvent);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), isStreaming, isAudioInputEnabled, lastIsOnlineChange,
+                isVideoHistoryEnabled, webUrl, appUrl, isPublicShareEnabled, activityZones, publicShareUrl,
+                snapshotUrl, lastEvent);
     }
 
     @Override
@@ -8,6 +8,8 @@
  */
 package org.openhab.binding.nest.internal.data;
 
+import java.util.Objects;
+
 import com.google.gson.annotations.SerializedName;
 
 /**
@@ -74,6 +76,28 @@ public class SmokeDetector extends BaseNestDevice {
         RED
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        SmokeDetector other = (SmokeDetector) obj;
+        return super.equals(obj) && Objects.equals(batteryHealth, other.batteryHealth)
+                && Objects.equals(coAlarmState, other.coAlarmState)
+                && Objects.equals(smokeAlarmState, other.smokeAlarmState)
+                && Objects.equals(isManualTestActive, other.isManualTestActive)
+                && Objects.equals(uiColorState, other.uiColorState);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), batteryHealth, coAlarmState, smokeAlarmState, isManualTestActive,
+                uiColorState);
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -11,6 +11,7 @@ package org.openhab.binding.nest.internal.data;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.openhab.binding.nest.internal.data.SmokeDetector.AlarmState;
 
@@ -176,6 +177,25 @@ public class Structure implements NestIdentifiable {
         public void setEstimatedArrivalWindowEnd(Date estimatedArrivalWindowEnd) {
             this.estimatedArrivalWindowEnd = estimatedArrivalWindowEnd;
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            ETA other = (ETA) obj;
+            return Objects.equals(tripId, other.tripId)
+                    && Objects.equals(estimatedArrivalWindowBegin, other.estimatedArrivalWindowBegin)
+                    && Objects.equals(estimatedArrivalWindowEnd, other.estimatedArrivalWindowEnd);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tripId, estimatedArrivalWindowBegin, estimatedArrivalWindowEnd);
+        }
     }
 
     public class Where {
@@ -191,6 +211,23 @@ public class Structure implements NestIdentifiable {
         public String getName() {
             return name;
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Where other = (Where) obj;
+            return Objects.equals(whereId, other.whereId) && Objects.equals(name, other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(whereId, name);
+        }
     }
 
     public enum HomeAwayState {
@@ -204,6 +241,35 @@ public class Structure implements NestIdentifiable {
         UNKNOWN
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        Structure other = (Structure) obj;
+        return Objects.equals(structureId, other.structureId) && Objects.equals(thermostatIds, other.thermostatIds)
+                && Objects.equals(smokeAlarmIds, other.smokeAlarmIds) && Objects.equals(cameraIds, other.cameraIds)
+                && Objects.equals(countryCode, other.countryCode) && Objects.equals(postalCode, other.postalCode)
+                && Objects.equals(peakPeriodStartTime, other.peakPeriodStartTime)
+                && Objects.equals(peakPeriodEndTime, other.peakPeriodEndTime)
+                && Objects.equals(timeZone, other.timeZone) && Objects.equals(etaBegin, other.etaBegin)
+                && Objects.equals(coAlarmState, other.coAlarmState)
+                && Objects.equals(smokeAlarmState, other.smokeAlarmState)
+                && Objects.equals(rushHourRewardsEnrollement, other.rushHourRewardsEnrollement)
+                && Objects.equals(whereIds, other.whereIds) && Objects.equals(away, other.away)
+                && Objects.equals(name, other.name) && Objects.equals(eta, other.eta);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(structureId, thermostatIds, smokeAlarmIds, cameraIds, countryCode, postalCode,
+                peakPeriodStartTime, peakPeriodEndTime, timeZone, etaBegin, coAlarmState, smokeAlarmState,
+                rushHourRewardsEnrollement, whereIds, away, name, eta);
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -9,6 +9,7 @@
 package org.openhab.binding.nest.internal.data;
 
 import java.util.Date;
+import java.util.Objects;
 
 import com.google.gson.annotations.SerializedName;
 
@@ -227,6 +228,44 @@ public class Thermostat extends BaseNestDevice {
         OFF
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        Thermostat other = (Thermostat) obj;
+        return super.equals(obj) && Objects.equals(canCool, other.canCool) && Objects.equals(canHeat, other.canHeat)
+                && Objects.equals(isUsingEmergencyHeat, other.isUsingEmergencyHeat)
+                && Objects.equals(hasFan, other.hasFan) && Objects.equals(fanTimerActive, other.fanTimerActive)
+                && Objects.equals(fanTimerTimeout, other.fanTimerTimeout) && Objects.equals(hasLeaf, other.hasLeaf)
+                && Objects.equals(tempScale, other.tempScale)
+                && Objects.equals(ambientTemperature, other.ambientTemperature)
+                && Objects.equals(humidity, other.humidity)
+                && Objects.equals(targetTemperature, other.targetTemperature)
+                && Objects.equals(targetTemperatureHigh, other.targetTemperatureHigh)
+                && Objects.equals(targetTemperatureLow, other.targetTemperatureLow) && Objects.equals(mode, other.mode)
+                && Objects.equals(previousMode, other.previousMode) && Objects.equals(state, other.state)
+                && Objects.equals(isLocked, other.isLocked)
+                && Objects.equals(lockedTemperatureHigh, other.lockedTemperatureHigh)
+                && Objects.equals(lockedTemperatureLow, other.lockedTemperatureLow)
+                && Objects.equals(sunlightCorrectionEnabled, other.sunlightCorrectionEnabled)
+                && Objects.equals(sunlightCorrectionActive, other.sunlightCorrectionActive)
+                && Objects.equals(fanTimerDuration, other.fanTimerDuration)
+                && Objects.equals(timeToTarget, other.timeToTarget) && Objects.equals(whereName, other.whereName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), canCool, canHeat, isUsingEmergencyHeat, hasFan, fanTimerActive,
+                fanTimerTimeout, hasLeaf, tempScale, ambientTemperature, humidity, targetTemperature,
+                targetTemperatureHigh, targetTemperatureLow, mode, previousMode, state, isLocked,
+                lockedTemperatureHigh, lockedTemperatureLow, sunlightCorrectionEnabled, sunlightCorrectionActive,
+                fanTimerDuration, timeToTarget, whereName);
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -96,6 +96,10 @@ public class NetatmoBindingConstants {
     public static final String PROPERTY_BATTERY_LOW = "batteryLow";
     public static final String PROPERTY_SIGNAL_LEVELS = "signalLevels";
 
+    // Bridge Properties
+    public static final String PROPERTY_API_CALLS = "apiCalls";
+    public static final String PROPERTY_DATA_AGE = "dataAge";
+
     // List of all supported physical devices and modules
     public static final Set<ThingTypeUID> SUPPORTED_DEVICE_THING_TYPES_UIDS = ImmutableSet.of(MAIN_THING_TYPE,
             MODULE1_THING_TYPE, MODULE2_THING_TYPE, MODULE3_THING_TYPE, MODULE4_THING_TYPE, HOMECOACH_THING_TYPE,
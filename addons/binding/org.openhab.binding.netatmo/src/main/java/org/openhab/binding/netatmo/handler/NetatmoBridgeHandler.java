@@ -8,14 +8,21 @@
  */
 package org.openhab.binding.netatmo.handler;
 
+import static org.openhab.binding.netatmo.NetatmoBindingConstants.*;
+
 import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.oltu.oauth2.client.request.OAuthClientRequest;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.netatmo.internal.config.NetatmoBridgeConfiguration;
 import org.slf4j.Logger;
@@ -39,6 +46,10 @@ import retrofit.RetrofitError;
  * to the framework. The devices and modules uses the
  * {@link NetatmoBridgeHandler} to request informations about their status
  *
+ * The bridge polls the Netatmo API once per cycle for each kind of device: the response of a single
+ * getstationsdata, homecoachsdata or getthermostatsdata call contains all devices of the account and is shared by
+ * all device handlers. The next cycle is aligned with the moment the devices are expected to have uploaded new data.
+ *
  * @author Gaël L'hopital - Initial contribution OH2 version
  *
  */
@@ -51,6 +62,15 @@ public class NetatmoBridgeHandler extends BaseBridgeHandler {
     private ThermostatApi thermostatApi = null;
     private PartnerApi partnerApi = null;
 
+    private static final long MIN_REFRESH_DELAY_MS = 30000;
+    private static final long DEFAULT_REFRESH_INTERVAL_MS = 600000;
+
+    private ScheduledFuture<?> refreshJob;
+    private final AtomicLong apiCalls = new AtomicLong();
+    private NAStationDataBody stationDataBody;
+    private NAHealthyHomeCoachDataBody homecoachDataBody;
+    private NAThermostatDataBody thermostatDataBody;
+
     public NetatmoBridgeHandler(Bridge bridge) {
         super(bridge);
     }
@@ -75,6 +95,62 @@ public class NetatmoBridgeHandler extends BaseBridgeHandler {
             }
         }
         updateStatus(ThingStatus.ONLINE);
+        scheduleRefresh(DEFAULT_REFRESH_INTERVAL_MS);
+    }
+
+    @Override
+    public void dispose() {
+        if (refreshJob != null && !refreshJob.isCancelled()) {
+            refreshJob.cancel(true);
+            refreshJob = null;
+        }
+        invalidateData();
+    }
+
+    private synchronized void scheduleRefresh(long delay) {
+        if (refreshJob != null && !refreshJob.isDone()) {
+            refreshJob.cancel(false);
+        }
+        logger.debug("Scheduling next Netatmo API refresh in {} ms", delay);
+        refreshJob = scheduler.schedule(this::refreshData, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void invalidateData() {
+        stationDataBody = null;
+        homecoachDataBody = null;
+        thermostatDataBody = null;
+    }
+
+    /**
+     * Refreshes all device handlers from a single API call per kind of device and schedules the next refresh
+     * according to the time the devices are expected to upload their next measurements.
+     */
+    private void refreshData() {
+        invalidateData();
+        long now = System.currentTimeMillis();
+        long nextRefreshDelay = Long.MAX_VALUE;
+        long oldestDataTime = Long.MAX_VALUE;
+        for (Thing thing : getThing().getThings()) {
+            ThingHandler handler = thing.getHandler();
+            if (handler instanceof NetatmoDeviceHandler) {
+                NetatmoDeviceHandler<?> deviceHandler = (NetatmoDeviceHandler<?>) handler;
+                deviceHandler.refreshAllChannels();
+                nextRefreshDelay = Math.min(nextRefreshDelay, deviceHandler.getNextRefreshDelay(now));
+                Integer dataTime = deviceHandler.getDataTimeUtc();
+                if (dataTime != null) {
+                    oldestDataTime = Math.min(oldestDataTime, dataTime * 1000L);
+                }
+            }
+        }
+        if (nextRefreshDelay == Long.MAX_VALUE) {
+            nextRefreshDelay = DEFAULT_REFRESH_INTERVAL_MS;
+        }
+
+        updateProperty(PROPERTY_API_CALLS, Long.toString(apiCalls.get()));
+        if (oldestDataTime != Long.MAX_VALUE) {
+            updateProperty(PROPERTY_DATA_AGE, Long.toString((now - oldestDataTime) / 1000));
+        }
+        scheduleRefresh(Math.max(nextRefreshDelay, MIN_REFRESH_DELAY_MS));
     }
 
     // We'll use TrustingOkHttpClient because Netatmo certificate is a StartTTLS
@@ -147,49 +223,65 @@ public class NetatmoBridgeHandler extends BaseBridgeHandler {
         return partnerApi;
     }
 
-    public NAStationDataBody getStationsDataBody(String equipmentId) {
-        if (getStationApi() != null) {
+    /**
+     * @return the station data of all stations of the account, fetched at most once per refresh cycle
+     */
+    public synchronized NAStationDataBody getStationsDataBody() {
+        if (stationDataBody == null && getStationApi() != null) {
             try {
-                NAStationDataBody data = getStationApi().getstationsdata(equipmentId).getBody();
+                apiCalls.incrementAndGet();
+                stationDataBody = getStationApi().getstationsdata(null).getBody();
                 updateStatus(ThingStatus.ONLINE);
-                return data;
             } catch (Exception e) {
                 logger.debug("An error occurred while calling station API : {}", e.getMessage(), e);
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                         "An error occurred while calling station API : " + e.getLocalizedMessage());
             }
         }
-        return null;
+        return stationDataBody;
     }
 
-    public NAHealthyHomeCoachDataBody getHomecoachDataBody(String equipmentId) {
-        if (getHomeCoachApi() != null) {
+    /**
+     * @return the data of all healthy home coaches of the account, fetched at most once per refresh cycle
+     */
+    public synchronized NAHealthyHomeCoachDataBody getHomecoachDataBody() {
+        if (homecoachDataBody == null && getHomeCoachApi() != null) {
             try {
-                NAHealthyHomeCoachDataBody data = getHomeCoachApi().gethomecoachsdata(equipmentId).getBody();
+                apiCalls.incrementAndGet();
+                homecoachDataBody = getHomeCoachApi().gethomecoachsdata(null).getBody();
                 updateStatus(ThingStatus.ONLINE);
-                return data;
             } catch (Exception e) {
                 logger.debug("An error occurred while calling station API : {}", e.getMessage(), e);
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                         "An error occurred while calling station API : " + e.getLocalizedMessage());
             }
         }
-        return null;
+        return homecoachDataBody;
     }
 
-    public NAThermostatDataBody getThermostatsDataBody(String equipmentId) {
-        if (getThermostatApi() != null) {
+    /**
+     * @return the data of all thermostats of the account, fetched at most once per refresh cycle
+     */
+    public synchronized NAThermostatDataBody getThermostatsDataBody() {
+        if (thermostatDataBody == null && getThermostatApi() != null) {
             try {
-                NAThermostatDataBody data = getThermostatApi().getthermostatsdata(equipmentId).getBody();
+                apiCalls.incrementAndGet();
+                thermostatDataBody = getThermostatApi().getthermostatsdata(null).getBody();
                 updateStatus(ThingStatus.ONLINE);
-                return data;
             } catch (Exception e) {
                 logger.debug("An error occurred while calling thermostat API : {}", e.getMessage(), e);
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                         "An error occurred while calling thermostat API : " + e.getLocalizedMessage());
             }
         }
-        return null;
+        return thermostatDataBody;
+    }
+
+    /**
+     * Counts an API call made directly by a thing handler, e.g. a measure request.
+     */
+    public void countApiCall() {
+        apiCalls.incrementAndGet();
     }
 
 }
@@ -10,7 +10,6 @@ package org.openhab.binding.netatmo.handler;
 
 import static org.openhab.binding.netatmo.NetatmoBindingConstants.*;
 
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -32,7 +31,8 @@ import io.swagger.client.model.NAPlace;
 
 /**
  * {@link NetatmoDeviceHandler} is the handler for a given
- * device accessed through the Netatmo Bridge
+ * device accessed through the Netatmo Bridge. Its readings are refreshed by the bridge
+ * in each polling cycle of the Netatmo API.
  *
  * @author Gaël L'hopital - Initial contribution OH2 version
  *
@@ -40,9 +40,14 @@ import io.swagger.client.model.NAPlace;
 public abstract class NetatmoDeviceHandler<X extends NetatmoDeviceConfiguration>
         extends AbstractNetatmoThingHandler<X> {
 
+    // Netatmo devices upload their measurements every 10 minutes
+    private static final long UPLOAD_PERIOD_MS = 600000;
+    // Delay between the expected upload of a device and the availability of its data through the API
+    private static final long UPLOAD_MARGIN_MS = 30000;
+    private static final long LATE_UPLOAD_RETRY_DELAY_MS = 60000;
+
     protected NADeviceAdapter<?> device;
     private Logger logger = LoggerFactory.getLogger(NetatmoDeviceHandler.class);
-    private ScheduledFuture<?> refreshJob;
 
     public NetatmoDeviceHandler(Thing thing, Class<X> configurationClass) {
         super(thing, configurationClass);
@@ -57,13 +62,8 @@ public abstract class NetatmoDeviceHandler<X extends NetatmoDeviceConfiguration>
             if (getBridge().getStatus() == ThingStatus.ONLINE) {
                 logger.debug("setting device '{}' online", configuration.getEquipmentId());
                 updateStatus(ThingStatus.ONLINE);
-                logger.debug("scheduling update channel thread to run every {} ms", configuration.refreshInterval);
-                refreshJob = scheduler.scheduleWithFixedDelay(new Runnable() {
-                    @Override
-                    public void run() {
-                        updateChannels(configuration.getEquipmentId());
-                    }
-                }, 1, configuration.refreshInterval, TimeUnit.MILLISECONDS);
+                // use the data already fetched by the bridge, if any, until its next polling cycle
+                scheduler.schedule(() -> refreshAllChannels(), 1, TimeUnit.SECONDS);
             } else {
                 logger.debug("setting device '{}' offline (bridge or thing offline)", configuration.getEquipmentId());
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.BRIDGE_OFFLINE);
@@ -74,13 +74,35 @@ public abstract class NetatmoDeviceHandler<X extends NetatmoDeviceConfiguration>
         }
     }
 
-    @Override
-    public void dispose() {
-        logger.debug("Running dispose()");
-        if (refreshJob != null && !refreshJob.isCancelled()) {
-            refreshJob.cancel(true);
-            refreshJob = null;
+    /**
+     * @return the time (in seconds since epoch) of the most recent measurement of the device, or <code>null</code>
+     *         when no data has been received yet
+     */
+    Integer getDataTimeUtc() {
+        return device != null ? device.getDataTimeUtc() : null;
+    }
+
+    /**
+     * Computes when the device is expected to have uploaded new data, based on the time of its last measurement
+     * and the Netatmo upload period.
+     *
+     * @param now the current time in ms
+     * @return the delay in ms after which the API should be polled again for this device
+     */
+    long getNextRefreshDelay(long now) {
+        long refreshInterval = configuration.refreshInterval > 0 ? configuration.refreshInterval : UPLOAD_PERIOD_MS;
+        Integer dataTime = getDataTimeUtc();
+        if (dataTime != null) {
+            long lastMeasurement = dataTime * 1000L;
+            long delay = lastMeasurement + UPLOAD_PERIOD_MS + UPLOAD_MARGIN_MS - now;
+            if (delay > 0) {
+                return Math.min(delay, refreshInterval);
+            } else if (now - lastMeasurement < 2 * UPLOAD_PERIOD_MS) {
+                // the upload is late, check again soon
+                return Math.min(LATE_UPLOAD_RETRY_DELAY_MS, refreshInterval);
+            }
         }
+        return refreshInterval;
     }
 
     protected abstract NADeviceAdapter<?> updateReadings(String equipmentId);
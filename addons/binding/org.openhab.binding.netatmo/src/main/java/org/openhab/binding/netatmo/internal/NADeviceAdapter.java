@@ -9,10 +9,15 @@
 package org.openhab.binding.netatmo.internal;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
+import io.swagger.client.model.NAHealthyHomeCoach;
 import io.swagger.client.model.NAHealthyHomeCoachDataBody;
+import io.swagger.client.model.NAMain;
 import io.swagger.client.model.NAPlace;
+import io.swagger.client.model.NAPlug;
 import io.swagger.client.model.NAStationDataBody;
 import io.swagger.client.model.NAThermostatDataBody;
 import io.swagger.client.model.NAUserAdministrative;
@@ -40,37 +45,57 @@ public abstract class NADeviceAdapter<DeviceClass> {
     }
 
     @SuppressWarnings("unchecked")
-    public NADeviceAdapter(NAStationDataBody stationDataBody) {
+    public NADeviceAdapter(NAStationDataBody stationDataBody, String equipmentId) {
         if (stationDataBody != null) {
             this.userAdministrative = stationDataBody.getUser().getAdministrative();
-            this.device = (DeviceClass) stationDataBody.getDevices().get(0);
+            this.device = (DeviceClass) findDevice(stationDataBody.getDevices(), NAMain::getId, equipmentId);
         } else {
             throw new IllegalArgumentException("stationDataBody can not be null");
         }
     }
 
     @SuppressWarnings("unchecked")
-    public NADeviceAdapter(NAHealthyHomeCoachDataBody homecoachDataBody) {
+    public NADeviceAdapter(NAHealthyHomeCoachDataBody homecoachDataBody, String equipmentId) {
         if (homecoachDataBody != null) {
             this.userAdministrative = homecoachDataBody.getUser().getAdministrative();
-            this.device = (DeviceClass) homecoachDataBody.getDevices().get(0);
+            this.device = (DeviceClass) findDevice(homecoachDataBody.getDevices(), NAHealthyHomeCoach::getId,
+                    equipmentId);
         } else {
             throw new IllegalArgumentException("homecoachDataBody can not be null");
         }
     }
 
     @SuppressWarnings("unchecked")
-    public NADeviceAdapter(NAThermostatDataBody thermostatDataBody) {
+    public NADeviceAdapter(NAThermostatDataBody thermostatDataBody, String equipmentId) {
         if (thermostatDataBody != null) {
             this.userAdministrative = thermostatDataBody.getUser().getAdministrative();
-            this.device = (DeviceClass) thermostatDataBody.getDevices().get(0);
+            this.device = (DeviceClass) findDevice(thermostatDataBody.getDevices(), NAPlug::getId, equipmentId);
         } else {
             throw new IllegalArgumentException("thermostatDataBody can not be null");
         }
     }
 
+    /**
+     * Finds the device with the given id in a response containing all devices of the account.
+     */
+    private static <T> T findDevice(List<T> devices, Function<T, String> idGetter, String equipmentId) {
+        for (T device : devices) {
+            if (idGetter.apply(device).equalsIgnoreCase(equipmentId)) {
+                return device;
+            }
+        }
+        throw new IllegalArgumentException("device " + equipmentId + " not found");
+    }
+
     public abstract Integer getLastStatusStore();
 
+    /**
+     * @return the time (in seconds since epoch) of the most recent measurement uploaded by the device
+     */
+    public Integer getDataTimeUtc() {
+        return getLastStatusStore();
+    }
+
     public abstract NAPlace getPlace();
 
     public abstract Integer getWifiStatus();
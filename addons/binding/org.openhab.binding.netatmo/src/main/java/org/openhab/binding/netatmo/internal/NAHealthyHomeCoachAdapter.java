@@ -25,8 +25,8 @@ public class NAHealthyHomeCoachAdapter extends NADeviceAdapter<NAHealthyHomeCoac
         super(device);
     }
 
-    public NAHealthyHomeCoachAdapter(NAHealthyHomeCoachDataBody homecoachDataBody) {
-        super(homecoachDataBody);
+    public NAHealthyHomeCoachAdapter(NAHealthyHomeCoachDataBody homecoachDataBody, String equipmentId) {
+        super(homecoachDataBody, equipmentId);
     }
 
     @Override
@@ -63,6 +63,13 @@ public class NAHealthyHomeCoachAdapter extends NADeviceAdapter<NAHealthyHomeCoac
         return device.getDashboardData();
     }
 
+    @Override
+    public Integer getDataTimeUtc() {
+        NADashboardData dashboardData = device.getDashboardData();
+        return dashboardData != null && dashboardData.getTimeUtc() != null ? dashboardData.getTimeUtc()
+                : getLastStatusStore();
+    }
+
     @Override
     protected void populateModules() {
     }
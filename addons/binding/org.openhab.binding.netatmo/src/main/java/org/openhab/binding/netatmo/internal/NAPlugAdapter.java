@@ -27,8 +27,8 @@ public class NAPlugAdapter extends NADeviceAdapter<NAPlug> {
         super(device);
     }
 
-    public NAPlugAdapter(NAThermostatDataBody thermostatDataBody) {
-        super(thermostatDataBody);
+    public NAPlugAdapter(NAThermostatDataBody thermostatDataBody, String equipmentId) {
+        super(thermostatDataBody, equipmentId);
     }
 
     @Override
@@ -26,8 +26,8 @@ public class NAStationAdapter extends NADeviceAdapter<NAMain> {
         super(device);
     }
 
-    public NAStationAdapter(NAStationDataBody stationDataBody) {
-        super(stationDataBody);
+    public NAStationAdapter(NAStationDataBody stationDataBody, String equipmentId) {
+        super(stationDataBody, equipmentId);
     }
 
     @Override
@@ -64,6 +64,13 @@ public class NAStationAdapter extends NADeviceAdapter<NAMain> {
         return device.getDashboardData();
     }
 
+    @Override
+    public Integer getDataTimeUtc() {
+        NADashboardData dashboardData = device.getDashboardData();
+        return dashboardData != null && dashboardData.getTimeUtc() != null ? dashboardData.getTimeUtc()
+                : getLastStatusStore();
+    }
+
     @Override
     protected void populateModules() {
         for (NAStationModule module : device.getModules()) {
@@ -65,7 +65,7 @@ public class NetatmoModuleDiscoveryService extends AbstractDiscoveryService {
 
     @Override
     public void startScan() {
-        NAStationDataBody stationsDataBody = netatmoBridgeHandler.getStationsDataBody(null);
+        NAStationDataBody stationsDataBody = netatmoBridgeHandler.getStationsDataBody();
         if (stationsDataBody != null) {
             List<NAMain> stationDevices = stationsDataBody.getDevices();
             for (NAMain device : stationDevices) {
@@ -75,7 +75,7 @@ public class NetatmoModuleDiscoveryService extends AbstractDiscoveryService {
             }
         }
 
-        NAHealthyHomeCoachDataBody homecoachDataBody = netatmoBridgeHandler.getHomecoachDataBody(null);
+        NAHealthyHomeCoachDataBody homecoachDataBody = netatmoBridgeHandler.getHomecoachDataBody();
         if (homecoachDataBody != null) {
             List<NAHealthyHomeCoach> homecoachDevices = homecoachDataBody.getDevices();
             for (NAHealthyHomeCoach device : homecoachDevices) {
@@ -85,7 +85,7 @@ public class NetatmoModuleDiscoveryService extends AbstractDiscoveryService {
             }
         }
 
-        NAThermostatDataBody thermostatsDataBody = netatmoBridgeHandler.getThermostatsDataBody(null);
+        NAThermostatDataBody thermostatsDataBody = netatmoBridgeHandler.getThermostatsDataBody();
         if (thermostatsDataBody != null) {
             List<NAPlug> thermostatDevices = thermostatsDataBody.getDevices();
             for (NAPlug device : thermostatDevices) {
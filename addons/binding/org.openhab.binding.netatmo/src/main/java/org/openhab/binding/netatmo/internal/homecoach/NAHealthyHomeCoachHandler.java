@@ -37,9 +37,9 @@ public class NAHealthyHomeCoachHandler extends NetatmoDeviceHandler<NetatmoDevic
 
     @Override
     protected NADeviceAdapter<?> updateReadings(String equipmentId) {
-        NAHealthyHomeCoachDataBody homecoachDataBody = getBridgeHandler().getHomecoachDataBody(equipmentId);
+        NAHealthyHomeCoachDataBody homecoachDataBody = getBridgeHandler().getHomecoachDataBody();
         if (homecoachDataBody != null) {
-            return new NAHealthyHomeCoachAdapter(homecoachDataBody);
+            return new NAHealthyHomeCoachAdapter(homecoachDataBody, equipmentId);
         } else {
             return null;
         }
@@ -39,9 +39,9 @@ public class NAMainHandler extends NetatmoDeviceHandler<NetatmoDeviceConfigurati
 
     @Override
     protected NADeviceAdapter<?> updateReadings(String equipmentId) {
-        NAStationDataBody stationDataBody = getBridgeHandler().getStationsDataBody(equipmentId);
+        NAStationDataBody stationDataBody = getBridgeHandler().getStationsDataBody();
         if (stationDataBody != null) {
-            return new NAStationAdapter(stationDataBody);
+            return new NAStationAdapter(stationDataBody, equipmentId);
         } else {
             return null;
         }
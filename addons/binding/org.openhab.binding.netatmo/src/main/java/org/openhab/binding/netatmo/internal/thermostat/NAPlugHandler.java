@@ -35,9 +35,9 @@ public class NAPlugHandler extends NetatmoDeviceHandler<NetatmoDeviceConfigurati
 
     @Override
     protected NADeviceAdapter<?> updateReadings(String equipmentId) {
-        NAThermostatDataBody thermostatDataBody = getBridgeHandler().getThermostatsDataBody(equipmentId);
+        NAThermostatDataBody thermostatDataBody = getBridgeHandler().getThermostatsDataBody();
         if (thermostatDataBody != null) {
-            return new NAPlugAdapter(thermostatDataBody);
+            return new NAPlugAdapter(thermostatDataBody, equipmentId);
         } else {
             return null;
         }
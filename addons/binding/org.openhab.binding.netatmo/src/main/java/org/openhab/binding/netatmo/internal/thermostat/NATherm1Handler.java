@@ -56,6 +56,7 @@ public class NATherm1Handler extends NetatmoModuleHandler<NATherm1Configuration>
             String parentId = configuration.getParentId();
             String moduleId = module.getId();
             CSVParams csvParams = new CSVParams(measuredChannels);
+            getBridgeHandler().countApiCall();
             measures = thermostatApi.getmeasure(parentId, "max", csvParams, moduleId, null, null, 1, true, true);
         }
         super.updateChannels(module);
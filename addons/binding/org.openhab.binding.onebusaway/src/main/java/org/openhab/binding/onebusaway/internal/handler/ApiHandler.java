@@ -10,12 +10,27 @@ package org.openhab.binding.onebusaway.internal.handler;
 
 import static org.openhab.binding.onebusaway.OneBusAwayBindingConstants.THING_TYPE_API;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.onebusaway.internal.config.ApiConfiguration;
 import org.slf4j.Logger;
@@ -24,13 +39,32 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link ApiHandler} is responsible for storing basic configuration data for talking to a OneBusAway API server.
  *
+ * It also polls its stops on a shared tick, so stops with the same interval are updated together, and coalesces
+ * requests for the same stop: a request that is already in progress, or that finished less than a tick ago, is
+ * shared by all stops asking for the same stop ID.
+ *
  * @author Shawn Wilsher - Initial contribution
  */
 public class ApiHandler extends BaseBridgeHandler {
     public static final ThingTypeUID SUPPORTED_THING_TYPE = THING_TYPE_API;
 
+    /**
+     * The interval (in seconds) at which the stops are checked for updates. Stop intervals are rounded up to a
+     * multiple of it.
+     */
+    protected static final int POLLING_TICK = 30;
+
     private ApiConfiguration config;
+    private HttpClient httpClient;
     private Logger logger = LoggerFactory.getLogger(ApiHandler.class);
+    private ScheduledFuture<?> pollingJob;
+    private Runnable pollingRunnable = () -> {
+        pollStops();
+    };
+    private long tick = 0;
+    private Map<String, StopRequest> stopRequests = new HashMap<>();
+    private AtomicInteger apiRequests = new AtomicInteger();
+    private AtomicInteger coalescedRequests = new AtomicInteger();
 
     public ApiHandler(Bridge bridge) {
         super(bridge);
@@ -50,9 +84,39 @@ public class ApiHandler extends BaseBridgeHandler {
             logger.debug("Initialization of OneBusAway API bridge failed!");
             return;
         }
+
+        httpClient = new HttpClient();
+        try {
+            httpClient.start();
+        } catch (Exception e) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
+            httpClient = null;
+            return;
+        }
+
+        pollingJob = scheduler.scheduleAtFixedRate(pollingRunnable, POLLING_TICK, POLLING_TICK, TimeUnit.SECONDS);
         updateStatus(ThingStatus.ONLINE);
     }
 
+    @Override
+    public void dispose() {
+        if (pollingJob != null && !pollingJob.isCancelled()) {
+            pollingJob.cancel(true);
+            pollingJob = null;
+        }
+        if (httpClient != null) {
+            try {
+                httpClient.stop();
+            } catch (Exception e) {
+                logger.debug("Unable to stop the HTTP client: {}", e.getMessage());
+            }
+            httpClient = null;
+        }
+        synchronized (stopRequests) {
+            stopRequests.clear();
+        }
+    }
+
     protected String getApiKey() {
         return config.getApiKey();
     }
@@ -61,6 +125,82 @@ public class ApiHandler extends BaseBridgeHandler {
         return config.getApiServer();
     }
 
+    /**
+     * Requests the arrivals and departures for a stop. Concurrent requests for the same stop, and requests made
+     * less than {@link #POLLING_TICK} seconds after the last one completed, share a single API call.
+     *
+     * @param stopId the OneBusAway ID of the stop.
+     * @return the response of the API server.
+     * @throws URISyntaxException if the stop ID or API configuration do not form a valid URI.
+     */
+    protected ContentResponse requestStopArrivals(String stopId)
+            throws URISyntaxException, InterruptedException, TimeoutException, ExecutionException {
+        HttpClient client = httpClient;
+        if (client == null) {
+            throw new ExecutionException(new IllegalStateException("The API bridge is not initialized"));
+        }
+
+        StopRequest request;
+        boolean sendRequest = false;
+        synchronized (stopRequests) {
+            request = stopRequests.get(stopId);
+            if (request == null || request.isExpired()) {
+                request = new StopRequest();
+                stopRequests.put(stopId, request);
+                sendRequest = true;
+            }
+        }
+
+        if (!sendRequest) {
+            logger.trace("Sharing the pending request for stop ID {}", stopId);
+            coalescedRequests.incrementAndGet();
+            return request.response.get();
+        }
+
+        String url = String.format("http://%s/api/where/arrivals-and-departures-for-stop/%s.json?key=%s",
+                getApiServer(), stopId, getApiKey());
+        try {
+            URI uri = new URI(url);
+            apiRequests.incrementAndGet();
+            request.complete(client.newRequest(uri).send());
+        } catch (URISyntaxException | InterruptedException | TimeoutException | ExecutionException e) {
+            // Do not keep failed requests around, the next caller should try again.
+            synchronized (stopRequests) {
+                stopRequests.remove(stopId, request);
+            }
+            request.response.completeExceptionally(e);
+            throw e;
+        }
+        return request.response.get();
+    }
+
+    /**
+     * Updates the stops whose interval has elapsed. Stops are only updated on multiples of their interval, so stops
+     * with the same interval are updated at the same tick and can share their requests.
+     */
+    private void pollStops() {
+        long currentTick = tick++;
+        for (Thing thing : getThing().getThings()) {
+            ThingHandler handler = thing.getHandler();
+            if (handler instanceof StopHandler) {
+                StopHandler stopHandler = (StopHandler) handler;
+                int interval = stopHandler.getInterval();
+                if (interval > 0 && currentTick % getIntervalTicks(interval) == 0) {
+                    stopHandler.forceUpdate();
+                }
+            }
+        }
+
+        if (currentTick % getIntervalTicks(60) == 0) {
+            logger.debug("{} API requests and {} shared requests in the last minute", apiRequests.getAndSet(0),
+                    coalescedRequests.getAndSet(0));
+        }
+    }
+
+    private static long getIntervalTicks(int interval) {
+        return Math.max(1, (interval + POLLING_TICK - 1) / POLLING_TICK);
+    }
+
     private ApiConfiguration loadAndCheckConfiguration() {
         ApiConfiguration config = getConfigAs(ApiConfiguration.class);
         if (config.getApiKey() == null) {
@@ -74,4 +214,22 @@ public class ApiHandler extends BaseBridgeHandler {
         return config;
     }
 
+    /**
+     * A request for the arrivals and departures of a stop, which is shared by all stops with the same ID.
+     */
+    private static class StopRequest {
+        private final CompletableFuture<ContentResponse> response = new CompletableFuture<>();
+        private volatile long completedMs = 0;
+
+        private void complete(ContentResponse contentResponse) {
+            completedMs = System.currentTimeMillis();
+            response.complete(contentResponse);
+        }
+
+        private boolean isExpired() {
+            return response.isDone()
+                    && System.currentTimeMillis() - completedMs >= TimeUnit.SECONDS.toMillis(POLLING_TICK);
+        }
+    }
+
 }
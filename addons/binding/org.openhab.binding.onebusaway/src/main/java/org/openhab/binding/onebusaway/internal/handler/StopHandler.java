@@ -10,18 +10,16 @@ package org.openhab.binding.onebusaway.internal.handler;
 
 import static org.openhab.binding.onebusaway.OneBusAwayBindingConstants.THING_TYPE_STOP;
 
-import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.smarthome.core.thing.Bridge;
@@ -45,6 +43,9 @@ import com.google.gson.Gson;
  * The {@link StopHandler} is responsible for handling commands, which are
  * sent to one of the channels.
  *
+ * Stops are polled by their {@link ApiHandler}, which shares requests between stops with the same ID. The arrivals
+ * and departures are indexed by route ID, so each route only receives the data for its own route.
+ *
  * @author Shawn Wilsher - Initial contribution
  */
 public class StopHandler extends BaseBridgeHandler {
@@ -53,9 +54,7 @@ public class StopHandler extends BaseBridgeHandler {
 
     private StopConfiguration config;
     private Gson gson;
-    private HttpClient httpClient;
     private Logger logger = LoggerFactory.getLogger(StopHandler.class);
-    private ScheduledFuture<?> pollingJob;
     private Runnable pollingRunnable = () -> {
         fetchAndUpdateStopData();
     };
@@ -88,32 +87,10 @@ public class StopHandler extends BaseBridgeHandler {
             return;
         }
 
-        // Do the rest of the work asynchronously because it can take a while.
-        scheduler.submit(() -> {
-            httpClient = new HttpClient();
-            try {
-                httpClient.start();
-            } catch (Exception e) {
-                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
-                httpClient = null;
-                return;
-            }
-            gson = new Gson();
-
-            pollingJob = scheduler.scheduleWithFixedDelay(pollingRunnable, 0, config.getInterval(), TimeUnit.SECONDS);
-        });
-    }
+        gson = new Gson();
 
-    @Override
-    public void dispose() {
-        if (pollingJob != null && !pollingJob.isCancelled()) {
-            pollingJob.cancel(true);
-            pollingJob = null;
-        }
-        if (httpClient != null) {
-            httpClient.destroy();
-            httpClient = null;
-        }
+        // Fetch the data right away, the API bridge takes care of the following updates.
+        forceUpdate();
     }
 
     /**
@@ -131,9 +108,8 @@ public class StopHandler extends BaseBridgeHandler {
             String routeId = listener.getRouteId();
             List<ObaStopArrivalResponse.ArrivalAndDeparture> copiedRouteData;
             synchronized (routeData) {
-                copiedRouteData = Lists.newArrayList(routeData.get(routeId));
+                copiedRouteData = getSortedRouteData(routeId);
             }
-            Collections.sort(copiedRouteData);
             listener.onNewRouteData(routeDataLastUpdateMs, copiedRouteData);
         }
         return added;
@@ -156,6 +132,14 @@ public class StopHandler extends BaseBridgeHandler {
         scheduler.execute(pollingRunnable);
     }
 
+    /**
+     * @return the update interval (in seconds), or 0 if the stop is not configured.
+     */
+    protected int getInterval() {
+        StopConfiguration config = this.config;
+        return config == null ? 0 : config.getInterval();
+    }
+
     private ApiHandler getApiHandler() {
         return (ApiHandler) getBridge().getHandler();
     }
@@ -183,21 +167,23 @@ public class StopHandler extends BaseBridgeHandler {
         if (alreadyFetching) {
             return false;
         }
+        try {
+            return fetchAndUpdateStopData(apiHandler);
+        } finally {
+            fetchInProgress.set(false);
+        }
+    }
+
+    private boolean fetchAndUpdateStopData(ApiHandler apiHandler) {
         logger.debug("Fetching data for stop ID {}", config.getStopId());
-        String url = String.format("http://%s/api/where/arrivals-and-departures-for-stop/%s.json?key=%s",
-                apiHandler.getApiServer(), config.getStopId(), apiHandler.getApiKey());
-        URI uri;
+        ContentResponse response;
         try {
-            uri = new URI(url);
+            response = apiHandler.requestStopArrivals(config.getStopId());
         } catch (URISyntaxException e) {
-            logger.error("Unable to parse '%s' as a URI.", url);
+            logger.error("Unable to parse '{}' as a URI.", e.getInput());
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR,
                     "stopId or apiKey is set to a bogus value");
             return false;
-        }
-        ContentResponse response;
-        try {
-            response = httpClient.newRequest(uri).send();
         } catch (InterruptedException | TimeoutException | ExecutionException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
             return false;
@@ -211,22 +197,40 @@ public class StopHandler extends BaseBridgeHandler {
         routeDataLastUpdateMs = data.currentTime;
         updateStatus(ThingStatus.ONLINE);
 
-        ArrayListMultimap<String, ObaStopArrivalResponse.ArrivalAndDeparture> copiedRouteData = ArrayListMultimap
-                .create();
+        // Only copy and sort the data of the routes that have listeners.
+        Map<String, List<ObaStopArrivalResponse.ArrivalAndDeparture>> copiedRouteData = new HashMap<>();
         synchronized (routeData) {
             routeData = ArrayListMultimap.create();
             for (ObaStopArrivalResponse.ArrivalAndDeparture d : data.data.entry.arrivalsAndDepartures) {
                 routeData.put(d.routeId, d);
             }
-            for (String key : routeData.keySet()) {
-                List<ObaStopArrivalResponse.ArrivalAndDeparture> copy = Lists.newArrayList(routeData.get(key));
-                Collections.sort(copy);
-                copiedRouteData.putAll(key, copy);
+            for (RouteDataListener listener : routeDataListeners) {
+                String routeId = listener.getRouteId();
+                if (!copiedRouteData.containsKey(routeId)) {
+                    copiedRouteData.put(routeId, getSortedRouteData(routeId));
+                }
             }
         }
         for (RouteDataListener listener : routeDataListeners) {
-            listener.onNewRouteData(routeDataLastUpdateMs, copiedRouteData.get(listener.getRouteId()));
+            List<ObaStopArrivalResponse.ArrivalAndDeparture> listenerRouteData = copiedRouteData
+                    .get(listener.getRouteId());
+            if (listenerRouteData == null) {
+                // The listener has been registered after the data was copied and already received it.
+                continue;
+            }
+            listener.onNewRouteData(routeDataLastUpdateMs, listenerRouteData);
         }
         return true;
     }
+
+    /**
+     * Must be called while holding the lock on {@link #routeData}.
+     *
+     * @return a sorted copy of the arrivals and departures of the route.
+     */
+    private List<ObaStopArrivalResponse.ArrivalAndDeparture> getSortedRouteData(String routeId) {
+        List<ObaStopArrivalResponse.ArrivalAndDeparture> copy = Lists.newArrayList(routeData.get(routeId));
+        Collections.sort(copy);
+        return copy;
+    }
 }
@@ -11,15 +11,22 @@ package org.openhab.binding.plugwise.internal;
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.io.IOUtils;
 import org.openhab.binding.plugwise.internal.config.PlugwiseStickConfig;
 import org.openhab.binding.plugwise.internal.protocol.AcknowledgementMessage;
 import org.openhab.binding.plugwise.internal.protocol.Message;
+import org.openhab.binding.plugwise.internal.protocol.field.MACAddress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +44,62 @@ import gnu.io.UnsupportedCommOperationException;
  */
 public class PlugwiseCommunicationContext {
 
+    /**
+     * Round trip statistics of the requests sent to a single device.
+     */
+    public static class RoundTripStatistics {
+
+        private long count;
+        private long timeouts;
+        private long averageNanos;
+        private long maxNanos;
+
+        private synchronized void addRoundTrip(long nanos) {
+            count++;
+            averageNanos = count == 1 ? nanos : averageNanos + (nanos - averageNanos) / 8;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        private synchronized void addTimeout() {
+            timeouts++;
+        }
+
+        /**
+         * @return the number of responses received
+         */
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the number of requests for which no response was received in time
+         */
+        public synchronized long getTimeouts() {
+            return timeouts;
+        }
+
+        /**
+         * @return the moving average of the round trip time in milliseconds
+         */
+        public synchronized long getAverage() {
+            return TimeUnit.NANOSECONDS.toMillis(averageNanos);
+        }
+
+        /**
+         * @return the maximum round trip time in milliseconds
+         */
+        public synchronized long getMax() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "RoundTripStatistics [count=" + count + ", timeouts=" + timeouts + ", average="
+                    + TimeUnit.NANOSECONDS.toMillis(averageNanos) + "ms, max=" + TimeUnit.NANOSECONDS.toMillis(maxNanos)
+                    + "ms]";
+        }
+    }
+
     /** Plugwise protocol header code (hex) */
     public static final String PROTOCOL_HEADER = "\u0005\u0005\u0003\u0003";
 
@@ -51,6 +114,12 @@ public class PlugwiseCommunicationContext {
 
     public static final int MAX_BUFFER_SIZE = 1024;
 
+    /** The maximum number of sent messages that may be awaiting a response at the same time */
+    public static final int MAX_OUTSTANDING_MESSAGES = 8;
+
+    /** Sent messages are no longer awaited when there is no response within this time (ms) */
+    public static final long RESPONSE_TIMEOUT = 5000;
+
     private static final Comparator<? super PlugwiseQueuedMessage> QUEUED_MESSAGE_COMPERATOR = new Comparator<PlugwiseQueuedMessage>() {
         @Override
         public int compare(PlugwiseQueuedMessage o1, PlugwiseQueuedMessage o2) {
@@ -68,18 +137,83 @@ public class PlugwiseCommunicationContext {
     private final BlockingQueue<Message> receivedQueue = new ArrayBlockingQueue<>(MAX_BUFFER_SIZE, true);
     private final PriorityBlockingQueue<PlugwiseQueuedMessage> sendQueue = new PriorityBlockingQueue<>(MAX_BUFFER_SIZE,
             QUEUED_MESSAGE_COMPERATOR);
-    private final BlockingQueue<PlugwiseQueuedMessage> sentQueue = new ArrayBlockingQueue<>(MAX_BUFFER_SIZE, true);
-    private final ReentrantLock sentQueueLock = new ReentrantLock();
+    private final Map<String, PlugwiseQueuedMessage> pendingMessages = new ConcurrentHashMap<>();
+    private final Map<Integer, PlugwiseQueuedMessage> sentMessages = new LinkedHashMap<>();
+    private final ReentrantLock sentMessagesLock = new ReentrantLock();
+    private final Condition sentMessageRemoved = sentMessagesLock.newCondition();
+    private final Map<MACAddress, RoundTripStatistics> roundTripStatistics = new ConcurrentHashMap<>();
     private final PlugwiseFilteredMessageListenerList filteredListeners = new PlugwiseFilteredMessageListenerList();
 
     private PlugwiseStickConfig configuration;
     private SerialPort serialPort;
 
+    /**
+     * Adds a message to the sent messages that are awaiting a response
+     *
+     * @param queuedMessage - the message with the sequence number assigned by the Stick
+     */
+    public void addSentMessage(PlugwiseQueuedMessage queuedMessage) {
+        sentMessagesLock.lock();
+        try {
+            // Remove first so the insertion order keeps matching the sent time when a sequence number is reused
+            sentMessages.remove(queuedMessage.getMessage().getSequenceNumber());
+            sentMessages.put(queuedMessage.getMessage().getSequenceNumber(), queuedMessage);
+        } finally {
+            sentMessagesLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until less than {@link #MAX_OUTSTANDING_MESSAGES} sent messages are awaiting a response. Sent messages
+     * without a response within {@link #RESPONSE_TIMEOUT} are discarded while waiting.
+     */
+    public void awaitSentMessageSlot() throws InterruptedException {
+        sentMessagesLock.lock();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long timeout = TimeUnit.MILLISECONDS.toNanos(RESPONSE_TIMEOUT);
+                long waitTime = timeout;
+
+                Iterator<PlugwiseQueuedMessage> iterator = sentMessages.values().iterator();
+                while (iterator.hasNext()) {
+                    PlugwiseQueuedMessage queuedMessage = iterator.next();
+                    long age = now - queuedMessage.getSentTime();
+                    if (age < timeout) {
+                        // Messages are ordered by sent time so the remaining messages have not timed out
+                        waitTime = timeout - age;
+                        break;
+                    }
+                    iterator.remove();
+                    Message message = queuedMessage.getMessage();
+                    logger.debug("Flushing from sentQueue, no response after {}ms: {}", RESPONSE_TIMEOUT, message);
+                    if (message.getMACAddress() != null) {
+                        getRoundTripStatistics(message.getMACAddress()).addTimeout();
+                    }
+                }
+
+                if (sentMessages.size() < MAX_OUTSTANDING_MESSAGES) {
+                    return;
+                }
+                sentMessageRemoved.awaitNanos(waitTime);
+            }
+        } finally {
+            sentMessagesLock.unlock();
+        }
+    }
+
     public void clearQueues() {
         acknowledgedQueue.clear();
         receivedQueue.clear();
         sendQueue.clear();
-        sentQueue.clear();
+        pendingMessages.clear();
+        sentMessagesLock.lock();
+        try {
+            sentMessages.clear();
+            sentMessageRemoved.signalAll();
+        } finally {
+            sentMessagesLock.unlock();
+        }
     }
 
     public void closeSerialPort() {
@@ -136,16 +270,12 @@ public class PlugwiseCommunicationContext {
         return receivedQueue;
     }
 
-    public PriorityBlockingQueue<PlugwiseQueuedMessage> getSendQueue() {
-        return sendQueue;
+    public RoundTripStatistics getRoundTripStatistics(MACAddress macAddress) {
+        return roundTripStatistics.computeIfAbsent(macAddress, key -> new RoundTripStatistics());
     }
 
-    public BlockingQueue<PlugwiseQueuedMessage> getSentQueue() {
-        return sentQueue;
-    }
-
-    public ReentrantLock getSentQueueLock() {
-        return sentQueueLock;
+    public PriorityBlockingQueue<PlugwiseQueuedMessage> getSendQueue() {
+        return sendQueue;
     }
 
     public SerialPort getSerialPort() {
@@ -170,8 +300,60 @@ public class PlugwiseCommunicationContext {
         }
     }
 
+    /**
+     * Puts a message in the send queue unless an identical request is already waiting to be sent
+     *
+     * @param queuedMessage - the message to be sent
+     * @return true if the message was queued, false if it is a duplicate
+     */
+    public boolean queueMessage(PlugwiseQueuedMessage queuedMessage) {
+        if (pendingMessages.putIfAbsent(queuedMessage.getKey(), queuedMessage) != null) {
+            return false;
+        }
+        sendQueue.put(queuedMessage);
+        return true;
+    }
+
+    /**
+     * Removes the sent message that has the same sequence number as the given response and updates the round trip
+     * statistics of the device
+     *
+     * @param response - a message received from the Stick
+     * @return the message that was sent or null if there is none
+     */
+    public PlugwiseQueuedMessage removeSentMessage(Message response) {
+        PlugwiseQueuedMessage queuedMessage;
+        sentMessagesLock.lock();
+        try {
+            queuedMessage = sentMessages.remove(response.getSequenceNumber());
+            if (queuedMessage == null) {
+                return null;
+            }
+            sentMessageRemoved.signal();
+        } finally {
+            sentMessagesLock.unlock();
+        }
+
+        MACAddress macAddress = queuedMessage.getMessage().getMACAddress();
+        if (macAddress != null) {
+            getRoundTripStatistics(macAddress).addRoundTrip(System.nanoTime() - queuedMessage.getSentTime());
+        }
+        return queuedMessage;
+    }
+
     public void setConfiguration(PlugwiseStickConfig configuration) {
         this.configuration = configuration;
     }
 
+    /**
+     * Takes the next message from the send queue, waiting if necessary until a message becomes available
+     *
+     * @return the message with the highest priority
+     */
+    public PlugwiseQueuedMessage takeMessage() throws InterruptedException {
+        PlugwiseQueuedMessage queuedMessage = sendQueue.take();
+        pendingMessages.remove(queuedMessage.getKey(), queuedMessage);
+        return queuedMessage;
+    }
+
 }
@@ -12,7 +12,6 @@ import static org.openhab.binding.plugwise.internal.PlugwiseCommunicationContext
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.Iterator;
 import java.util.TooManyListenersException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -147,20 +146,14 @@ public class PlugwiseMessageProcessor implements SerialPortEventListener {
         // WARNING: We assume that each request sent out can only be followed bye EXACTLY ONE response - so
         // far it seems that the Plugwise protocol is operating in that way
 
-        try {
-            context.getSentQueueLock().lock();
-
-            Iterator<PlugwiseQueuedMessage> messageIterator = context.getSentQueue().iterator();
-            while (messageIterator.hasNext()) {
-                PlugwiseQueuedMessage queuedSentMessage = messageIterator.next();
-                if (queuedSentMessage.getMessage().getSequenceNumber() == message.getSequenceNumber()) {
-                    logger.debug("Removing from sentQueue: {}", queuedSentMessage.getMessage());
-                    context.getSentQueue().remove(queuedSentMessage);
-                    break;
-                }
+        PlugwiseQueuedMessage queuedSentMessage = context.removeSentMessage(message);
+        if (queuedSentMessage != null && logger.isDebugEnabled()) {
+            Message sentMessage = queuedSentMessage.getMessage();
+            logger.debug("Removing from sentQueue: {}", sentMessage);
+            if (sentMessage.getMACAddress() != null) {
+                logger.debug("Round trip statistics of {}: {}", sentMessage.getMACAddress(),
+                        context.getRoundTripStatistics(sentMessage.getMACAddress()));
             }
-        } finally {
-            context.getSentQueueLock().unlock();
         }
     }
 
@@ -40,13 +40,13 @@ public class PlugwiseMessageSender {
         public void run() {
             while (!interrupted()) {
                 try {
-                    PlugwiseQueuedMessage queuedMessage = context.getSendQueue().take();
+                    PlugwiseQueuedMessage queuedMessage = context.takeMessage();
                     logger.debug("Took message from sendQueue (length={})", context.getSendQueue().size());
                     if (queuedMessage == null) {
                         continue;
                     }
-                    sendMessage(queuedMessage);
-                    sleep(context.getConfiguration().getMessageWaitTime());
+                    context.awaitSentMessageSlot();
+                    sleep(sendMessage(queuedMessage));
                 } catch (InterruptedException e) {
                     // That's our signal to stop
                     break;
@@ -64,11 +64,15 @@ public class PlugwiseMessageSender {
     /** After exceeding this threshold the Stick is set offline */
     private static final int MAX_SEQUENTIAL_WRITE_ERRORS = 15;
 
+    /** The minimum time (ms) to wait between messages that are acknowledged by the Stick */
+    private static final long MIN_MESSAGE_WAIT_TIME = 10;
+
     private final Logger logger = LoggerFactory.getLogger(PlugwiseMessageSender.class);
     private final PlugwiseCommunicationContext context;
 
     private WritableByteChannel outputChannel;
     private int sequentialWriteErrors;
+    private long averageAckLatency;
     private MessageSenderThread thread;
 
     public PlugwiseMessageSender(PlugwiseCommunicationContext context) {
@@ -82,12 +86,35 @@ public class PlugwiseMessageSender {
         }
 
         if (message != null) {
-            logger.debug("Adding {} message to sendQueue: {}", priority, message);
-            context.getSendQueue().put(new PlugwiseQueuedMessage(message, priority));
+            if (context.queueMessage(new PlugwiseQueuedMessage(message, priority))) {
+                logger.debug("Added {} message to sendQueue: {}", priority, message);
+            } else {
+                logger.debug("Skipped {} message, an identical message is already in sendQueue: {}", priority,
+                        message);
+            }
+        }
+    }
+
+    /**
+     * Returns the time to wait before sending the next message. When messages are acknowledged, it follows the
+     * average ACK latency of the Stick so it is never waited longer than needed. The configured message wait time is
+     * used as upper bound and whenever the Stick does not (positively) acknowledge a message.
+     */
+    private long getMessageWaitTime(boolean acknowledged) {
+        long messageWaitTime = context.getConfiguration().getMessageWaitTime();
+        if (!acknowledged || averageAckLatency == 0) {
+            return messageWaitTime;
         }
+        long ackWaitTime = Math.max(MIN_MESSAGE_WAIT_TIME, TimeUnit.NANOSECONDS.toMillis(averageAckLatency));
+        return Math.min(messageWaitTime, ackWaitTime);
     }
 
-    private void sendMessage(PlugwiseQueuedMessage queuedMessage) throws InterruptedException {
+    /**
+     * Sends a message to the Stick and waits for its acknowledgement
+     *
+     * @return the time (ms) to wait before sending the next message
+     */
+    private long sendMessage(PlugwiseQueuedMessage queuedMessage) throws InterruptedException {
         if (queuedMessage.getAttempts() < MAX_RETRIES) {
             queuedMessage.increaseAttempts();
 
@@ -99,15 +126,17 @@ public class PlugwiseMessageSender {
             bytebuffer.put(packetString.getBytes());
             bytebuffer.rewind();
 
+            long sentTime;
             try {
                 logger.debug("Sending: {} as {}", message, messageHexString);
                 outputChannel.write(bytebuffer);
+                sentTime = System.nanoTime();
                 sequentialWriteErrors = 0;
             } catch (IOException e) {
                 logger.warn("Error writing '{}' to serial port {}: {}", packetString,
                         context.getConfiguration().getSerialPort(), e.getMessage());
                 sequentialWriteErrors++;
-                return;
+                return getMessageWaitTime(false);
             }
 
             // Poll the acknowledgement message for at most 1 second, normally it is received within 75ms
@@ -121,33 +150,31 @@ public class PlugwiseMessageSender {
                     logger.warn("Error sending: Negative ACK: {}", packetString);
                 }
             } else {
+                long ackLatency = System.nanoTime() - sentTime;
+                averageAckLatency = averageAckLatency == 0 ? ackLatency
+                        : averageAckLatency + (ackLatency - averageAckLatency) / 8;
+
                 // Update the sent message with the new sequence number
                 message.setSequenceNumber(ack.getSequenceNumber());
 
-                // Place the sent message in the sent queue
+                // Place the sent message in the sent queue until the response with the same sequence number is
+                // received. Messages without a response are flushed when waiting for a free slot.
                 logger.debug("Adding to sentQueue: {}", message);
-                context.getSentQueueLock().lock();
-                try {
-                    if (context.getSentQueue().size() == PlugwiseCommunicationContext.MAX_BUFFER_SIZE) {
-                        // For some reason Plugwise devices, or the Stick, does not send responses to Requests.
-                        // They clog the sent queue. Let's flush some part of the queue
-                        PlugwiseQueuedMessage someMessage = context.getSentQueue().poll();
-                        logger.debug("Flushing from sentQueue: {}", someMessage);
-                    }
-                    context.getSentQueue().put(queuedMessage);
-                } finally {
-                    context.getSentQueueLock().unlock();
-                }
+                queuedMessage.setSentTime(sentTime);
+                context.addSentMessage(queuedMessage);
+                return getMessageWaitTime(true);
             }
         } else {
             // Max attempts reached. We give up, and to a network reset
             logger.warn("Giving up on Plugwise message after {} attempts: {}", queuedMessage.getAttempts(),
                     queuedMessage.getMessage());
         }
+        return getMessageWaitTime(false);
     }
 
     public void start() throws PlugwiseInitializationException {
         sequentialWriteErrors = 0;
+        averageAckLatency = 0;
         try {
             outputChannel = Channels.newChannel(context.getSerialPort().getOutputStream());
         } catch (IOException e) {
@@ -22,11 +22,14 @@ public class PlugwiseQueuedMessage {
     private final PlugwiseMessagePriority priority;
     private final LocalDateTime dateTime = LocalDateTime.now();
     private final Message message;
+    private final String key;
     private int attempts;
+    private long sentTime;
 
     public PlugwiseQueuedMessage(Message message, PlugwiseMessagePriority priority) {
         this.message = message;
         this.priority = priority;
+        this.key = message.toHexString();
     }
 
     public int getAttempts() {
@@ -37,6 +40,13 @@ public class PlugwiseQueuedMessage {
         return dateTime;
     }
 
+    /**
+     * Returns a key that is equal for identical requests, i.e. requests with the same type, MAC address and payload.
+     */
+    public String getKey() {
+        return key;
+    }
+
     public Message getMessage() {
         return message;
     }
@@ -45,7 +55,18 @@ public class PlugwiseQueuedMessage {
         return priority;
     }
 
+    /**
+     * Returns the {@link System#nanoTime()} at which the message was last written to the Stick.
+     */
+    public long getSentTime() {
+        return sentTime;
+    }
+
     public void increaseAttempts() {
         attempts++;
     }
+
+    public void setSentTime(long sentTime) {
+        this.sentTime = sentTime;
+    }
 }
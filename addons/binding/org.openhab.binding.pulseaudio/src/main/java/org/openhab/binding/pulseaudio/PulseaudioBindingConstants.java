@@ -40,6 +40,7 @@ public class PulseaudioBindingConstants {
     public static final String BRIDGE_PARAMETER_HOST = "host";
     public static final String BRIDGE_PARAMETER_PORT = "port";
     public static final String BRIDGE_PARAMETER_REFRESH_INTERVAL = "refresh";
+    public static final String BRIDGE_PARAMETER_PARTIAL_REFRESH = "partialRefresh";
     
     public static final String DEVICE_PARAMETER_NAME = "name";
 }
@@ -13,8 +13,10 @@ import static org.openhab.binding.pulseaudio.PulseaudioBindingConstants.*;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
@@ -23,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
@@ -31,6 +34,10 @@ import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.pulseaudio.PulseaudioBindingConstants;
 import org.openhab.binding.pulseaudio.internal.PulseaudioClient;
 import org.openhab.binding.pulseaudio.internal.items.AbstractAudioDeviceConfig;
+import org.openhab.binding.pulseaudio.internal.items.Sink;
+import org.openhab.binding.pulseaudio.internal.items.SinkInput;
+import org.openhab.binding.pulseaudio.internal.items.Source;
+import org.openhab.binding.pulseaudio.internal.items.SourceOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +45,10 @@ import org.slf4j.LoggerFactory;
  * {@link PulseaudioBridgeHandler} is the handler for a Pulseaudio server and
  * connects it to the framework.
  *
+ * The listeners are only notified about devices whose volume, mute state, state or routing changed
+ * since the previous poll. With partial refresh only the types of devices the bridge has things for
+ * are polled.
+ *
  * @author Tobias Bräutigam
  *
  */
@@ -52,38 +63,107 @@ public class PulseaudioBridgeHandler extends BaseBridgeHandler {
 
     public int refreshInterval = 30000;
 
+    public boolean partialRefresh = false;
+
     private PulseaudioClient client;
 
     private HashSet<String> lastActiveDevices = new HashSet<String>();
 
+    /**
+     * state of the devices at the previous poll by their name, see {@link #getDeviceState}
+     */
+    private Map<String, String> lastDeviceStates = new HashMap<String, String>();
+
     private ScheduledFuture<?> pollingJob;
     private Runnable pollingRunnable = new Runnable() {
         @Override
         public void run() {
+            refresh(!partialRefresh);
+        }
+    };
+
+    /**
+     * updates the devices and notifies the listeners about the changed devices
+     *
+     * @param full update all types of devices, otherwise only the types the bridge has things for
+     */
+    private synchronized void refresh(boolean full) {
+        if (full) {
             client.update();
-            for (AbstractAudioDeviceConfig device : client.getItems()) {
-                if (lastActiveDevices != null && lastActiveDevices.contains(device.getPaName())) {
-                    for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceStateChanged(getThing().getUID(), device);
-                        } catch (Exception e) {
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                        }
+        } else {
+            client.update(getChildItemTypes());
+        }
+        Set<String> removedDevices = new HashSet<String>(lastDeviceStates.keySet());
+        int changedDevices = 0;
+        for (AbstractAudioDeviceConfig device : client.getItems()) {
+            removedDevices.remove(device.getPaName());
+            String deviceState = getDeviceState(device);
+            if (deviceState.equals(lastDeviceStates.put(device.getPaName(), deviceState))) {
+                continue;
+            }
+            changedDevices++;
+            if (lastActiveDevices != null && lastActiveDevices.contains(device.getPaName())) {
+                for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
+                    try {
+                        deviceStatusListener.onDeviceStateChanged(getThing().getUID(), device);
+                    } catch (Exception e) {
+                        logger.error("An exception occurred while calling the DeviceStatusListener", e);
                     }
-                } else {
-                    for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceAdded(getThing(), device);
-                            deviceStatusListener.onDeviceStateChanged(getThing().getUID(), device);
-                        } catch (Exception e) {
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                        }
-                        lastActiveDevices.add(device.getPaName());
+                }
+            } else {
+                for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
+                    try {
+                        deviceStatusListener.onDeviceAdded(getThing(), device);
+                        deviceStatusListener.onDeviceStateChanged(getThing().getUID(), device);
+                    } catch (Exception e) {
+                        logger.error("An exception occurred while calling the DeviceStatusListener", e);
                     }
+                    lastActiveDevices.add(device.getPaName());
                 }
             }
         }
-    };
+        for (String name : removedDevices) {
+            lastDeviceStates.remove(name);
+        }
+        logger.trace("Pulseaudio server {}: {} devices changed, {} devices removed", host, changedDevices,
+                removedDevices.size());
+    }
+
+    /**
+     * returns the state of a device that is shown in the channels of its thing
+     */
+    private String getDeviceState(AbstractAudioDeviceConfig device) {
+        StringBuilder state = new StringBuilder();
+        state.append(device.getClass().getSimpleName()).append('|').append(device.getVolume()).append('|')
+                .append(device.isMuted()).append('|').append(device.getState());
+        if (device instanceof SinkInput && ((SinkInput) device).getSink() != null) {
+            state.append('|').append(((SinkInput) device).getSink().getPaName());
+        }
+        if (device instanceof Sink) {
+            state.append('|').append(((Sink) device).getCombinedSinkNames());
+        }
+        return state.toString();
+    }
+
+    /**
+     * returns the types of devices the things of this bridge are for
+     */
+    private Set<Class<? extends AbstractAudioDeviceConfig>> getChildItemTypes() {
+        Set<Class<? extends AbstractAudioDeviceConfig>> itemTypes = new HashSet<>();
+        for (Thing thing : getThing().getThings()) {
+            if (SINK_THING_TYPE.equals(thing.getThingTypeUID())
+                    || COMBINED_SINK_THING_TYPE.equals(thing.getThingTypeUID())) {
+                itemTypes.add(Sink.class);
+            } else if (SOURCE_THING_TYPE.equals(thing.getThingTypeUID())) {
+                itemTypes.add(Source.class);
+            } else if (SINK_INPUT_THING_TYPE.equals(thing.getThingTypeUID())) {
+                itemTypes.add(SinkInput.class);
+            } else if (SOURCE_OUTPUT_THING_TYPE.equals(thing.getThingTypeUID())) {
+                itemTypes.add(SourceOutput.class);
+            }
+        }
+        return itemTypes;
+    }
 
     private List<DeviceStatusListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
 
@@ -94,7 +174,11 @@ public class PulseaudioBridgeHandler extends BaseBridgeHandler {
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command instanceof RefreshType) {
-            client.update();
+            // a refresh always lists all devices, so new devices are also discovered with partial refresh
+            synchronized (this) {
+                lastDeviceStates.clear();
+                refresh(true);
+            }
         } else {
             logger.warn("received invalid command for pulseaudio bridge '{}'.", host);
         }
@@ -114,6 +198,17 @@ public class PulseaudioBridgeHandler extends BaseBridgeHandler {
         return client;
     }
 
+    /**
+     * forgets the last state of a device, so it is passed on at the next poll even if it did not change, e.g. after
+     * a command was sent to the device
+     *
+     * @param name the name of the device
+     */
+    public synchronized void clearDeviceState(String name) {
+        // keep the device known, so its removal is still noticed
+        lastDeviceStates.replace(name, null);
+    }
+
     @Override
     public void initialize() {
         logger.debug("Initializing Pulseaudio handler.");
@@ -128,6 +223,9 @@ public class PulseaudioBridgeHandler extends BaseBridgeHandler {
         if (conf.get(BRIDGE_PARAMETER_REFRESH_INTERVAL) != null) {
             this.refreshInterval = ((BigDecimal) conf.get(BRIDGE_PARAMETER_REFRESH_INTERVAL)).intValue();
         }
+        if (conf.get(BRIDGE_PARAMETER_PARTIAL_REFRESH) != null) {
+            this.partialRefresh = (Boolean) conf.get(BRIDGE_PARAMETER_PARTIAL_REFRESH);
+        }
 
         if (host != null && !host.isEmpty()) {
             Runnable connectRunnable = new Runnable() {
@@ -167,6 +265,10 @@ public class PulseaudioBridgeHandler extends BaseBridgeHandler {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
+        // the new listener has to get the state of all devices with the next poll
+        synchronized (this) {
+            lastDeviceStates.clear();
+        }
         return deviceStatusListeners.add(deviceStatusListener);
     }
 
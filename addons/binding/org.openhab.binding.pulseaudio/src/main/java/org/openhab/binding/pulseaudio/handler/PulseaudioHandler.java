@@ -224,6 +224,8 @@ public class PulseaudioHandler extends BaseThingHandler implements DeviceStatusL
                 }
 
             }
+            // the device state may change back before the next poll, which must not be mistaken for no change
+            bridge.clearDeviceState(device.getPaName());
             logger.trace("updating {} to {}", channelUID, updateState);
             if (!updateState.equals(UnDefType.UNDEF)) {
                 updateState(channelUID, updateState);
@@ -16,7 +16,15 @@ import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.pulseaudio.internal.cli.Parser;
@@ -37,6 +45,9 @@ import org.slf4j.LoggerFactory;
  *
  * On the pulseaudio server the module-cli-protocol-tcp has to be loaded.
  *
+ * Modules and items are indexed by id and name. An update can be limited to some types of items, the
+ * items of the other types are kept from the previous update.
+ *
  * @author Tobias Bräutigam
  * @since 1.2.0
  */
@@ -51,6 +62,34 @@ public class PulseaudioClient {
     private List<AbstractAudioDeviceConfig> items;
     private List<Module> modules;
 
+    /**
+     * serializes the updates. The indexes are guarded by the client itself, which is only locked while a new
+     * update is parsed, not while it is requested from the server.
+     */
+    private final Object updateLock = new Object();
+
+    /**
+     * modules by their id
+     */
+    private Map<Integer, Module> modulesById = new HashMap<Integer, Module>();
+
+    /**
+     * items by their command name and id or lower case name, e.g. "sink#1" or "sink:alsa_output"
+     */
+    private Map<String, AbstractAudioDeviceConfig> itemsByKey = new HashMap<String, AbstractAudioDeviceConfig>();
+
+    /**
+     * items of any type by their lower case name
+     */
+    private Map<String, AbstractAudioDeviceConfig> itemsByName = new HashMap<String, AbstractAudioDeviceConfig>();
+
+    /**
+     * all types of items
+     */
+    public static final Set<Class<? extends AbstractAudioDeviceConfig>> ALL_ITEM_TYPES = Collections
+            .unmodifiableSet(new HashSet<Class<? extends AbstractAudioDeviceConfig>>(
+                    Arrays.asList(Sink.class, Source.class, SinkInput.class, SourceOutput.class)));
+
     /**
      * corresponding name to execute actions on sink items
      */
@@ -134,16 +173,88 @@ public class PulseaudioClient {
      * updates the item states and their relationships
      */
     public void update() {
-        modules.clear();
-        modules.addAll(Parser.parseModules(listModules()));
+        update(ALL_ITEM_TYPES);
+    }
+
+    /**
+     * updates the states of the given types of items and the relationships of all items. The items of the
+     * other types are kept from the previous update.
+     *
+     * @param itemTypes the types of items to list from the server, e.g. {@link Sink}
+     */
+    public void update(Set<Class<? extends AbstractAudioDeviceConfig>> itemTypes) {
+        synchronized (updateLock) {
+            // the lists are requested before the lookups are locked, so lookups never wait for the server
+            String rawModules = listModules();
+            String rawSinks = itemTypes.contains(Sink.class) ? listSinks() : null;
+            String rawSources = itemTypes.contains(Source.class) ? listSources() : null;
+            String rawSinkInputs = itemTypes.contains(SinkInput.class) ? listSinkInputs() : null;
+            String rawSourceOutputs = itemTypes.contains(SourceOutput.class) ? listSourceOutputs() : null;
+
+            synchronized (this) {
+                List<AbstractAudioDeviceConfig> previousItems = items;
+
+                modules = Parser.parseModules(rawModules);
+                modulesById.clear();
+                for (Module module : modules) {
+                    if (!modulesById.containsKey(module.getId())) {
+                        modulesById.put(module.getId(), module);
+                    }
+                }
+
+                // the items are indexed while they are added, as parsing e.g. sink-inputs looks up their sinks
+                items = new ArrayList<AbstractAudioDeviceConfig>(previousItems.size());
+                itemsByKey.clear();
+                itemsByName.clear();
+                addItems(rawSinks != null ? Parser.parseSinks(rawSinks, this) : previousItems, Sink.class);
+                addItems(rawSources != null ? Parser.parseSources(rawSources, this) : previousItems, Source.class);
+                addItems(rawSinkInputs != null ? Parser.parseSinkInputs(rawSinkInputs, this) : previousItems,
+                        SinkInput.class);
+                addItems(rawSourceOutputs != null ? Parser.parseSourceOutputs(rawSourceOutputs, this)
+                        : previousItems, SourceOutput.class);
+
+                logger.debug("Pulseaudio server {}: {} modules and {} items updated", host, modules.size(),
+                        items.size());
+            }
+        }
+    }
+
+    private void addItems(Collection<? extends AbstractAudioDeviceConfig> newItems,
+            Class<? extends AbstractAudioDeviceConfig> itemType) {
+        for (AbstractAudioDeviceConfig item : newItems) {
+            if (!itemType.isInstance(item)) {
+                continue;
+            }
+            items.add(item);
+            // keep the first item for duplicate keys, like the lookups did before indexing
+            String itemCommandName = getItemCommandName(item);
+            putIfAbsent(itemsByKey, getItemKey(itemCommandName, item.getId()), item);
+            putIfAbsent(itemsByKey, getItemKey(itemCommandName, item.getPaName()), item);
+            putIfAbsent(itemsByName, item.getPaName().toLowerCase(Locale.ENGLISH), item);
+        }
+    }
+
+    private static void putIfAbsent(Map<String, AbstractAudioDeviceConfig> index, String key,
+            AbstractAudioDeviceConfig item) {
+        if (!index.containsKey(key)) {
+            index.put(key, item);
+        }
+    }
+
+    private static String getItemKey(String itemCommandName, int id) {
+        return itemCommandName + "#" + id;
+    }
+
+    private static String getItemKey(String itemCommandName, String name) {
+        return itemCommandName + ":" + name.toLowerCase(Locale.ENGLISH);
+    }
 
-        items.clear();
-        items.addAll(Parser.parseSinks(listSinks(), this));
-        items.addAll(Parser.parseSources(listSources(), this));
-        items.addAll(Parser.parseSinkInputs(listSinkInputs(), this));
-        items.addAll(Parser.parseSourceOutputs(listSourceOutputs(), this));
+    private synchronized AbstractAudioDeviceConfig getItem(String itemCommandName, String name) {
+        return name == null ? null : itemsByKey.get(getItemKey(itemCommandName, name));
+    }
 
-        logger.debug("Pulseaudio server {}: {} modules and {} items updated", host, modules.size(), items.size());
+    private synchronized AbstractAudioDeviceConfig getItem(String itemCommandName, int id) {
+        return itemsByKey.get(getItemKey(itemCommandName, id));
     }
 
     private String listModules() {
@@ -172,13 +283,8 @@ public class PulseaudioClient {
      * @param id
      * @return the corresponding {@link Module} to the given <code>id</code>
      */
-    public Module getModule(int id) {
-        for (Module module : modules) {
-            if (module.getId() == id) {
-                return module;
-            }
-        }
-        return null;
+    public synchronized Module getModule(int id) {
+        return modulesById.get(id);
     }
 
     /**
@@ -198,12 +304,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link Sink} to the given <code>name</code>
      */
     public Sink getSink(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name) && item instanceof Sink) {
-                return (Sink) item;
-            }
-        }
-        return null;
+        return (Sink) getItem(ITEM_SINK, name);
     }
 
     /**
@@ -212,12 +313,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link Sink} to the given <code>id</code>
      */
     public Sink getSink(int id) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getId() == id && item instanceof Sink) {
-                return (Sink) item;
-            }
-        }
-        return null;
+        return (Sink) getItem(ITEM_SINK, id);
     }
 
     /**
@@ -226,12 +322,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link SinkInput} to the given <code>name</code>
      */
     public SinkInput getSinkInput(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name) && item instanceof SinkInput) {
-                return (SinkInput) item;
-            }
-        }
-        return null;
+        return (SinkInput) getItem(ITEM_SINK_INPUT, name);
     }
 
     /**
@@ -240,12 +331,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link SinkInput} to the given <code>id</code>
      */
     public SinkInput getSinkInput(int id) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getId() == id && item instanceof SinkInput) {
-                return (SinkInput) item;
-            }
-        }
-        return null;
+        return (SinkInput) getItem(ITEM_SINK_INPUT, id);
     }
 
     /**
@@ -254,12 +340,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link Source} to the given <code>name</code>
      */
     public Source getSource(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name) && item instanceof Source) {
-                return (Source) item;
-            }
-        }
-        return null;
+        return (Source) getItem(ITEM_SOURCE, name);
     }
 
     /**
@@ -268,12 +349,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link Source} to the given <code>id</code>
      */
     public Source getSource(int id) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getId() == id && item instanceof Source) {
-                return (Source) item;
-            }
-        }
-        return null;
+        return (Source) getItem(ITEM_SOURCE, id);
     }
 
     /**
@@ -282,12 +358,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link SourceOutput} to the given <code>name</code>
      */
     public SourceOutput getSourceOutput(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name) && item instanceof SourceOutput) {
-                return (SourceOutput) item;
-            }
-        }
-        return null;
+        return (SourceOutput) getItem(ITEM_SOURCE_OUTPUT, name);
     }
 
     /**
@@ -296,12 +367,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link SourceOutput} to the given <code>id</code>
      */
     public SourceOutput getSourceOutput(int id) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getId() == id && item instanceof SourceOutput) {
-                return (SourceOutput) item;
-            }
-        }
-        return null;
+        return (SourceOutput) getItem(ITEM_SOURCE_OUTPUT, id);
     }
 
     /**
@@ -309,16 +375,16 @@ public class PulseaudioClient {
      *
      * @return the corresponding {@link AbstractAudioDeviceConfig} to the given <code>name</code>
      */
-    public AbstractAudioDeviceConfig getGenericAudioItem(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name)) {
-                return item;
-            }
-        }
-        return null;
+    public synchronized AbstractAudioDeviceConfig getGenericAudioItem(String name) {
+        return name == null ? null : itemsByName.get(name.toLowerCase(Locale.ENGLISH));
     }
 
-    public List<AbstractAudioDeviceConfig> getItems() {
+    /**
+     * returns the items of the last update, the returned list is not changed by later updates
+     *
+     * @return
+     */
+    public synchronized List<AbstractAudioDeviceConfig> getItems() {
         return items;
     }
 
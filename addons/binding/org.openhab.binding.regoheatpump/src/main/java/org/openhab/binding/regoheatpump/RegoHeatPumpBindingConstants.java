@@ -31,6 +31,7 @@ public class RegoHeatPumpBindingConstants {
     public static final String CHANNEL_GROUP_CONTROL_DATA = "controlData#";
     public static final String CHANNEL_GROUP_DEVICE_VALUES = "deviceValues#";
     public static final String CHANNEL_GROUP_SETTINGS = "settings#";
+    public static final String CHANNEL_GROUP_FRONT_PANEL = "frontPanel#";
     public static final String CHANNEL_LAST_ERROR = "status#lastError";
     public static final String CHANNEL_LAST_ERROR_TIMESTAMP = CHANNEL_LAST_ERROR + "Timestamp";
     public static final String CHANNEL_LAST_ERROR_TYPE = CHANNEL_LAST_ERROR + "Type";
@@ -13,9 +13,9 @@ import static org.openhab.binding.regoheatpump.RegoHeatPumpBindingConstants.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.Collection;
-import java.util.Date;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -51,31 +51,75 @@ import org.slf4j.LoggerFactory;
  * The {@link Rego6xxHeatPumpHandler} is responsible for handling commands, which are
  * sent to one of the channels.
  *
+ * Register values are cached by the command used to read them, so channels reading the same
+ * register share one read. Each refresh reads the channels ordered by their {@link RefreshClass},
+ * and rarely changing registers are only read every few refreshes.
+ *
  * @author Boris Krivonog - Initial contribution
  */
 abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
 
-    private static final class ChannelDescriptor {
-        private Date lastUpdate;
+    /**
+     * Refresh classes in order of priority. The interval is the number of refresh intervals a
+     * register value of the class is cached.
+     */
+    private enum RefreshClass {
+        TEMPERATURES(1),
+        DEVICE_STATES(1),
+        CONTROL_DATA(1),
+        STATUS(5),
+        SETTINGS(10);
+
+        private final int intervals;
+
+        private RefreshClass(int intervals) {
+            this.intervals = intervals;
+        }
+
+        private static RefreshClass of(String channelIID) {
+            if (channelIID.startsWith(CHANNEL_GROUP_SENSOR_VALUES)) {
+                return TEMPERATURES;
+            } else if (channelIID.startsWith(CHANNEL_GROUP_DEVICE_VALUES)
+                    || channelIID.startsWith(CHANNEL_GROUP_FRONT_PANEL)) {
+                return DEVICE_STATES;
+            } else if (channelIID.startsWith(CHANNEL_GROUP_SETTINGS)) {
+                return SETTINGS;
+            } else if (channelIID.startsWith(CHANNEL_LAST_ERROR)) {
+                return STATUS;
+            }
+            return CONTROL_DATA;
+        }
+    }
+
+    private static final class RegisterValue {
+        private long lastUpdate;
         private byte[] cachedValue;
 
-        public byte[] cachedValueIfNotExpired(int refreshTime) {
-            if (lastUpdate == null || (lastUpdate.getTime() + refreshTime * 900 < new Date().getTime())) {
+        public byte[] cachedValueIfNotExpired(long maxAge) {
+            if (cachedValue == null || lastUpdate + maxAge < System.currentTimeMillis()) {
                 return null;
             }
 
             return cachedValue;
         }
 
+        public long age(long now) {
+            return now - lastUpdate;
+        }
+
         public void setValue(byte[] value) {
-            lastUpdate = new Date();
+            lastUpdate = System.currentTimeMillis();
             cachedValue = value;
         }
     }
 
     private final Logger logger = LoggerFactory.getLogger(Rego6xxHeatPumpHandler.class);
-    private final Map<String, ChannelDescriptor> channelDescriptors = new HashMap<>();
+    private final Map<String, RegisterValue> registerValues = new HashMap<>();
     private int refreshInterval;
+    // Statistics of the current refresh, guarded by this
+    private int registerReads;
+    private long busTime;
+    private long maxValueAge;
     private RegoConnection connection;
     private RegoRegisterMapper mapper;
     private ScheduledFuture<?> scheduledRefreshFuture;
@@ -111,8 +155,8 @@ abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
             scheduledRefreshFuture = null;
         }
 
-        synchronized (channelDescriptors) {
-            channelDescriptors.clear();
+        synchronized (registerValues) {
+            registerValues.clear();
         }
 
         connection = null;
@@ -157,12 +201,20 @@ abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
         }
     }
 
-    private Collection<String> linkedChannels() {
+    private List<String> linkedChannels() {
         return thing.getChannels().stream().map(Channel::getUID).map(ChannelUID::getId).filter(this::isLinked)
-                .collect(Collectors.toList());
+                .sorted(Comparator.comparing(RefreshClass::of)).collect(Collectors.toList());
     }
 
     private void refresh() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            registerReads = 0;
+            busTime = 0;
+            maxValueAge = 0;
+        }
+
+        // Channels are ordered by priority, so temperatures are read first
         for (String channelIID : linkedChannels()) {
             if (Thread.interrupted()) {
                 break;
@@ -174,6 +226,15 @@ abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
                 break;
             }
         }
+
+        if (logger.isDebugEnabled()) {
+            long duration = System.currentTimeMillis() - start;
+            synchronized (this) {
+                logger.debug("Refresh took {} ms, {} register reads, bus busy {} ms ({}% of refresh interval), "
+                        + "oldest cached value {} s", duration, registerReads, busTime,
+                        busTime / (refreshInterval * 10L), maxValueAge / 1000);
+            }
+        }
     }
 
     private void readAndUpdateLastErrorType() {
@@ -221,8 +282,8 @@ abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
 
             logger.warn("Accessing value for channel '{}' failed.", channelIID, e);
 
-            synchronized (channelDescriptors) {
-                channelDescriptors.clear();
+            synchronized (registerValues) {
+                registerValues.clear();
             }
 
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
@@ -273,14 +334,14 @@ abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
         }
     }
 
-    private ChannelDescriptor channelDescriptorForChannel(String channelIID) {
-        synchronized (channelDescriptors) {
-            ChannelDescriptor descriptor = channelDescriptors.get(channelIID);
-            if (descriptor == null) {
-                descriptor = new ChannelDescriptor();
-                channelDescriptors.put(channelIID, descriptor);
+    private RegisterValue registerValueForCommand(String register) {
+        synchronized (registerValues) {
+            RegisterValue value = registerValues.get(register);
+            if (value == null) {
+                value = new RegisterValue();
+                registerValues.put(register, value);
             }
-            return descriptor;
+            return value;
         }
     }
 
@@ -303,19 +364,20 @@ abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
     private <T> T executeCommandInternal(String channelIID, byte[] command, ResponseParser<T> parser)
             throws Rego6xxProtocolException, IOException, InterruptedException {
 
-        // CHANNEL_LAST_ERROR_CODE and CHANNEL_LAST_ERROR_TIMESTAMP are read from same
-        // register. To prevent accessing same register twice when both channels are linked,
-        // use same name for both so only a single fetch will be triggered.
-        String mappedChannelIID = (CHANNEL_LAST_ERROR_TYPE.equals(channelIID)
-                || CHANNEL_LAST_ERROR_TIMESTAMP.equals(channelIID)) ? CHANNEL_LAST_ERROR : channelIID;
-
-        // Use transient channel descriptor for null (not cached) channels.
-        ChannelDescriptor descriptor = channelIID == null ? new ChannelDescriptor()
-                : channelDescriptorForChannel(mappedChannelIID);
+        // Values are cached by register, so channels reading the same register (e.g. CHANNEL_LAST_ERROR_TYPE
+        // and CHANNEL_LAST_ERROR_TIMESTAMP) trigger a single fetch. Use transient value for null (not cached)
+        // channels.
+        String register = DatatypeConverter.printHexBinary(command);
+        RegisterValue registerValue = channelIID == null ? new RegisterValue() : registerValueForCommand(register);
 
-        byte[] cachedValue = descriptor.cachedValueIfNotExpired(refreshInterval);
+        // Values are considered expired slightly before the refresh interval(s) passed.
+        long maxAge = channelIID == null ? 0 : refreshInterval * RefreshClass.of(channelIID).intervals * 900L;
+        byte[] cachedValue = registerValue.cachedValueIfNotExpired(maxAge);
         if (cachedValue != null) {
-            logger.debug("Cache did not yet expire, using cached value for {}", mappedChannelIID);
+            long age = registerValue.age(System.currentTimeMillis());
+            maxValueAge = Math.max(maxValueAge, age);
+            logger.debug("Cache did not yet expire, using {} ms old value of register {} for {}", age, register,
+                    channelIID);
             return parser.parse(cachedValue);
         }
 
@@ -343,6 +405,9 @@ abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
             logger.debug("Sending {}", DatatypeConverter.printHexBinary(command));
         }
 
+        long sendTime = System.currentTimeMillis();
+        registerReads++;
+
         // Send command
         OutputStream outputStream = connection.outputStream();
         outputStream.write(command);
@@ -364,6 +429,8 @@ abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
 
         } while (pos < response.length && timeout > System.currentTimeMillis());
 
+        busTime += System.currentTimeMillis() - sendTime;
+
         if (pos < response.length) {
             logger.debug("Response not received, read {} bytes => {}", pos, response);
 
@@ -378,7 +445,7 @@ abstract class Rego6xxHeatPumpHandler extends BaseThingHandler {
         T result = parser.parse(response);
 
         // If reading/parsing was done successfully, cache response payload.
-        descriptor.setValue(response);
+        registerValue.setValue(response);
 
         return result;
     }
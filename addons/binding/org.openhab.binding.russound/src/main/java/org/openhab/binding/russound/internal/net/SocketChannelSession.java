@@ -11,15 +11,19 @@ package org.openhab.binding.russound.internal.net;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
-import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,11 +32,29 @@ import org.slf4j.LoggerFactory;
  * {@link #sendCommand(String)} and responses will be received on any {@link SocketSessionListener}. This implementation
  * of {@link SocketSession} communicates using a {@link SocketChannel} connection.
  *
+ * All sessions share a single {@link SocketReactor} thread that reads from the connections without blocking. The
+ * responses are dispatched to the listeners on the binding's thread pool, in order for each session.
+ *
  * @author Tim Roberts
  */
 public class SocketChannelSession implements SocketSession {
     private final Logger logger = LoggerFactory.getLogger(SocketChannelSession.class);
 
+    /**
+     * The name of the thread pool the responses are dispatched on
+     */
+    private static final String THREAD_POOL_NAME = "russound";
+
+    /**
+     * The number of undispatched responses at which reading from the connection is suspended
+     */
+    private static final int MAX_QUEUED_RESPONSES = 50;
+
+    /**
+     * The time to wait before retrying a write when the send buffer of the socket is full
+     */
+    private static final int WRITE_RETRY_MILLIS = 10;
+
     /**
      * The host/ip address to connect to
      */
@@ -44,29 +66,34 @@ public class SocketChannelSession implements SocketSession {
     private final int port;
 
     /**
-     * The actual socket being used. Will be null if not connected
+     * The actual connection being used. Will be null if not connected
      */
-    private final AtomicReference<SocketChannel> socketChannel = new AtomicReference<SocketChannel>();
+    private final AtomicReference<Connection> connection = new AtomicReference<Connection>();
 
     /**
-     * The responses read from the {@link #responseReader}
+     * The responses read from the {@link #connection}
      */
-    private final BlockingQueue<Object> responses = new ArrayBlockingQueue<Object>(50);
+    private final Queue<Object> responses = new ConcurrentLinkedQueue<Object>();
 
     /**
-     * The {@link SocketSessionListener} that the {@link #dispatcher} will call
+     * The number of responses in {@link #responses}
      */
-    private List<SocketSessionListener> sessionListeners = new CopyOnWriteArrayList<SocketSessionListener>();
+    private final AtomicInteger queuedResponses = new AtomicInteger();
 
     /**
-     * The thread dispatching responses - will be null if not connected
+     * Whether the {@link #dispatcher} is scheduled or running
      */
-    private Thread dispatchingThread = null;
+    private final AtomicBoolean dispatching = new AtomicBoolean(false);
 
     /**
-     * The thread processing responses - will be null if not connected
+     * The dispatcher of responses from {@link #responses}
+     */
+    private final Runnable dispatcher = new Dispatcher();
+
+    /**
+     * The {@link SocketSessionListener} that the {@link #dispatcher} will call
      */
-    private Thread responseThread = null;
+    private List<SocketSessionListener> sessionListeners = new CopyOnWriteArrayList<SocketSessionListener>();
 
     /**
      * Creates the socket session from the given host and port
@@ -92,6 +119,9 @@ public class SocketChannelSession implements SocketSession {
             throw new IllegalArgumentException("listener cannot be null");
         }
         sessionListeners.add(listener);
+
+        // responses may have piled up while there was no listener
+        scheduleDispatch();
     }
 
     @Override
@@ -114,20 +144,23 @@ public class SocketChannelSession implements SocketSession {
         disconnect();
 
         final SocketChannel channel = SocketChannel.open();
-        channel.configureBlocking(true);
+        try {
+            channel.configureBlocking(true);
 
-        logger.debug("Connecting to {}:{}", host, port);
-        channel.socket().connect(new InetSocketAddress(host, port), timeout);
-
-        socketChannel.set(channel);
+            logger.debug("Connecting to {}:{}", host, port);
+            channel.socket().connect(new InetSocketAddress(host, port), timeout);
+            channel.configureBlocking(false);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
 
-        responses.clear();
+        final Connection newConnection = new Connection(channel);
+        connection.set(newConnection);
 
-        dispatchingThread = new Thread(new Dispatcher());
-        responseThread = new Thread(new ResponseReader());
+        clearResponses();
 
-        dispatchingThread.start();
-        responseThread.start();
+        SocketReactor.register(newConnection);
     }
 
     @Override
@@ -135,23 +168,20 @@ public class SocketChannelSession implements SocketSession {
         if (isConnected()) {
             logger.debug("Disconnecting from {}:{}", host, port);
 
-            final SocketChannel channel = socketChannel.getAndSet(null);
-            channel.close();
-
-            dispatchingThread.interrupt();
-            dispatchingThread = null;
-
-            responseThread.interrupt();
-            responseThread = null;
+            final Connection oldConnection = connection.getAndSet(null);
+            if (oldConnection != null) {
+                // closing the channel cancels its registration with the reactor
+                oldConnection.channel.close();
+            }
 
-            responses.clear();
+            clearResponses();
         }
     }
 
     @Override
     public boolean isConnected() {
-        final SocketChannel channel = socketChannel.get();
-        return channel != null && channel.isConnected();
+        final Connection current = connection.get();
+        return current != null && current.channel.isConnected();
     }
 
     @Override
@@ -170,146 +200,321 @@ public class SocketChannelSession implements SocketSession {
 
         ByteBuffer toSend = ByteBuffer.wrap((command + "\r\n").getBytes());
 
-        final SocketChannel channel = socketChannel.get();
-        if (channel == null) {
+        final Connection current = connection.get();
+        if (current == null) {
             logger.debug("Cannot send command '{}' - socket channel was closed", command);
         } else {
             logger.debug("Sending Command: '{}'", command);
-            channel.write(toSend);
+            current.write(toSend);
         }
     }
 
+    private void clearResponses() {
+        responses.clear();
+        queuedResponses.set(0);
+    }
+
     /**
-     * This is the runnable that will read from the socket and add messages to the responses queue (to be processed by
-     * the dispatcher)
-     *
-     * @author Tim Roberts
-     *
+     * Schedules the {@link #dispatcher} on the thread pool, unless it is already scheduled, there is nothing to
+     * dispatch or there are no listeners yet
      */
-    private class ResponseReader implements Runnable {
+    private void scheduleDispatch() {
+        if (!responses.isEmpty() && !sessionListeners.isEmpty() && dispatching.compareAndSet(false, true)) {
+            ThreadPoolManager.getPool(THREAD_POOL_NAME).execute(dispatcher);
+        }
+    }
+
+    /**
+     * A connection of this session, which is registered with the {@link SocketReactor}. A 'response' is anything that
+     * ends with a carriage-return/newline combo. Additionally, the special "Login: " and "Password: " prompts are
+     * treated as responses for purposes of logging in.
+     */
+    private class Connection {
+        private final SocketChannel channel;
 
         /**
-         * Runs the logic to read from the socket until {@link #isRunning} is false. A 'response' is anything that ends
-         * with a carriage-return/newline combo. Additionally, the special "Login: " and "Password: " prompts are
-         * treated as responses for purposes of logging in.
+         * The partial response read so far - only used by the reactor thread
          */
-        @Override
-        public void run() {
-            final StringBuilder sb = new StringBuilder(100);
-            final ByteBuffer readBuffer = ByteBuffer.allocate(1024);
+        private final StringBuilder sb = new StringBuilder(100);
 
-            responses.clear();
+        /**
+         * The registration with the reactor - only used by the reactor thread
+         */
+        private SelectionKey key;
 
-            while (!Thread.currentThread().isInterrupted()) {
-                try {
-                    // if reader is null, sleep and try again
-                    if (readBuffer == null) {
-                        Thread.sleep(250);
-                        continue;
-                    }
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
 
-                    final SocketChannel channel = socketChannel.get();
-                    if (channel == null) {
-                        // socket was closed
+        /**
+         * Writes the whole buffer to the non-blocking channel
+         */
+        private void write(ByteBuffer toSend) throws IOException {
+            while (toSend.hasRemaining()) {
+                if (channel.write(toSend) == 0) {
+                    try {
+                        Thread.sleep(WRITE_RETRY_MILLIS);
+                    } catch (InterruptedException e) {
                         Thread.currentThread().interrupt();
-                        break;
+                        throw new IOException("Interrupted while sending command");
                     }
+                }
+            }
+        }
 
-                    int bytesRead = channel.read(readBuffer);
-                    if (bytesRead == -1) {
-                        responses.put(new IOException("server closed connection"));
-                        break;
-                    } else if (bytesRead == 0) {
-                        readBuffer.clear();
-                        continue;
-                    }
+        /**
+         * Reads the available data into the given buffer and decodes the responses from it. Called by the reactor
+         * thread when the channel is readable.
+         */
+        private void read(ByteBuffer readBuffer) {
+            try {
+                final int bytesRead = channel.read(readBuffer);
+                if (bytesRead == -1) {
+                    key.cancel();
+                    addResponse(new IOException("server closed connection"));
+                    return;
+                }
 
-                    readBuffer.flip();
-                    while (readBuffer.hasRemaining()) {
-                        final char ch = (char) readBuffer.get();
-                        sb.append(ch);
-                        if (ch == '\n' || ch == ' ') {
-                            final String str = sb.toString();
-                            if (str.endsWith("\r\n") || str.endsWith("Login: ") || str.endsWith("Password: ")) {
-                                sb.setLength(0);
-                                final String response = str.substring(0, str.length() - 2);
-                                responses.put(response);
-                            }
-                        }
+                readBuffer.flip();
+                while (readBuffer.hasRemaining()) {
+                    final char ch = (char) readBuffer.get();
+                    sb.append(ch);
+                    if ((ch == '\n' && endsWith("\r\n"))
+                            || (ch == ' ' && (endsWith("Login: ") || endsWith("Password: ")))) {
+                        final String response = sb.substring(0, sb.length() - 2);
+                        sb.setLength(0);
+                        addResponse(response);
                     }
+                }
+            } catch (IOException e) {
+                key.cancel();
+                addResponse(e);
+            }
+        }
+
+        private boolean endsWith(String suffix) {
+            final int offset = sb.length() - suffix.length();
+            if (offset < 0) {
+                return false;
+            }
+            for (int i = 0; i < suffix.length(); i++) {
+                if (sb.charAt(offset + i) != suffix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
 
-                    readBuffer.flip();
+        /**
+         * Queues a response for dispatching, suspending further reads if too many responses are waiting
+         */
+        private void addResponse(Object response) {
+            if (connection.get() != this) {
+                // the session was disconnected or reconnected in the meantime
+                return;
+            }
+            responses.add(response);
+            if (queuedResponses.incrementAndGet() >= MAX_QUEUED_RESPONSES && key != null && key.isValid()) {
+                key.interestOps(0);
+            }
+            scheduleDispatch();
+        }
 
-                } catch (InterruptedException e) {
-                    // Ending thread execution
-                    Thread.currentThread().interrupt();
-                } catch (AsynchronousCloseException e) {
-                    // socket was closed by another thread but interrupt our loop anyway
-                    Thread.currentThread().interrupt();
+        /**
+         * Called when a response has been taken from the queue - resumes reading if it was suspended
+         */
+        private void responseTaken() {
+            if (queuedResponses.decrementAndGet() == MAX_QUEUED_RESPONSES - 1 && connection.get() == this) {
+                try {
+                    SocketReactor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (key != null && key.isValid()) {
+                                key.interestOps(SelectionKey.OP_READ);
+                            }
+                        }
+                    });
                 } catch (IOException e) {
-                    // set before pushing the response since we'll likely call back our stop
-                    Thread.currentThread().interrupt();
-
-                    try {
-                        responses.put(e);
-                        break;
-                    } catch (InterruptedException e1) {
-                        // Do nothing - probably shutting down
-                        // Since we set isRunning to false, will drop out of loop and end the thread
-                    }
+                    logger.debug("Unable to resume reading from {}:{}: {}", host, port, e.getMessage());
                 }
             }
         }
     }
 
     /**
-     * The dispatcher runnable is responsible for reading the response queue and dispatching it to the current callable.
-     * Since the dispatcher is ONLY started when a callable is set, responses may pile up in the queue and be dispatched
-     * when a callable is set. Unlike the socket reader, this can be assigned to another thread (no state outside of the
-     * class).
+     * The dispatcher runnable is responsible for reading the response queue and dispatching it to the current
+     * listeners. Since the dispatcher is ONLY scheduled when a listener is set, responses may pile up in the queue and
+     * be dispatched when a listener is set. Only one instance per session runs at a time, so the responses are
+     * dispatched in order.
      *
      * @author Tim Roberts
      */
     private class Dispatcher implements Runnable {
         /**
-         * Runs the logic to dispatch any responses to the current listeners until {@link #isRunning} is false.
+         * Runs the logic to dispatch the queued responses to the current listeners until the queue is empty
          */
         @Override
         public void run() {
-            while (!Thread.currentThread().isInterrupted()) {
-                try {
-                    final SocketSessionListener[] listeners = sessionListeners.toArray(new SocketSessionListener[0]);
+            try {
+                Object response;
+                while (!sessionListeners.isEmpty() && (response = responses.poll()) != null) {
+                    final Connection current = connection.get();
+                    if (current != null) {
+                        current.responseTaken();
+                    }
+                    dispatch(response);
+                }
+            } finally {
+                dispatching.set(false);
+            }
+
+            // a response might have been added after the queue was found empty
+            scheduleDispatch();
+        }
 
-                    // if no listeners, we don't want to start dispatching yet.
-                    if (listeners.length == 0) {
-                        Thread.sleep(250);
-                        continue;
+        private void dispatch(Object response) {
+            try {
+                final SocketSessionListener[] listeners = sessionListeners.toArray(new SocketSessionListener[0]);
+                if (response instanceof String) {
+                    logger.debug("Dispatching response: {}", response);
+                    for (SocketSessionListener listener : listeners) {
+                        listener.responseReceived((String) response);
                     }
+                } else if (response instanceof IOException) {
+                    logger.debug("Dispatching exception: {}", response);
+                    for (SocketSessionListener listener : listeners) {
+                        listener.responseException((IOException) response);
+                    }
+                } else {
+                    logger.warn("Unknown response class: {}", response);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.debug("Uncaught exception {}: {}", e.getMessage(), e);
+            }
+        }
+    }
 
-                    final Object response = responses.poll(1, TimeUnit.SECONDS);
+    /**
+     * The single thread, shared by all sessions of the binding, that reads from the connections using a
+     * {@link Selector}. The data is read into one reusable buffer and decoded directly into responses. The thread ends
+     * when no connection has been registered for a while and is started again by the next registration.
+     */
+    private static class SocketReactor implements Runnable {
+        private static final long IDLE_TIMEOUT_MILLIS = 10000;
 
-                    if (response != null) {
-                        if (response instanceof String) {
-                            logger.debug("Dispatching response: {}", response);
-                            for (SocketSessionListener listener : listeners) {
-                                listener.responseReceived((String) response);
-                            }
-                        } else if (response instanceof IOException) {
-                            logger.debug("Dispatching exception: {}", response);
-                            for (SocketSessionListener listener : listeners) {
-                                listener.responseException((IOException) response);
+        /**
+         * The running reactor - guarded by the class
+         */
+        private static SocketReactor instance;
+
+        private final Logger logger = LoggerFactory.getLogger(SocketReactor.class);
+        private final Selector selector;
+        private final Queue<Connection> registrations = new ConcurrentLinkedQueue<Connection>();
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(8192);
+        private long idleSince;
+
+        private SocketReactor() throws IOException {
+            selector = Selector.open();
+        }
+
+        /**
+         * Registers the connection for reading, starting the reactor if needed
+         */
+        static synchronized void register(Connection connection) throws IOException {
+            final SocketReactor reactor = getInstance();
+            reactor.registrations.add(connection);
+            reactor.selector.wakeup();
+        }
+
+        /**
+         * Runs the task on the reactor thread, starting the reactor if needed
+         */
+        static synchronized void execute(Runnable task) throws IOException {
+            final SocketReactor reactor = getInstance();
+            reactor.tasks.add(task);
+            reactor.selector.wakeup();
+        }
+
+        private static SocketReactor getInstance() throws IOException {
+            if (instance == null) {
+                instance = new SocketReactor();
+                final Thread thread = new Thread(instance, "ESH-" + THREAD_POOL_NAME + "-SocketReactor");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            return instance;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    selector.select(IDLE_TIMEOUT_MILLIS);
+
+                    Connection connection;
+                    while ((connection = registrations.poll()) != null) {
+                        try {
+                            connection.key = connection.channel.register(selector, SelectionKey.OP_READ, connection);
+                        } catch (IOException e) {
+                            connection.addResponse(e);
+                        }
+                    }
+
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        task.run();
+                    }
+
+                    final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        final SelectionKey key = keys.next();
+                        keys.remove();
+                        try {
+                            if (key.isValid() && key.isReadable()) {
+                                ((Connection) key.attachment()).read(readBuffer);
                             }
-                        } else {
-                            logger.warn("Unknown response class: {}", response);
+                        } catch (RuntimeException e) {
+                            logger.debug("Exception reading from the socket: {}", e.getMessage(), e);
+                        } finally {
+                            readBuffer.clear();
                         }
                     }
-                } catch (InterruptedException e) {
-                    // Ending thread execution
-                    Thread.currentThread().interrupt();
-                } catch (Exception e) {
-                    logger.debug("Uncaught exception {}: {}", e.getMessage(), e);
-                    Thread.currentThread().interrupt();
+
+                    if (isIdle()) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Socket reactor stopped: {}", e.getMessage(), e);
+                synchronized (SocketReactor.class) {
+                    instance = null;
+                }
+            }
+        }
+
+        /**
+         * Stops the reactor when no connection has been registered for the idle timeout
+         */
+        private boolean isIdle() throws IOException {
+            synchronized (SocketReactor.class) {
+                if (!selector.keys().isEmpty() || !registrations.isEmpty() || !tasks.isEmpty()) {
+                    idleSince = 0;
+                    return false;
+                }
+                final long now = System.currentTimeMillis();
+                if (idleSince == 0) {
+                    idleSince = now;
+                    return false;
+                }
+                if (now - idleSince < IDLE_TIMEOUT_MILLIS) {
+                    return false;
                 }
+                instance = null;
+                selector.close();
+                return true;
             }
         }
     }
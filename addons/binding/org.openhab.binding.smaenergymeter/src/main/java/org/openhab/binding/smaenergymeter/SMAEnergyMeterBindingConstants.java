@@ -33,5 +33,11 @@ public class SMAEnergyMeterBindingConstants {
     public static final String CHANNEL_POWER_OUT = "powerOut";
     public static final String CHANNEL_ENERGY_IN = "energyIn";
     public static final String CHANNEL_ENERGY_OUT = "energyOut";
+    public static final String CHANNEL_POWER_IN_L1 = "powerInL1";
+    public static final String CHANNEL_POWER_OUT_L1 = "powerOutL1";
+    public static final String CHANNEL_POWER_IN_L2 = "powerInL2";
+    public static final String CHANNEL_POWER_OUT_L2 = "powerOutL2";
+    public static final String CHANNEL_POWER_IN_L3 = "powerInL3";
+    public static final String CHANNEL_POWER_OUT_L3 = "powerOutL3";
 
 }
@@ -9,10 +9,11 @@
 package org.openhab.binding.smaenergymeter.handler;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.net.DatagramPacket;
 import java.net.InetAddress;
 import java.net.MulticastSocket;
-import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Date;
 
@@ -22,36 +23,67 @@ import org.eclipse.smarthome.core.library.types.DecimalType;
  * The {@link EnergyMeter} class is responsible for communication with the SMA device
  * and extracting the data fields out of the received telegrams.
  *
+ * The measurements of a telegram are identified by OBIS codes. All of them are decoded in a single pass and stored
+ * by their measurement channel (e.g. 1 for 1.4.0 and 1.8.0), so receiving a telegram does not allocate any objects.
+ *
  * @author Osman Basha - Initial contribution
  */
 public class EnergyMeter {
 
-    private String multicastGroup;
-    private int port;
+    public static final String DEFAULT_MCAST_GRP = "239.12.255.254";
+    public static final int DEFAULT_MCAST_PORT = 9522;
+
+    /** OBIS measurement channels of the total and per phase purchased and grid feed-in power and energy */
+    public static final int OBIS_IN = 1;
+    public static final int OBIS_OUT = 2;
+    public static final int OBIS_IN_L1 = 21;
+    public static final int OBIS_OUT_L1 = 22;
+    public static final int OBIS_IN_L2 = 41;
+    public static final int OBIS_OUT_L2 = 42;
+    public static final int OBIS_IN_L3 = 61;
+    public static final int OBIS_OUT_L3 = 62;
+
+    /** The largest telegram that is expected */
+    public static final int MAX_TELEGRAM_SIZE = 1024;
+
+    private static final int PROTOCOL_ID = 0x6069;
+    private static final int OFFSET_DATA_LENGTH = 0x0C;
+    private static final int OFFSET_PROTOCOL_ID = 0x10;
+    private static final int OFFSET_SERIAL_NUMBER = 0x14;
+    private static final int OFFSET_MEASUREMENTS = 0x1C;
+
+    private static final int OBIS_TYPE_CURRENT = 4;
+    private static final int OBIS_TYPE_COUNTER = 8;
+    private static final int OBIS_TAG_VERSION = 0x90;
+
+    /** Current values are sent in 0.1 W */
+    private static final BigDecimal CURRENT_DIVISOR = BigDecimal.valueOf(10);
+
+    /** Counter values are sent in Ws */
+    private static final BigDecimal COUNTER_DIVISOR = BigDecimal.valueOf(3600000);
+
+    private final String multicastGroup;
+    private final int port;
 
     private String serialNumber;
+    private int serial;
     private Date lastUpdate;
 
-    private final FieldDTO powerIn;
-    private final FieldDTO energyIn;
-    private final FieldDTO powerOut;
-    private final FieldDTO energyOut;
-
-    public static final String DEFAULT_MCAST_GRP = "239.12.255.254";
-    public static final int DEFAULT_MCAST_PORT = 9522;
+    private final long[] currentValues = new long[256];
+    private final long[] currentSums = new long[256];
+    private final long[] counterValues = new long[256];
+    private int samples;
 
     public EnergyMeter(String multicastGroup, int port) {
         this.multicastGroup = multicastGroup;
         this.port = port;
-
-        powerIn = new FieldDTO(0x20, 4, 10);
-        energyIn = new FieldDTO(0x28, 8, 3600000);
-        powerOut = new FieldDTO(0x34, 4, 10);
-        energyOut = new FieldDTO(0x3C, 8, 3600000);
     }
 
+    /**
+     * Receives a single telegram. The {@link EnergyMeterListener} should be used to receive telegrams continuously.
+     */
     public void update() throws IOException {
-        byte[] bytes = new byte[600];
+        byte[] bytes = new byte[MAX_TELEGRAM_SIZE];
         try (MulticastSocket socket = new MulticastSocket(port)) {
             socket.setSoTimeout(5000);
             InetAddress address = InetAddress.getByName(multicastGroup);
@@ -60,47 +92,137 @@ public class EnergyMeter {
             DatagramPacket msgPacket = new DatagramPacket(bytes, bytes.length);
             socket.receive(msgPacket);
 
-            String sma = new String(Arrays.copyOfRange(bytes, 0x00, 0x03));
-            if (!sma.equals("SMA")) {
-                throw new IOException("Not a SMA telegram." + sma);
+            if (!update(bytes, msgPacket.getLength())) {
+                throw new IOException("Not a SMA telegram." + new String(bytes, 0, 3));
             }
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
 
-            ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOfRange(bytes, 0x14, 0x18));
-            serialNumber = String.valueOf(buffer.getInt());
+    /**
+     * Decodes a telegram, if it has been sent by this energy meter. When the serial number of this energy meter is
+     * not known yet, it is taken from the telegram.
+     *
+     * @param bytes - the received telegram
+     * @param length - the length of the received telegram
+     * @return true if the telegram has been decoded
+     */
+    public synchronized boolean update(byte[] bytes, int length) {
+        if (length < OFFSET_MEASUREMENTS || bytes[0] != 'S' || bytes[1] != 'M' || bytes[2] != 'A'
+                || getUInt16(bytes, OFFSET_PROTOCOL_ID) != PROTOCOL_ID) {
+            return false;
+        }
 
-            powerIn.updateValue(bytes);
-            energyIn.updateValue(bytes);
-            powerOut.updateValue(bytes);
-            energyOut.updateValue(bytes);
+        int telegramSerial = getInt32(bytes, OFFSET_SERIAL_NUMBER);
+        if (serialNumber == null) {
+            serial = telegramSerial;
+            serialNumber = String.valueOf(serial);
+        } else if (serial != telegramSerial) {
+            return false;
+        }
 
-            lastUpdate = new Date(System.currentTimeMillis());
-        } catch (Exception e) {
-            throw new IOException(e);
+        // The data length counts the bytes following the length and tag fields
+        int end = Math.min(length, OFFSET_PROTOCOL_ID + getUInt16(bytes, OFFSET_DATA_LENGTH));
+        int position = OFFSET_MEASUREMENTS;
+        while (position + 4 <= end) {
+            // The software version is tagged 90 00 00 00 and followed by a 4 byte value
+            if ((bytes[position] & 0xFF) == OBIS_TAG_VERSION) {
+                position += 8;
+                continue;
+            }
+
+            int channel = bytes[position + 1] & 0xFF;
+            int type = bytes[position + 2] & 0xFF;
+            position += 4;
+
+            if (type == OBIS_TYPE_CURRENT && position + 4 <= end) {
+                long value = getInt32(bytes, position) & 0xFFFFFFFFL;
+                currentValues[channel] = value;
+                currentSums[channel] += value;
+                position += 4;
+            } else if (type == OBIS_TYPE_COUNTER && position + 8 <= end) {
+                counterValues[channel] = getInt64(bytes, position);
+                position += 8;
+            } else {
+                // End of the measurements or an unknown type of which the length is not known
+                break;
+            }
         }
+
+        samples++;
+        lastUpdate = new Date(System.currentTimeMillis());
+        return true;
     }
 
-    public String getSerialNumber() {
-        return serialNumber;
+    /**
+     * Restarts averaging the current values
+     */
+    public synchronized void resetAverages() {
+        Arrays.fill(currentSums, 0);
+        samples = 0;
     }
 
-    public Date getLastUpdate() {
-        return lastUpdate;
+    private static int getUInt16(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 8 | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static int getInt32(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16 | (bytes[offset + 2] & 0xFF) << 8
+                | (bytes[offset + 3] & 0xFF);
+    }
+
+    private static long getInt64(byte[] bytes, int offset) {
+        return (getInt32(bytes, offset) & 0xFFFFFFFFL) << 32 | (getInt32(bytes, offset + 4) & 0xFFFFFFFFL);
+    }
+
+    public String getMulticastGroup() {
+        return multicastGroup;
+    }
+
+    public int getPort() {
+        return port;
     }
 
-    public DecimalType getPowerIn() {
-        return new DecimalType(powerIn.getValue());
+    public synchronized String getSerialNumber() {
+        return serialNumber;
     }
 
-    public DecimalType getPowerOut() {
-        return new DecimalType(powerOut.getValue());
+    /**
+     * Only accept telegrams of the energy meter with the given serial number
+     *
+     * @param serialNumber - the serial number as returned by {@link #getSerialNumber()}
+     */
+    public synchronized void setSerialNumber(String serialNumber) {
+        this.serial = Integer.parseInt(serialNumber);
+        this.serialNumber = serialNumber;
     }
 
-    public DecimalType getEnergyIn() {
-        return new DecimalType(energyIn.getValue());
+    public synchronized Date getLastUpdate() {
+        return lastUpdate;
+    }
+
+    /**
+     * @param channel - the OBIS measurement channel
+     * @param average - if true the average since the last reset is returned instead of the latest value
+     * @return the power in W
+     */
+    public synchronized DecimalType getPower(int channel, boolean average) {
+        if (average && samples > 0) {
+            return new DecimalType(BigDecimal.valueOf(currentSums[channel])
+                    .divide(CURRENT_DIVISOR.multiply(BigDecimal.valueOf(samples)), 1, RoundingMode.HALF_UP));
+        }
+        return new DecimalType(BigDecimal.valueOf(currentValues[channel]).divide(CURRENT_DIVISOR, 1,
+                RoundingMode.HALF_UP));
     }
 
-    public DecimalType getEnergyOut() {
-        return new DecimalType(energyOut.getValue());
+    /**
+     * @param channel - the OBIS measurement channel
+     * @return the energy in kWh
+     */
+    public synchronized DecimalType getEnergy(int channel) {
+        return new DecimalType(BigDecimal.valueOf(counterValues[channel]).divide(COUNTER_DIVISOR, 4,
+                RoundingMode.HALF_UP));
     }
 
 }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smaenergymeter.handler;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link EnergyMeterListener} keeps a multicast socket open and passes every received telegram to the
+ * {@link EnergyMeter}s that listen on the same multicast group and port. Each energy meter only decodes the
+ * telegrams sent by the device with its serial number.
+ *
+ * There is at most one listener per multicast group and port, which is closed when the last energy meter is removed.
+ *
+ * @author agent - Initial contribution
+ */
+public class EnergyMeterListener implements Runnable {
+
+    private static final Map<String, EnergyMeterListener> LISTENERS = new HashMap<>();
+
+    /** Time to wait before receiving again after an unexpected error (ms) */
+    private static final long RETRY_DELAY = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(EnergyMeterListener.class);
+
+    private final String key;
+    private final MulticastSocket socket;
+    private final List<EnergyMeter> energyMeters = new CopyOnWriteArrayList<>();
+
+    private EnergyMeterListener(String key, String multicastGroup, int port) throws IOException {
+        this.key = key;
+        socket = new MulticastSocket(port);
+        try {
+            socket.joinGroup(InetAddress.getByName(multicastGroup));
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts passing the telegrams that are received on the multicast group and port of the energy meter to it
+     *
+     * @param energyMeter - the energy meter to update
+     * @throws IOException if the multicast group can not be joined
+     */
+    public static void addEnergyMeter(EnergyMeter energyMeter) throws IOException {
+        String key = energyMeter.getMulticastGroup() + ":" + energyMeter.getPort();
+        synchronized (LISTENERS) {
+            EnergyMeterListener listener = LISTENERS.get(key);
+            if (listener == null) {
+                listener = new EnergyMeterListener(key, energyMeter.getMulticastGroup(), energyMeter.getPort());
+                Thread thread = new Thread(listener, "SMA Energy Meter listener " + key);
+                thread.setDaemon(true);
+                thread.start();
+                LISTENERS.put(key, listener);
+            }
+            listener.energyMeters.add(energyMeter);
+        }
+    }
+
+    /**
+     * Stops updating the energy meter
+     *
+     * @param energyMeter - the energy meter that has been added before
+     */
+    public static void removeEnergyMeter(EnergyMeter energyMeter) {
+        String key = energyMeter.getMulticastGroup() + ":" + energyMeter.getPort();
+        synchronized (LISTENERS) {
+            EnergyMeterListener listener = LISTENERS.get(key);
+            if (listener != null && listener.energyMeters.remove(energyMeter) && listener.energyMeters.isEmpty()) {
+                LISTENERS.remove(key);
+                listener.socket.close();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        logger.debug("Listening for SMA Energy Meter telegrams on {}", key);
+
+        byte[] bytes = new byte[EnergyMeter.MAX_TELEGRAM_SIZE];
+        DatagramPacket packet = new DatagramPacket(bytes, bytes.length);
+        while (!socket.isClosed()) {
+            try {
+                packet.setLength(bytes.length);
+                socket.receive(packet);
+
+                for (EnergyMeter energyMeter : energyMeters) {
+                    energyMeter.update(bytes, packet.getLength());
+                }
+            } catch (IOException e) {
+                if (socket.isClosed()) {
+                    break;
+                }
+                logger.debug("Error receiving SMA Energy Meter telegram on {}: {}", key, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        logger.debug("Stopped listening for SMA Energy Meter telegrams on {}", key);
+    }
+
+}
@@ -11,6 +11,7 @@ package org.openhab.binding.smaenergymeter.handler;
 import static org.openhab.binding.smaenergymeter.SMAEnergyMeterBindingConstants.*;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -21,6 +22,7 @@ import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
+import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.smaenergymeter.internal.configuration.EnergyMeterConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,9 +35,14 @@ import org.slf4j.LoggerFactory;
  */
 public class SMAEnergyMeterHandler extends BaseThingHandler {
 
+    /** The energy meter is set offline when no telegram has been received within this time (ms) */
+    private static final long TELEGRAM_TIMEOUT = 10000;
+
     private Logger logger = LoggerFactory.getLogger(SMAEnergyMeterHandler.class);
     private EnergyMeter energyMeter;
     private ScheduledFuture<?> pollingJob;
+    private boolean averaging;
+    private long initializeTime;
 
     public SMAEnergyMeterHandler(Thing thing) {
         super(thing);
@@ -59,27 +66,38 @@ public class SMAEnergyMeterHandler extends BaseThingHandler {
 
         int port = (config.getPort() == null) ? EnergyMeter.DEFAULT_MCAST_PORT : config.getPort();
         energyMeter = new EnergyMeter(config.getMcastGroup(), port);
-        try {
-            energyMeter.update();
+        averaging = (config.getAveraging() == null) ? false : config.getAveraging();
+
+        // Only accept the telegrams of the known energy meter, otherwise the first one that sends a telegram is used
+        String serialNumber = getThing().getProperties().get(Thing.PROPERTY_SERIAL_NUMBER);
+        if (serialNumber != null) {
+            try {
+                energyMeter.setSerialNumber(serialNumber);
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring invalid S/N '{}' of '{}'", serialNumber, getThing().getUID());
+            }
+        }
 
-            updateProperty(Thing.PROPERTY_VENDOR, "SMA");
-            updateProperty(Thing.PROPERTY_SERIAL_NUMBER, energyMeter.getSerialNumber());
-            logger.debug("Found a SMA Energy Meter with S/N '{}'", energyMeter.getSerialNumber());
+        initializeTime = System.currentTimeMillis();
+        try {
+            EnergyMeterListener.addEnergyMeter(energyMeter);
         } catch (IOException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
             return;
         }
+        updateProperty(Thing.PROPERTY_VENDOR, "SMA");
 
+        // The energy meter sends a telegram every second, so the first values are available shortly
         int pollingPeriod = (config.getPollingPeriod() == null) ? 30 : config.getPollingPeriod();
         pollingJob = scheduler.scheduleWithFixedDelay(new Runnable() {
             @Override
             public void run() {
                 updateData();
             }
-        }, 0, pollingPeriod, TimeUnit.SECONDS);
+        }, Math.min(pollingPeriod, 2), pollingPeriod, TimeUnit.SECONDS);
         logger.debug("Polling job scheduled to run every {} sec. for '{}'", pollingPeriod, getThing().getUID());
 
-        updateStatus(ThingStatus.ONLINE);
+        updateStatus(ThingStatus.UNKNOWN);
     }
 
     @Override
@@ -90,25 +108,65 @@ public class SMAEnergyMeterHandler extends BaseThingHandler {
             pollingJob.cancel(true);
             pollingJob = null;
         }
-        energyMeter = null;
+        if (energyMeter != null) {
+            EnergyMeterListener.removeEnergyMeter(energyMeter);
+            energyMeter = null;
+        }
     }
 
     private synchronized void updateData() {
         logger.debug("Update SMAEnergyMeter data '{}'", getThing().getUID());
 
-        try {
-            energyMeter.update();
-
-            updateState(CHANNEL_POWER_IN, energyMeter.getPowerIn());
-            updateState(CHANNEL_POWER_OUT, energyMeter.getPowerOut());
-            updateState(CHANNEL_ENERGY_IN, energyMeter.getEnergyIn());
-            updateState(CHANNEL_ENERGY_OUT, energyMeter.getEnergyOut());
+        EnergyMeter energyMeter = this.energyMeter;
+        if (energyMeter == null) {
+            return;
+        }
 
-            if (getThing().getStatus().equals(ThingStatus.OFFLINE)) {
-                updateStatus(ThingStatus.ONLINE);
+        State powerIn, powerOut, powerInL1, powerOutL1, powerInL2, powerOutL2, powerInL3, powerOutL3;
+        State energyIn, energyOut;
+        String serialNumber;
+        synchronized (energyMeter) {
+            Date lastUpdate = energyMeter.getLastUpdate();
+            long lastUpdateTime = (lastUpdate == null) ? initializeTime : lastUpdate.getTime();
+            if (System.currentTimeMillis() - lastUpdateTime > TELEGRAM_TIMEOUT) {
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR,
+                        "No telegram received within " + TELEGRAM_TIMEOUT / 1000 + " seconds");
+                return;
             }
-        } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
+            if (lastUpdate == null) {
+                return;
+            }
+
+            // When averaging, the power is averaged over all telegrams received since the last update
+            powerIn = energyMeter.getPower(EnergyMeter.OBIS_IN, averaging);
+            powerOut = energyMeter.getPower(EnergyMeter.OBIS_OUT, averaging);
+            powerInL1 = energyMeter.getPower(EnergyMeter.OBIS_IN_L1, averaging);
+            powerOutL1 = energyMeter.getPower(EnergyMeter.OBIS_OUT_L1, averaging);
+            powerInL2 = energyMeter.getPower(EnergyMeter.OBIS_IN_L2, averaging);
+            powerOutL2 = energyMeter.getPower(EnergyMeter.OBIS_OUT_L2, averaging);
+            powerInL3 = energyMeter.getPower(EnergyMeter.OBIS_IN_L3, averaging);
+            powerOutL3 = energyMeter.getPower(EnergyMeter.OBIS_OUT_L3, averaging);
+            energyIn = energyMeter.getEnergy(EnergyMeter.OBIS_IN);
+            energyOut = energyMeter.getEnergy(EnergyMeter.OBIS_OUT);
+            serialNumber = energyMeter.getSerialNumber();
+            energyMeter.resetAverages();
+        }
+
+        updateState(CHANNEL_POWER_IN, powerIn);
+        updateState(CHANNEL_POWER_OUT, powerOut);
+        updateState(CHANNEL_POWER_IN_L1, powerInL1);
+        updateState(CHANNEL_POWER_OUT_L1, powerOutL1);
+        updateState(CHANNEL_POWER_IN_L2, powerInL2);
+        updateState(CHANNEL_POWER_OUT_L2, powerOutL2);
+        updateState(CHANNEL_POWER_IN_L3, powerInL3);
+        updateState(CHANNEL_POWER_OUT_L3, powerOutL3);
+        updateState(CHANNEL_ENERGY_IN, energyIn);
+        updateState(CHANNEL_ENERGY_OUT, energyOut);
+
+        if (!getThing().getStatus().equals(ThingStatus.ONLINE)) {
+            updateProperty(Thing.PROPERTY_SERIAL_NUMBER, serialNumber);
+            logger.debug("Receiving data of SMA Energy Meter with S/N '{}'", serialNumber);
+            updateStatus(ThingStatus.ONLINE);
         }
     }
 
@@ -72,6 +72,8 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             .synchronizedList(new ArrayList<SqueezeBoxPlayerEventListener>());
     private Map<String, SqueezeBoxPlayer> players = Collections
             .synchronizedMap(new HashMap<String, SqueezeBoxPlayer>());
+    // playing time last passed on to the listeners by player MAC address
+    private Map<String, Integer> playingTimes = Collections.synchronizedMap(new HashMap<String, Integer>());
     // client socket and listener thread
     private Socket clientSocket;
     private SqueezeServerListener listener;
@@ -362,9 +364,92 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             listener = null;
         }
         players.clear();
+        playingTimes.clear();
         logger.trace("Squeeze Server connection stopped.");
     }
 
+    /**
+     * Splits a CLI message into its space separated tokens in a single pass. The server URL encodes the tokens, so
+     * a parameter like "mixer%20volume%3A50" is split at the encoded colon into its key and value without decoding
+     * it. Values are only decoded by the code that uses them.
+     */
+    private static class CliTokenizer {
+        private static final String ENCODED_COLON = "%3A";
+
+        private final String message;
+        private int position;
+        private int start;
+        private int end;
+        private int separator;
+
+        CliTokenizer(String message) {
+            this.message = message;
+        }
+
+        /**
+         * Moves to the next token of the message
+         *
+         * @return false if there are no more tokens
+         */
+        boolean next() {
+            int length = message.length();
+            while (position < length && message.charAt(position) == ' ') {
+                position++;
+            }
+            if (position >= length) {
+                return false;
+            }
+            start = position;
+            end = message.indexOf(' ', start);
+            if (end < 0) {
+                end = length;
+            }
+            position = end + 1;
+
+            separator = -1;
+            for (int i = start; i <= end - ENCODED_COLON.length(); i++) {
+                if (message.charAt(i) == '%'
+                        && message.regionMatches(true, i, ENCODED_COLON, 0, ENCODED_COLON.length())) {
+                    separator = i;
+                    break;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return the current token, still encoded
+         */
+        String token() {
+            return message.substring(start, end);
+        }
+
+        /**
+         * @return the encoded key of the current token, or the whole token if it is not a parameter
+         */
+        String key() {
+            return separator < 0 ? token() : message.substring(start, separator);
+        }
+
+        /**
+         * @return the encoded value of the current token, or an empty string if it is not a parameter
+         */
+        String value() {
+            return separator < 0 ? "" : message.substring(separator + ENCODED_COLON.length(), end);
+        }
+
+        /**
+         * @return the tokens following the current token, still encoded
+         */
+        String[] remainingTokens() {
+            List<String> tokens = new ArrayList<>();
+            while (next()) {
+                tokens.add(token());
+            }
+            return tokens.toArray(new String[tokens.size()]);
+        }
+    }
+
     private class SqueezeServerListener extends Thread {
         private boolean terminate = false;
 
@@ -435,7 +520,13 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             logger.debug("Squeeze Server listener exiting.");
         }
 
+        /**
+         * Decodes a URL encoded token or value. Values without escaped characters are returned as they are.
+         */
         private String decode(String raw) {
+            if (raw.indexOf('%') < 0 && raw.indexOf('+') < 0) {
+                return raw;
+            }
             try {
                 return URLDecoder.decode(raw, "UTF-8");
             } catch (UnsupportedEncodingException e) {
@@ -445,280 +536,291 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
 
         private void handlePlayersList(String message) {
-            // Split out players
-            String[] playersList = message.split("playerindex\\S*\\s");
-            for (String playerParams : playersList) {
-
-                // For each player, split out parameters and decode parameter
-                String[] parameterList = playerParams.split("\\s");
-                for (int i = 0; i < parameterList.length; i++) {
-                    parameterList[i] = decode(parameterList[i]);
-                }
-
-                // parse out the MAC address first
-                String macAddress = null;
-                for (String parameter : parameterList) {
-                    if (parameter.contains("playerid")) {
-                        macAddress = parameter.substring(parameter.indexOf(":") + 1);
-                        break;
+            // Each player starts with a playerindex parameter, which is followed by the parameters of the player
+            CliTokenizer tokenizer = new CliTokenizer(message);
+            SqueezeBoxPlayer player = null;
+            while (tokenizer.next()) {
+                String key = tokenizer.key();
+                if (key.equals("playerindex")) {
+                    addPlayer(player);
+                    player = new SqueezeBoxPlayer();
+                } else if (player != null) {
+                    switch (key) {
+                        case "playerid":
+                            player.setMacAddress(decode(tokenizer.value()));
+                            break;
+                        case "ip":
+                            player.setIpAddr(decode(tokenizer.value()));
+                            break;
+                        case "uuid":
+                            player.setUuid(decode(tokenizer.value()));
+                            break;
+                        case "name":
+                            player.setName(decode(tokenizer.value()));
+                            break;
+                        case "model":
+                            player.setModel(decode(tokenizer.value()));
+                            break;
+                        default:
+                            break;
                     }
                 }
+            }
+            addPlayer(player);
+        }
 
-                // if none found then ignore this set of params
-                if (macAddress == null) {
-                    continue;
-                }
-
-                final SqueezeBoxPlayer player = new SqueezeBoxPlayer();
-                player.setMacAddress(macAddress);
-                // populate the player state
-                for (String parameter : parameterList) {
-                    if (parameter.contains("ip")) {
-                        player.setIpAddr(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("uuid")) {
-                        player.setUuid(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("name")) {
-                        player.setName(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("model")) {
-                        player.setModel(parameter.substring(parameter.indexOf(":") + 1));
-                    }
-                }
+        private void addPlayer(final SqueezeBoxPlayer player) {
+            // if no MAC address was found then ignore this set of params
+            if (player == null || player.getMacAddress() == null) {
+                return;
+            }
 
-                // Save player if we haven't seen it yet
-                if (!players.containsKey(macAddress)) {
-                    players.put(macAddress, player);
+            // Save player if we haven't seen it yet
+            if (!players.containsKey(player.getMacAddress())) {
+                players.put(player.getMacAddress(), player);
 
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.playerAdded(player);
-                        }
-                    });
+                updatePlayer(new PlayerUpdateEvent() {
+                    @Override
+                    public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                        listener.playerAdded(player);
+                    }
+                });
 
-                    // tell the server we want to subscribe to player updates
-                    sendCommand(player.getMacAddress() + " status - 1 subscribe:10 tags:yagJlN");
-                }
+                // tell the server we want to subscribe to player updates
+                sendCommand(player.getMacAddress() + " status - 1 subscribe:10 tags:yagJlN");
             }
         }
 
         private void handlePlayerUpdate(String message) {
-            String[] messageParts = message.split("\\s");
-            if (messageParts.length < 2) {
+            CliTokenizer tokenizer = new CliTokenizer(message);
+            if (!tokenizer.next()) {
                 logger.warn("Invalid message - expecting at least 2 parts. Ignoring.");
                 return;
             }
-
-            final String mac = decode(messageParts[0]);
+            final String mac = decode(tokenizer.token());
 
             // get the message type
-            String messageType = messageParts[1];
-
-            if (messageType.equals("status")) {
-                handleStatusMessage(mac, messageParts);
-            } else if (messageType.equals("playlist")) {
-                handlePlaylistMessage(mac, messageParts);
-            } else if (messageType.equals("prefset")) {
-                handlePrefsetMessage(mac, messageParts);
-            } else if (messageType.equals("ir")) {
-                final String ircode = messageParts[2];
-                updatePlayer(new PlayerUpdateEvent() {
-                    @Override
-                    public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                        listener.irCodeChangeEvent(mac, ircode);
+            if (!tokenizer.next()) {
+                logger.warn("Invalid message - expecting at least 2 parts. Ignoring.");
+                return;
+            }
+            String messageType = tokenizer.token();
+
+            switch (messageType) {
+                case "status":
+                    handleStatusMessage(mac, tokenizer);
+                    break;
+                case "playlist":
+                    handlePlaylistMessage(mac, tokenizer.remainingTokens());
+                    break;
+                case "prefset":
+                    handlePrefsetMessage(mac, tokenizer.remainingTokens());
+                    break;
+                case "ir":
+                    if (tokenizer.next()) {
+                        final String ircode = tokenizer.token();
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.irCodeChangeEvent(mac, ircode);
+                            }
+                        });
                     }
-                });
-            } else {
-                logger.trace("Unhandled player update message type '{}'.", messageType);
+                    break;
+                default:
+                    logger.trace("Unhandled player update message type '{}'.", messageType);
+                    break;
             }
         }
 
-        private void handleStatusMessage(final String mac, String[] messageParts) {
-            for (String messagePart : messageParts) {
-                // Parameter Power
-                if (messagePart.startsWith("power%3A")) {
-                    String value = messagePart.substring("power%3A".length());
-                    final boolean power = value.matches("1");
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.powerChangeEvent(mac, power);
-                        }
-                    });
-                }
-                // Parameter Volume
-                else if (messagePart.startsWith("mixer%20volume%3A")) {
-                    String value = messagePart.substring("mixer%20volume%3A".length());
-                    final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.volumeChangeEvent(mac, volume);
-                        }
-                    });
-                }
-                // Parameter Mode
-                else if (messagePart.startsWith("mode%3A")) {
-                    final String mode = messagePart.substring("mode%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.modeChangeEvent(mac, mode);
-                        }
-                    });
-                }
-                // Parameter Playing Time
-                else if (messagePart.startsWith("time%3A")) {
-                    String value = messagePart.substring("time%3A".length());
-                    final int time = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlayingTimeEvent(mac, time);
-                        }
-                    });
-                }
-                // Parameter duration
-                else if (messagePart.startsWith("duration%3A")) {
-                    String value = messagePart.substring("duration%3A".length());
-                    final int duration = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.durationEvent(mac, duration);
-                        }
-                    });
-                }
-                // Parameter Playing Playlist Index
-                else if (messagePart.startsWith("playlist_cur_index%3A")) {
-                    String value = messagePart.substring("playlist_cur_index%3A".length());
-                    // player.setCurrentPlaylistIndex((int)
-                    // Integer.parseInt(value));
-                    final int index = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistIndexEvent(mac, index);
-                        }
-                    });
-                }
-                // Parameter Playlist Number Tracks
-                else if (messagePart.startsWith("playlist_tracks%3A")) {
-                    String value = messagePart.substring("playlist_tracks%3A".length());
-                    final int track = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.numberPlaylistTracksEvent(mac, track);
-                        }
-                    });
-                }
-                // Parameter Playlist Repeat Mode
-                else if (messagePart.startsWith("playlist%20repeat%3A")) {
-                    String value = messagePart.substring("playlist%20repeat%3A".length());
-                    final int repeat = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistRepeatEvent(mac, repeat);
-                        }
-                    });
-                }
-                // Parameter Playlist Shuffle Mode
-                else if (messagePart.startsWith("playlist%20shuffle%3A")) {
-                    String value = messagePart.substring("playlist%20shuffle%3A".length());
-                    final int shuffle = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistShuffleEvent(mac, shuffle);
-                        }
-                    });
-                }
-                // Parameter Title
-                else if (messagePart.startsWith("title%3A")) {
-                    final String value = messagePart.substring("title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.titleChangeEvent(mac, decode(value));
-                        }
-                    });
-
-                }
-                // Parameter Remote Title (radio)
-                else if (messagePart.startsWith("remote_title%3A")) {
-                    final String value = messagePart.substring("remote_title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.remoteTitleChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Artist
-                else if (messagePart.startsWith("artist%3A")) {
-                    final String value = messagePart.substring("artist%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.artistChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Album
-                else if (messagePart.startsWith("album%3A")) {
-                    final String value = messagePart.substring("album%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.albumChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Genre
-                else if (messagePart.startsWith("genre%3A")) {
-                    final String value = messagePart.substring("genre%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.genreChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Year
-                else if (messagePart.startsWith("year%3A")) {
-                    final String value = messagePart.substring("year%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.yearChangeEvent(mac, decode(value));
+        private void handleStatusMessage(final String mac, CliTokenizer tokenizer) {
+            while (tokenizer.next()) {
+                String value = tokenizer.value();
+                switch (tokenizer.key()) {
+                    // Parameter Power
+                    case "power":
+                        final boolean power = value.matches("1");
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.powerChangeEvent(mac, power);
+                            }
+                        });
+                        break;
+                    // Parameter Volume
+                    case "mixer%20volume":
+                        final int volume = (int) Double.parseDouble(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.volumeChangeEvent(mac, volume);
+                            }
+                        });
+                        break;
+                    // Parameter Mode
+                    case "mode":
+                        final String mode = value;
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.modeChangeEvent(mac, mode);
+                            }
+                        });
+                        break;
+                    // Parameter Playing Time
+                    case "time":
+                        final int time = (int) Double.parseDouble(value);
+                        // The time is part of every status update, so only pass it on when it has changed
+                        if (isPlayingTimeChanged(mac, time)) {
+                            updatePlayer(new PlayerUpdateEvent() {
+                                @Override
+                                public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                    listener.currentPlayingTimeEvent(mac, time);
+                                }
+                            });
+                        } else {
+                            logger.trace("Playing time {} of player {} is unchanged", time, mac);
                         }
-                    });
-                }
-                // Parameter Artwork
-                else if (messagePart.startsWith("artwork_track_id%3A")) {
-                    String url = messagePart.substring("artwork_track_id%3A".length());
-                    // NOTE: what is returned if not an artwork id? i.e. if a
-                    // space?
-                    if (!url.startsWith(" ")) {
-                        url = "http://" + host + ":" + webport + "/music/" + url + "/cover.jpg";
-                    }
-                    final String value = url;
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.coverArtChangeEvent(mac, decode(value));
+                        break;
+                    // Parameter duration
+                    case "duration":
+                        final int duration = (int) Double.parseDouble(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.durationEvent(mac, duration);
+                            }
+                        });
+                        break;
+                    // Parameter Playing Playlist Index
+                    case "playlist_cur_index":
+                        final int index = (int) Double.parseDouble(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.currentPlaylistIndexEvent(mac, index);
+                            }
+                        });
+                        break;
+                    // Parameter Playlist Number Tracks
+                    case "playlist_tracks":
+                        final int track = (int) Double.parseDouble(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.numberPlaylistTracksEvent(mac, track);
+                            }
+                        });
+                        break;
+                    // Parameter Playlist Repeat Mode
+                    case "playlist%20repeat":
+                        final int repeat = (int) Double.parseDouble(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.currentPlaylistRepeatEvent(mac, repeat);
+                            }
+                        });
+                        break;
+                    // Parameter Playlist Shuffle Mode
+                    case "playlist%20shuffle":
+                        final int shuffle = (int) Double.parseDouble(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.currentPlaylistShuffleEvent(mac, shuffle);
+                            }
+                        });
+                        break;
+                    // Parameter Title
+                    case "title":
+                        final String title = decode(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.titleChangeEvent(mac, title);
+                            }
+                        });
+                        break;
+                    // Parameter Remote Title (radio)
+                    case "remote_title":
+                        final String remoteTitle = decode(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.remoteTitleChangeEvent(mac, remoteTitle);
+                            }
+                        });
+                        break;
+                    // Parameter Artist
+                    case "artist":
+                        final String artist = decode(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.artistChangeEvent(mac, artist);
+                            }
+                        });
+                        break;
+                    // Parameter Album
+                    case "album":
+                        final String album = decode(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.albumChangeEvent(mac, album);
+                            }
+                        });
+                        break;
+                    // Parameter Genre
+                    case "genre":
+                        final String genre = decode(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.genreChangeEvent(mac, genre);
+                            }
+                        });
+                        break;
+                    // Parameter Year
+                    case "year":
+                        final String year = decode(value);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.yearChangeEvent(mac, year);
+                            }
+                        });
+                        break;
+                    // Parameter Artwork
+                    case "artwork_track_id":
+                        String url = value;
+                        // NOTE: what is returned if not an artwork id? i.e. if a
+                        // space?
+                        if (!url.startsWith(" ")) {
+                            url = "http://" + host + ":" + webport + "/music/" + url + "/cover.jpg";
                         }
-                    });
-                } else {
-                    // Added to be able to see additional status message types
-                    logger.trace("Unhandled status message type '{}'", messagePart);
+                        final String coverArtUrl = decode(url);
+                        updatePlayer(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.coverArtChangeEvent(mac, coverArtUrl);
+                            }
+                        });
+                        break;
+                    default:
+                        // Added to be able to see additional status message types
+                        logger.trace("Unhandled status message type '{}'", tokenizer.token());
+                        break;
                 }
             }
         }
 
         private void handlePlaylistMessage(final String mac, String[] messageParts) {
-            String action = messageParts[2];
+            if (messageParts.length < 1) {
+                return;
+            }
+            String action = messageParts[0];
             String mode;
             if (action.equals("newsong")) {
                 mode = "play";
@@ -729,8 +831,8 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                         listener.durationEvent(mac, 0);
                     }
                 });
-            } else if (action.equals("pause")) {
-                mode = messageParts[3].equals("0") ? "play" : "pause";
+            } else if (action.equals("pause") && messageParts.length > 1) {
+                mode = messageParts[1].equals("0") ? "play" : "pause";
             } else if (action.equals("stop")) {
                 mode = "stop";
             } else {
@@ -748,14 +850,14 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
 
         private void handlePrefsetMessage(final String mac, String[] messageParts) {
-            if (messageParts.length < 5) {
+            if (messageParts.length < 3) {
                 return;
             }
 
             // server prefsets
-            if (messageParts[2].equals("server")) {
-                String function = messageParts[3];
-                String value = messageParts[4];
+            if (messageParts[0].equals("server")) {
+                String function = messageParts[1];
+                String value = messageParts[2];
 
                 if (function.equals("power")) {
                     final boolean power = value.equals("1");
@@ -845,6 +947,20 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
      */
     public void removePlayerCache(String mac) {
         players.remove(mac);
+        playingTimes.remove(mac);
+    }
+
+    /**
+     * Remembers the playing time of a player
+     *
+     * @param mac
+     * @param time
+     * @return true if the time differs from the time that has been passed on
+     *         to the listeners before
+     */
+    private boolean isPlayingTimeChanged(String mac, int time) {
+        Integer previousTime = playingTimes.put(mac, time);
+        return previousTime == null || previousTime.intValue() != time;
     }
 
     /**
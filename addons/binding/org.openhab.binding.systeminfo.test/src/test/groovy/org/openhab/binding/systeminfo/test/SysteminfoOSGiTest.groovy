@@ -12,6 +12,8 @@ import static org.hamcrest.CoreMatchers.*
 import static org.junit.Assert.*
 import static org.junit.matchers.JUnitMatchers.*
 
+import java.lang.management.ManagementFactory
+
 import org.eclipse.smarthome.config.core.Configuration
 import org.eclipse.smarthome.config.discovery.DiscoveryResult
 import org.eclipse.smarthome.config.discovery.DiscoveryService
@@ -654,6 +656,30 @@ class SysteminfoOSGiTest extends OSGiTest{
         assertItemState(acceptedItemType,DEFAULT_TEST_ITEM_NAME,DEFAULT_CHANNEL_TEST_PRIORITY);
     }
 
+    @Test
+    public void 'assert channel process#threads is updated' () {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_PROCESS_THREADS
+        String acceptedItemType = "Number";
+
+        initializeThingWithChannelAndPID(channnelID,acceptedItemType,getTestProcessPID());
+        assertItemState(acceptedItemType,DEFAULT_TEST_ITEM_NAME,DEFAULT_CHANNEL_TEST_PRIORITY);
+    }
+
+    @Test
+    public void 'assert channel process#name is updated' () {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_PROCESS_NAME
+        String acceptedItemType = "String";
+
+        initializeThingWithChannelAndPID(channnelID,acceptedItemType,getTestProcessPID());
+        assertItemState(acceptedItemType,DEFAULT_TEST_ITEM_NAME,DEFAULT_CHANNEL_TEST_PRIORITY);
+    }
+
+    private int getTestProcessPID() {
+        // The name of the runtime has the format pid@hostname
+        String runtimeName = ManagementFactory.getRuntimeMXBean().getName()
+        return Integer.parseInt(runtimeName.split("@")[0])
+    }
+
     class SysteminfoDiscoveryServiceMock extends SysteminfoDiscoveryService {
         String hostname;
         SysteminfoDiscoveryServiceMock(String hostname) {
@@ -11,11 +11,13 @@ package org.openhab.binding.systeminfo.handler;
 import static org.openhab.binding.systeminfo.SysteminfoBindingConstants.*;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -44,6 +46,90 @@ import org.slf4j.LoggerFactory;
  */
 
 public class SysteminfoHandler extends BaseThingHandler {
+
+    /**
+     * Gets the state of a channel from the {@link SysteminfoInterface}.
+     */
+    @FunctionalInterface
+    private interface ChannelAccessor {
+        State getState(SysteminfoInterface systeminfo, int deviceIndex) throws DeviceNotFoundException;
+    }
+
+    /**
+     * A channel with its {@link ChannelAccessor} and device index, which are resolved once from the channel UID and
+     * configuration.
+     */
+    private static class ResolvedChannel {
+        private final String channelID;
+        private final ChannelAccessor accessor;
+        private final int deviceIndex;
+
+        private ResolvedChannel(String channelID, ChannelAccessor accessor, int deviceIndex) {
+            this.channelID = channelID;
+            this.accessor = accessor;
+            this.deviceIndex = deviceIndex;
+        }
+    }
+
+    /**
+     * The accessors for all channel IDs, with the device index removed from the channel group ID.
+     */
+    private static final Map<String, ChannelAccessor> CHANNEL_ACCESSORS = new HashMap<>();
+
+    static {
+        CHANNEL_ACCESSORS.put(CHANNEL_DISPLAY_INFORMATION, (info, index) -> info.getDisplayInformation(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_BATTERY_NAME, (info, index) -> info.getBatteryName(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_BATTERY_REMAINING_CAPACITY,
+                (info, index) -> info.getBatteryRemainingCapacity(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_BATTERY_REMAINING_TIME, (info, index) -> info.getBatteryRemainingTime(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_SENSORS_CPU_TEMPERATURE, (info, index) -> info.getSensorsCpuTemperature());
+        CHANNEL_ACCESSORS.put(CHANNEL_SENOSRS_CPU_VOLTAGE, (info, index) -> info.getSensorsCpuVoltage());
+        CHANNEL_ACCESSORS.put(CHANNEL_SENSORS_FAN_SPEED, (info, index) -> info.getSensorsFanSpeed(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_CPU_LOAD, (info, index) -> info.getCpuLoad());
+        CHANNEL_ACCESSORS.put(CHANNEL_CPU_LOAD_1, (info, index) -> info.getCpuLoad1());
+        CHANNEL_ACCESSORS.put(CHANNEL_CPU_LOAD_5, (info, index) -> info.getCpuLoad5());
+        CHANNEL_ACCESSORS.put(CHANNEL_CPU_LOAD_15, (info, index) -> info.getCpuLoad15());
+        CHANNEL_ACCESSORS.put(CHANNEL_CPU_UPTIME, (info, index) -> info.getCpuUptime());
+        CHANNEL_ACCESSORS.put(CHANNEL_CPU_THREADS, (info, index) -> info.getCpuThreads());
+        CHANNEL_ACCESSORS.put(CHANNEL_CPU_DESCRIPTION, (info, index) -> info.getCpuDescription());
+        CHANNEL_ACCESSORS.put(CHANNEL_CPU_NAME, (info, index) -> info.getCpuName());
+        CHANNEL_ACCESSORS.put(CHANNEL_MEMORY_AVAILABLE, (info, index) -> info.getMemoryAvailable());
+        CHANNEL_ACCESSORS.put(CHANNEL_MEMORY_USED, (info, index) -> info.getMemoryUsed());
+        CHANNEL_ACCESSORS.put(CHANNEL_MEMORY_TOTAL, (info, index) -> info.getMemoryTotal());
+        CHANNEL_ACCESSORS.put(CHANNEL_MEMORY_AVAILABLE_PERCENT, (info, index) -> info.getMemoryAvailablePercent());
+        CHANNEL_ACCESSORS.put(CHANNEL_MEMORY_USED_PERCENT, (info, index) -> info.getMemoryUsedPercent());
+        CHANNEL_ACCESSORS.put(CHANNEL_SWAP_AVAILABLE, (info, index) -> info.getSwapAvailable());
+        CHANNEL_ACCESSORS.put(CHANNEL_SWAP_USED, (info, index) -> info.getSwapUsed());
+        CHANNEL_ACCESSORS.put(CHANNEL_SWAP_TOTAL, (info, index) -> info.getSwapTotal());
+        CHANNEL_ACCESSORS.put(CHANNEL_SWAP_AVAILABLE_PERCENT, (info, index) -> info.getSwapAvailablePercent());
+        CHANNEL_ACCESSORS.put(CHANNEL_SWAP_USED_PERCENT, (info, index) -> info.getSwapUsedPercent());
+        CHANNEL_ACCESSORS.put(CHANNEL_DRIVE_MODEL, (info, index) -> info.getDriveModel(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_DRIVE_SERIAL, (info, index) -> info.getDriveSerialNumber(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_DRIVE_NAME, (info, index) -> info.getDriveName(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_STORAGE_NAME, (info, index) -> info.getStorageName(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_STORAGE_DESCRIPTION, (info, index) -> info.getStorageDescription(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_STORAGE_AVAILABLE, (info, index) -> info.getStorageAvailable(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_STORAGE_USED, (info, index) -> info.getStorageUsed(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_STORAGE_TOTAL, (info, index) -> info.getStorageTotal(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_STORAGE_TYPE, (info, index) -> info.getStorageType(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_STORAGE_AVAILABLE_PERCENT,
+                (info, index) -> info.getStorageAvailablePercent(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_STORAGE_USED_PERCENT, (info, index) -> info.getStorageUsedPercent(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_NETWORK_IP, (info, index) -> info.getNetworkIp(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_NETWORK_ADAPTER_NAME, (info, index) -> info.getNetworkDisplayName(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_NETWORK_NAME, (info, index) -> info.getNetworkName(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_NETWORK_MAC, (info, index) -> info.getNetworkMac(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_NETWORK_DATA_SENT, (info, index) -> info.getNetworkDataSent(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_NETWORK_DATA_RECEIVED, (info, index) -> info.getNetworkDataReceived(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_NETWORK_PACKETS_RECEIVED, (info, index) -> info.getNetworkPacketsReceived(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_NETWORK_PACKETS_SENT, (info, index) -> info.getNetworkPacketsSent(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_PROCESS_LOAD, (info, index) -> info.getProcessCpuUsage(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_PROCESS_MEMORY, (info, index) -> info.getProcessMemoryUsage(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_PROCESS_NAME, (info, index) -> info.getProcessName(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_PROCESS_PATH, (info, index) -> info.getProcessPath(index));
+        CHANNEL_ACCESSORS.put(CHANNEL_PROCESS_THREADS, (info, index) -> info.getProcessThreads(index));
+    }
+
     /**
      * Refresh interval for {@link #highPriorityChannels} in seconds.
      */
@@ -83,6 +169,11 @@ public class SysteminfoHandler extends BaseThingHandler {
 
     private OshiSysteminfo systeminfo;
 
+    /**
+     * Channels that are resolved by {@link #groupChannelsByPriority()} or on their first update.
+     */
+    private final Map<ChannelUID, ResolvedChannel> resolvedChannels = new ConcurrentHashMap<>();
+
     ScheduledFuture<?> highPriorityTasks;
     ScheduledFuture<?> mediumPriorityTasks;
 
@@ -171,6 +262,10 @@ public class SysteminfoHandler extends BaseThingHandler {
                         channel.getUID());
                 break;
             }
+            ResolvedChannel resolvedChannel = resolveChannel(channel.getUID());
+            if (resolvedChannel != null) {
+                resolvedChannels.put(channel.getUID(), resolvedChannel);
+            }
             switch (priority) {
                 case "High":
                     highPriorityChannels.add(channel.getUID());
@@ -239,6 +334,7 @@ public class SysteminfoHandler extends BaseThingHandler {
 
     private void publishData(Set<ChannelUID> channels) {
         if (channels != null) {
+            systeminfo.takeSnapshot();
             Iterator<ChannelUID> iter = channels.iterator();
             while (iter.hasNext()) {
                 ChannelUID channeUID = iter.next();
@@ -260,181 +356,52 @@ public class SysteminfoHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Resolves the {@link ChannelAccessor} and device index of a channel (in case of multiple devices, for reference
+     * see {@link #getDeviceIndex(ChannelUID)}), so this has to be done only once per channel and not on each update.
+     *
+     * @param channelUID - the UID of the channel
+     * @return the resolved channel or null, if the channel ID is unknown
+     */
+    private ResolvedChannel resolveChannel(ChannelUID channelUID) {
+        // The channelGroup may contain deviceIndex. It must be deleted from the channelID, because otherwise the
+        // accessor will not be found.
+        // All digits are deleted from the ID
+        String channelID = channelUID.getGroupId().replaceAll("\\d+", "") + "#" + channelUID.getIdWithoutGroup();
+
+        ChannelAccessor accessor = CHANNEL_ACCESSORS.get(channelID);
+        if (accessor == null) {
+            logger.error("Channel with unknown ID: {} !", channelID);
+            return null;
+        }
+        return new ResolvedChannel(channelID, accessor, getDeviceIndex(channelUID));
+    }
+
     /**
      * This method gets the information for specific channel through the {@link SysteminfoInterface}. It uses the
-     * channel ID to call the correct method from the {@link SysteminfoInterface} with deviceIndex parameter (in case of
-     * multiple devices, for reference see {@link #getDeviceIndex(String)}})
+     * accessor that is resolved once for the channel ID to call the correct method from the
+     * {@link SysteminfoInterface} with deviceIndex parameter.
      *
      * @param channelUID - the UID of the channel
      * @return State object or null, if there is no information for the device with this index
      */
     private State getInfoForChannel(ChannelUID channelUID) {
         State state = null;
-        String channelID = channelUID.getId();
-        String channelIDWithoutGroup = channelUID.getIdWithoutGroup();
-        String channelGroupID = channelUID.getGroupId();
-
-        int deviceIndex = getDeviceIndex(channelUID);
 
-        // The channelGroup may contain deviceIndex. It must be deleted from the channelID, because otherwise the
-        // switch will not find the correct method below.
-        // All digits are deleted from the ID
-        channelID = channelGroupID.replaceAll("\\d+", "") + "#" + channelIDWithoutGroup;
+        ResolvedChannel channel = resolvedChannels.get(channelUID);
+        if (channel == null) {
+            channel = resolveChannel(channelUID);
+            if (channel == null) {
+                return UnDefType.UNDEF;
+            }
+            resolvedChannels.put(channelUID, channel);
+        }
 
         try {
-            switch (channelID) {
-                case CHANNEL_DISPLAY_INFORMATION:
-                    state = systeminfo.getDisplayInformation(deviceIndex);
-                    break;
-                case CHANNEL_BATTERY_NAME:
-                    state = systeminfo.getBatteryName(deviceIndex);
-                    break;
-                case CHANNEL_BATTERY_REMAINING_CAPACITY:
-                    state = systeminfo.getBatteryRemainingCapacity(deviceIndex);
-                    break;
-                case CHANNEL_BATTERY_REMAINING_TIME:
-                    state = systeminfo.getBatteryRemainingTime(deviceIndex);
-                    break;
-                case CHANNEL_SENSORS_CPU_TEMPERATURE:
-                    state = systeminfo.getSensorsCpuTemperature();
-                    break;
-                case CHANNEL_SENOSRS_CPU_VOLTAGE:
-                    state = systeminfo.getSensorsCpuVoltage();
-                    break;
-                case CHANNEL_SENSORS_FAN_SPEED:
-                    state = systeminfo.getSensorsFanSpeed(deviceIndex);
-                    break;
-                case CHANNEL_CPU_LOAD:
-                    state = systeminfo.getCpuLoad();
-                    break;
-                case CHANNEL_CPU_LOAD_1:
-                    state = systeminfo.getCpuLoad1();
-                    break;
-                case CHANNEL_CPU_LOAD_5:
-                    state = systeminfo.getCpuLoad5();
-                    break;
-                case CHANNEL_CPU_LOAD_15:
-                    state = systeminfo.getCpuLoad15();
-                    break;
-                case CHANNEL_CPU_UPTIME:
-                    state = systeminfo.getCpuUptime();
-                    break;
-                case CHANNEL_CPU_THREADS:
-                    state = systeminfo.getCpuThreads();
-                    break;
-                case CHANNEL_CPU_DESCRIPTION:
-                    state = systeminfo.getCpuDescription();
-                    break;
-                case CHANNEL_CPU_NAME:
-                    state = systeminfo.getCpuName();
-                    break;
-                case CHANNEL_MEMORY_AVAILABLE:
-                    state = systeminfo.getMemoryAvailable();
-                    break;
-                case CHANNEL_MEMORY_USED:
-                    state = systeminfo.getMemoryUsed();
-                    break;
-                case CHANNEL_MEMORY_TOTAL:
-                    state = systeminfo.getMemoryTotal();
-                    break;
-                case CHANNEL_MEMORY_AVAILABLE_PERCENT:
-                    state = systeminfo.getMemoryAvailablePercent();
-                    break;
-                case CHANNEL_MEMORY_USED_PERCENT:
-                    state = systeminfo.getMemoryUsedPercent();
-                    break;
-                case CHANNEL_SWAP_AVAILABLE:
-                    state = systeminfo.getSwapAvailable();
-                    break;
-                case CHANNEL_SWAP_USED:
-                    state = systeminfo.getSwapUsed();
-                    break;
-                case CHANNEL_SWAP_TOTAL:
-                    state = systeminfo.getSwapTotal();
-                    break;
-                case CHANNEL_SWAP_AVAILABLE_PERCENT:
-                    state = systeminfo.getSwapAvailablePercent();
-                    break;
-                case CHANNEL_SWAP_USED_PERCENT:
-                    state = systeminfo.getSwapUsedPercent();
-                    break;
-                case CHANNEL_DRIVE_MODEL:
-                    state = systeminfo.getDriveModel(deviceIndex);
-                    break;
-                case CHANNEL_DRIVE_SERIAL:
-                    state = systeminfo.getDriveSerialNumber(deviceIndex);
-                    break;
-                case CHANNEL_DRIVE_NAME:
-                    state = systeminfo.getDriveName(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_NAME:
-                    state = systeminfo.getStorageName(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_DESCRIPTION:
-                    state = systeminfo.getStorageDescription(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_AVAILABLE:
-                    state = systeminfo.getStorageAvailable(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_USED:
-                    state = systeminfo.getStorageUsed(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_TOTAL:
-                    state = systeminfo.getStorageTotal(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_TYPE:
-                    state = systeminfo.getStorageType(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_AVAILABLE_PERCENT:
-                    state = systeminfo.getStorageAvailablePercent(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_USED_PERCENT:
-                    state = systeminfo.getStorageUsedPercent(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_IP:
-                    state = systeminfo.getNetworkIp(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_ADAPTER_NAME:
-                    state = systeminfo.getNetworkDisplayName(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_NAME:
-                    state = systeminfo.getNetworkName(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_MAC:
-                    state = systeminfo.getNetworkMac(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_DATA_SENT:
-                    state = systeminfo.getNetworkDataSent(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_DATA_RECEIVED:
-                    state = systeminfo.getNetworkDataReceived(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_PACKETS_RECEIVED:
-                    state = systeminfo.getNetworkPacketsReceived(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_PACKETS_SENT:
-                    state = systeminfo.getNetworkPacketsSent(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_LOAD:
-                    state = systeminfo.getProcessCpuUsage(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_MEMORY:
-                    state = systeminfo.getProcessMemoryUsage(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_NAME:
-                    state = systeminfo.getProcessName(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_PATH:
-                    state = systeminfo.getProcessPath(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_THREADS:
-                    state = systeminfo.getProcessThreads(deviceIndex);
-                    break;
-                default:
-                    logger.error("Channel with unknown ID: {} !", channelID);
-            }
+            state = channel.accessor.getState(systeminfo, channel.deviceIndex);
         } catch (DeviceNotFoundException e) {
-            logger.error("No information for channel {} with device intex {} :", channelID, deviceIndex, e);
+            logger.error("No information for channel {} with device intex {} :", channel.channelID,
+                    channel.deviceIndex, e);
         } catch (Exception e) {
             logger.error("Unexpected error occurred while getting system information!", e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
@@ -501,6 +468,7 @@ public class SysteminfoHandler extends BaseThingHandler {
         if (thing.getStatus().equals(ThingStatus.ONLINE)) {
             if (command instanceof RefreshType) {
                 logger.debug("Refresh command received for channel {}!", channelUID);
+                systeminfo.takeSnapshot();
                 publishDataForChannel(channelUID);
             } else {
                 logger.debug("Unsupported command {}! Supported commands: REFRESH", command);
@@ -571,6 +539,8 @@ public class SysteminfoHandler extends BaseThingHandler {
         Object newValue = newConfig.get(parameter);
         logger.debug("Channel with UID : {} has changed its {} from {} to {}", channel.getUID(), parameter, oldValue,
                 newValue);
+        // The device index may depend on the configuration, so the channel has to be resolved again
+        resolvedChannels.remove(channel.getUID());
         publishDataForChannel(channel.getUID());
     }
 
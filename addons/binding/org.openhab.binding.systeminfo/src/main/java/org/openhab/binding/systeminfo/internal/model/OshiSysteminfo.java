@@ -9,6 +9,10 @@
 package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -39,6 +43,55 @@ import oshi.util.EdidUtil;
  */
 public class OshiSysteminfo implements SysteminfoInterface {
 
+    /**
+     * Information that is collected from OSHI during a single update cycle, see {@link OshiSysteminfo#takeSnapshot()}.
+     * Each resource family is queried at most once per snapshot, on the first request for one of its values, and the
+     * result is shared by all channels that are updated in that cycle.
+     */
+    private class Snapshot {
+        private final Map<Integer, Optional<OSProcess>> processes = new ConcurrentHashMap<>();
+        private final Set<NetworkIF> updatedNetworks = ConcurrentHashMap.newKeySet();
+
+        private boolean memoryCollected;
+        private long memoryTotal;
+        private long memoryAvailable;
+        private long swapTotal;
+        private long swapUsed;
+
+        private double[] loadAverages;
+
+        private synchronized void collectMemory() {
+            if (!memoryCollected) {
+                memoryTotal = memory.getTotal();
+                memoryAvailable = memory.getAvailable();
+                swapTotal = memory.getSwapTotal();
+                swapUsed = memory.getSwapUsed();
+                memoryCollected = true;
+            }
+        }
+
+        private synchronized double[] getLoadAverages() {
+            if (loadAverages == null) {
+                loadAverages = cpu.getSystemLoadAverage(3);
+            }
+            return loadAverages;
+        }
+
+        private OSProcess getProcess(int pid) {
+            return processes.computeIfAbsent(pid, key -> Optional.ofNullable(operatingSystem.getProcess(key)))
+                    .orElse(null);
+        }
+
+        private NetworkIF getNetwork(NetworkIF network) {
+            synchronized (network) {
+                if (updatedNetworks.add(network)) {
+                    network.updateNetworkStats();
+                }
+            }
+            return network;
+        }
+    }
+
     HardwareAbstractionLayer hal;
 
     // Dynamic objects (may be queried repeatedly)
@@ -54,6 +107,8 @@ public class OshiSysteminfo implements SysteminfoInterface {
     private PowerSource[] powerSources;
     private HWDiskStore[] drives;
 
+    private volatile Snapshot snapshot = new Snapshot();
+
     public static final int PRECISION_AFTER_DECIMAl_SIGN = 1;
 
     /**
@@ -83,6 +138,20 @@ public class OshiSysteminfo implements SysteminfoInterface {
         drives = hal.getDiskStores();
     }
 
+    /**
+     * Starts a new update cycle. Dynamic information that is requested afterwards is queried again, but only once for
+     * all channels of the same resource family (memory, load averages, processes and network statistics).
+     */
+    public void takeSnapshot() {
+        snapshot = new Snapshot();
+    }
+
+    private Snapshot getMemorySnapshot() {
+        Snapshot current = snapshot;
+        current.collectMemory();
+        return current;
+    }
+
     @SuppressWarnings("null")
     private Object getDevice(Object[] devices, int index) throws DeviceNotFoundException {
         if ((devices != null) && (devices.length <= index)) {
@@ -92,7 +161,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
     }
 
     private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
+        OSProcess process = snapshot.getProcess(pid);
         if (process == null) {
             throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
         }
@@ -159,22 +228,23 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryTotal() {
-        long totalMemory = memory.getTotal();
+        long totalMemory = getMemorySnapshot().memoryTotal;
         totalMemory = getSizeInMB(totalMemory);
         return new DecimalType(totalMemory);
     }
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getMemorySnapshot().memoryAvailable;
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
 
     @Override
     public DecimalType getMemoryUsed() {
-        long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        Snapshot memorySnapshot = getMemorySnapshot();
+        long totalMemory = memorySnapshot.memoryTotal;
+        long availableMemory = memorySnapshot.memoryAvailable;
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -341,8 +411,9 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        Snapshot memorySnapshot = getMemorySnapshot();
+        long availableMemory = memorySnapshot.memoryAvailable;
+        long totalMemory = memorySnapshot.memoryTotal;
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
             BigDecimal freePercent = getPercentsValue(freePercentDecimal);
@@ -354,8 +425,9 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        Snapshot memorySnapshot = getMemorySnapshot();
+        long availableMemory = memorySnapshot.memoryAvailable;
+        long totalMemory = memorySnapshot.memoryTotal;
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
             double usedPercentDecimal = (double) usedMemory / (double) totalMemory;
@@ -389,15 +461,16 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapTotal() {
-        long swapTotal = memory.getSwapTotal();
+        long swapTotal = getMemorySnapshot().swapTotal;
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailable() {
-        long swapTotal = memory.getSwapTotal();
-        long swapUsed = memory.getSwapUsed();
+        Snapshot memorySnapshot = getMemorySnapshot();
+        long swapTotal = memorySnapshot.swapTotal;
+        long swapUsed = memorySnapshot.swapUsed;
         long swapAvaialble = swapTotal - swapUsed;
         swapAvaialble = getSizeInMB(swapAvaialble);
         return swapAvaialble > 0 ? new DecimalType(swapAvaialble) : null;
@@ -405,15 +478,16 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapUsed() {
-        long swapTotal = memory.getSwapUsed();
+        long swapTotal = getMemorySnapshot().swapUsed;
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailablePercent() {
-        long usedSwap = memory.getSwapUsed();
-        long totalSwap = memory.getSwapTotal();
+        Snapshot memorySnapshot = getMemorySnapshot();
+        long usedSwap = memorySnapshot.swapUsed;
+        long totalSwap = memorySnapshot.swapTotal;
         long freeSwap = totalSwap - usedSwap;
         if (totalSwap > 0) {
             double freePercentDecimal = (double) freeSwap / (double) totalSwap;
@@ -426,8 +500,9 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapUsedPercent() {
-        long usedSwap = memory.getSwapUsed();
-        long totalSwap = memory.getSwapTotal();
+        Snapshot memorySnapshot = getMemorySnapshot();
+        long usedSwap = memorySnapshot.swapUsed;
+        long totalSwap = memorySnapshot.swapTotal;
         if (totalSwap > 0) {
             double usedPercentDecimal = (double) usedSwap / (double) totalSwap;
             BigDecimal usedPercent = getPercentsValue(usedPercentDecimal);
@@ -502,7 +577,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
             default:
                 index = 2;
         }
-        double processorLoads[] = cpu.getSystemLoadAverage(index + 1);
+        double processorLoads[] = snapshot.getLoadAverages();
         BigDecimal result = new BigDecimal(processorLoads[index]);
         result = result.setScale(PRECISION_AFTER_DECIMAl_SIGN, BigDecimal.ROUND_HALF_UP);
         return result;
@@ -529,32 +604,28 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = snapshot.getNetwork((NetworkIF) getDevice(networks, networkIndex));
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = snapshot.getNetwork((NetworkIF) getDevice(networks, networkIndex));
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
 
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = snapshot.getNetwork((NetworkIF) getDevice(networks, networkIndex));
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
 
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = snapshot.getNetwork((NetworkIF) getDevice(networks, networkIndex));
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
@@ -22,6 +22,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
@@ -71,6 +73,7 @@ import org.openhab.binding.tesla.internal.protocol.Vehicle;
 import org.openhab.binding.tesla.internal.protocol.VehicleState;
 import org.openhab.binding.tesla.internal.throttler.QueueChannelThrottler;
 import org.openhab.binding.tesla.internal.throttler.Rate;
+import org.openhab.binding.tesla.internal.throttler.TimeProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,6 +100,10 @@ public class TeslaHandler extends BaseThingHandler {
     private static final int CONNECT_RETRY_INTERVAL = 15000;
     private static final int MAXIMUM_ERRORS_IN_INTERVAL = 2;
     private static final int ERROR_INTERVAL_SECONDS = 15;
+    private static final int ACCOUNT_QUEUE_LENGTH = 300;
+
+    // the API rates apply to an account, so all vehicles of an account share a throttler
+    private static final Map<String, AccountThrottler> accountThrottlers = new HashMap<String, AccountThrottler>();
 
     private Logger logger = LoggerFactory.getLogger(TeslaHandler.class);
 
@@ -126,6 +133,10 @@ public class TeslaHandler extends BaseThingHandler {
     protected ScheduledFuture<?> fastStateJob;
     protected ScheduledFuture<?> slowStateJob;
     protected QueueChannelThrottler stateThrottler;
+    protected String throttlerAccount;
+    protected String dataThrottleKey;
+    protected String commandThrottleKey;
+    protected final Map<String, State> channelStates = new ConcurrentHashMap<String, State>();
 
     protected long lastTimeStamp;
     protected long intervalTimestamp = 0;
@@ -134,6 +145,7 @@ public class TeslaHandler extends BaseThingHandler {
 
     private StorageService storageService;
     protected Gson gson = new Gson();
+    protected final JsonParser parser = new JsonParser();
     protected TeslaChannelSelectorProxy teslaChannelSelectorProxy = new TeslaChannelSelectorProxy();
     private TokenResponse logonToken;
 
@@ -161,14 +173,13 @@ public class TeslaHandler extends BaseThingHandler {
             eventThread = new Thread(eventRunnable, "ESH-Tesla-Event Stream-" + getThing().getUID());
             eventThread.start();
 
-            Map<Object, Rate> channels = new HashMap<Object, Rate>();
-            channels.put(TESLA_DATA_THROTTLE, new Rate(1, 1, TimeUnit.SECONDS));
-            channels.put(TESLA_COMMAND_THROTTLE, new Rate(20, 1, TimeUnit.MINUTES));
-
-            Rate firstRate = new Rate(20, 1, TimeUnit.MINUTES);
-            Rate secondRate = new Rate(200, 10, TimeUnit.MINUTES);
-            stateThrottler = new QueueChannelThrottler(firstRate, scheduler, channels);
-            stateThrottler.addRate(secondRate);
+            channelStates.clear();
+            throttlerAccount = getAccount();
+            dataThrottleKey = TESLA_DATA_THROTTLE + ":" + getThing().getUID().getId();
+            commandThrottleKey = TESLA_COMMAND_THROTTLE + ":" + getThing().getUID().getId();
+            stateThrottler = acquireThrottler(throttlerAccount, scheduler);
+            stateThrottler.addChannel(dataThrottleKey, new Rate(1, 1, TimeUnit.SECONDS));
+            stateThrottler.addChannel(commandThrottleKey, new Rate(20, 1, TimeUnit.MINUTES));
 
             if (fastStateJob == null || fastStateJob.isCancelled()) {
                 fastStateJob = scheduler.scheduleWithFixedDelay(fastStateRunnable, 0, FAST_STATUS_REFRESH_INTERVAL,
@@ -210,12 +221,63 @@ public class TeslaHandler extends BaseThingHandler {
                 connectJob.cancel(true);
                 connectJob = null;
             }
+
+            if (stateThrottler != null) {
+                stateThrottler.removeChannel(dataThrottleKey);
+                stateThrottler.removeChannel(commandThrottleKey);
+                stateThrottler = null;
+                releaseThrottler(throttlerAccount);
+            }
         } finally {
             lock.unlock();
         }
 
     }
 
+    private String getAccount() {
+        Object username = getConfig().get(USERNAME);
+        return username != null && StringUtils.isNotBlank(username.toString()) ? username.toString()
+                : getThing().getUID().getId();
+    }
+
+    private static QueueChannelThrottler acquireThrottler(String account, ScheduledExecutorService scheduler) {
+        synchronized (accountThrottlers) {
+            AccountThrottler accountThrottler = accountThrottlers.get(account);
+            if (accountThrottler == null) {
+                Rate firstRate = new Rate(20, 1, TimeUnit.MINUTES);
+                Rate secondRate = new Rate(200, 10, TimeUnit.MINUTES);
+                QueueChannelThrottler throttler = new QueueChannelThrottler(firstRate, scheduler,
+                        new HashMap<Object, Rate>(), TimeProvider.SYSTEM_PROVIDER, ACCOUNT_QUEUE_LENGTH);
+                throttler.addRate(secondRate);
+                accountThrottler = new AccountThrottler(throttler);
+                accountThrottlers.put(account, accountThrottler);
+            }
+            accountThrottler.references++;
+            return accountThrottler.throttler;
+        }
+    }
+
+    private static void releaseThrottler(String account) {
+        synchronized (accountThrottlers) {
+            AccountThrottler accountThrottler = accountThrottlers.get(account);
+            if (accountThrottler != null && --accountThrottler.references <= 0) {
+                accountThrottlers.remove(account);
+            }
+        }
+    }
+
+    /**
+     * Updates the state of a channel, unless it is unchanged since the last update
+     */
+    protected void updateChannelState(String channelID, State state) {
+        if (state == null) {
+            channelStates.remove(channelID);
+            updateState(channelID, state);
+        } else if (!state.equals(channelStates.put(channelID, state))) {
+            updateState(channelID, state);
+        }
+    }
+
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
 
@@ -223,6 +285,8 @@ public class TeslaHandler extends BaseThingHandler {
         TeslaChannelSelector selector = TeslaChannelSelector.getValueSelectorFromChannelID(channelID);
 
         if (command instanceof RefreshType) {
+            // make sure the next value is sent, even if it did not change
+            channelStates.remove(channelID);
             if (isAwake()) {
                 // Request the state of all known variables. This is sub-optimal, but the requests get scheduled and
                 // throttled so we are safe not to break the Tesla SLA
@@ -367,7 +431,7 @@ public class TeslaHandler extends BaseThingHandler {
     public void sendCommand(String command, String payLoad, WebTarget target) {
         Request request = new Request(command, payLoad, target);
         if (stateThrottler != null) {
-            stateThrottler.submit(TESLA_COMMAND_THROTTLE, request);
+            stateThrottler.submit(commandThrottleKey, request);
         }
     }
 
@@ -378,21 +442,21 @@ public class TeslaHandler extends BaseThingHandler {
     public void sendCommand(String command, String payLoad) {
         Request request = new Request(command, payLoad, commandTarget);
         if (stateThrottler != null) {
-            stateThrottler.submit(TESLA_COMMAND_THROTTLE, request);
+            stateThrottler.submit(commandThrottleKey, request);
         }
     }
 
     public void sendCommand(String command, WebTarget target) {
         Request request = new Request(command, "{}", target);
         if (stateThrottler != null) {
-            stateThrottler.submit(TESLA_COMMAND_THROTTLE, request);
+            stateThrottler.submit(commandThrottleKey, request);
         }
     }
 
     public void requestData(String command, String payLoad) {
         Request request = new Request(command, payLoad, dataRequestTarget);
         if (stateThrottler != null) {
-            stateThrottler.submit(TESLA_DATA_THROTTLE, request);
+            stateThrottler.submit(dataThrottleKey, request);
         }
     }
 
@@ -433,8 +497,6 @@ public class TeslaHandler extends BaseThingHandler {
                 }
             }
 
-            JsonParser parser = new JsonParser();
-
             if (response != null && response.getStatus() == 200) {
                 try {
                     JsonObject jsonObject = parser.parse(response.readEntity(String.class)).getAsJsonObject();
@@ -475,7 +537,6 @@ public class TeslaHandler extends BaseThingHandler {
 
     public void parseAndUpdate(String request, String payLoad, String result) {
 
-        JsonParser parser = new JsonParser();
         JsonObject jsonObject = null;
 
         try {
@@ -497,9 +558,9 @@ public class TeslaHandler extends BaseThingHandler {
                     case TESLA_CHARGE_STATE: {
                         chargeState = gson.fromJson(result, ChargeState.class);
                         if (chargeState.charging_state != null && "Charging".equals(chargeState.charging_state)) {
-                            updateState(CHANNEL_CHARGE, OnOffType.ON);
+                            updateChannelState(CHANNEL_CHARGE, OnOffType.ON);
                         } else {
-                            updateState(CHANNEL_CHARGE, OnOffType.OFF);
+                            updateChannelState(CHANNEL_CHARGE, OnOffType.OFF);
                         }
 
                         break;
@@ -565,16 +626,19 @@ public class TeslaHandler extends BaseThingHandler {
                                             .getValueSelectorFromRESTID(entry.getKey());
                                     if (!selector.isProperty()) {
                                         if (!entry.getValue().isJsonNull()) {
-                                            updateState(selector.getChannelID(), teslaChannelSelectorProxy.getState(
-                                                    entry.getValue().getAsString(), selector, editProperties()));
+                                            updateChannelState(selector.getChannelID(),
+                                                    teslaChannelSelectorProxy.getState(entry.getValue().getAsString(),
+                                                            selector, editProperties()));
                                         } else {
-                                            updateState(selector.getChannelID(), UnDefType.UNDEF);
+                                            updateChannelState(selector.getChannelID(), UnDefType.UNDEF);
                                         }
                                     } else {
                                         if (!entry.getValue().isJsonNull()) {
                                             Map<String, String> properties = editProperties();
-                                            properties.put(selector.getChannelID(), entry.getValue().getAsString());
-                                            updateProperties(properties);
+                                            String value = entry.getValue().getAsString();
+                                            if (!value.equals(properties.put(selector.getChannelID(), value))) {
+                                                updateProperties(properties);
+                                            }
                                         }
                                     }
                                 } catch (IllegalArgumentException e) {
@@ -700,8 +764,6 @@ public class TeslaHandler extends BaseThingHandler {
 
         logger.debug("Querying the vehicle : Response : {}:{}", response.getStatus(), response.getStatusInfo());
 
-        JsonParser parser = new JsonParser();
-
         JsonObject jsonObject = parser.parse(response.readEntity(String.class)).getAsJsonObject();
         Vehicle[] vehicleArray = gson.fromJson(jsonObject.getAsJsonArray("response"), Vehicle[].class);
 
@@ -843,13 +905,10 @@ public class TeslaHandler extends BaseThingHandler {
                 if (isAwake()) {
                     requestData(TESLA_DRIVE_STATE);
                     requestData(TESLA_VEHICLE_STATE);
-                } else {
-                    if (vehicle != null) {
-                        sendCommand(TESLA_COMMAND_WAKE_UP);
-                    } else {
-                        vehicle = queryVehicle();
-                    }
+                } else if (vehicle == null) {
+                    vehicle = queryVehicle();
                 }
+                // an asleep vehicle is not polled, the slow state refresh notices when it wakes up
             }
         }
     };
@@ -859,23 +918,35 @@ public class TeslaHandler extends BaseThingHandler {
         @Override
         public void run() {
             if (getThing().getStatus() == ThingStatus.ONLINE) {
+                // the list of vehicles does not wake up the vehicle, and tells whether it is asleep
+                if (stateThrottler != null) {
+                    stateThrottler.submit(dataThrottleKey, vehicleRunnable);
+                }
                 if (isAwake()) {
                     requestData(TESLA_CHARGE_STATE);
                     requestData(TESLA_CLIMATE_STATE);
                     requestData(TESLA_GUI_STATE);
                     queryVehicle(TESLA_MOBILE_ENABLED_STATE);
-                    parseAndUpdate("queryVehicle", null, vehicleJSON);
-                } else {
-                    if (vehicle != null) {
-                        sendCommand(TESLA_COMMAND_WAKE_UP);
-                    } else {
-                        vehicle = queryVehicle();
-                    }
                 }
             }
         }
     };
 
+    protected Runnable vehicleRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            try {
+                Vehicle queriedVehicle = queryVehicle();
+                if (queriedVehicle != null) {
+                    vehicle = queriedVehicle;
+                }
+            } catch (Exception e) {
+                logger.error("An exception occurred while querying the vehicle: '{}'", e.getMessage());
+            }
+        }
+    };
+
     protected Runnable connectRunnable = new Runnable() {
 
         @Override
@@ -1010,9 +1081,9 @@ public class TeslaHandler extends BaseThingHandler {
                                                     State newState = teslaChannelSelectorProxy.getState(vals[i],
                                                             selector, editProperties());
                                                     if (newState != null && !"".equals(vals[i])) {
-                                                        updateState(selector.getChannelID(), newState);
+                                                        updateChannelState(selector.getChannelID(), newState);
                                                     } else {
-                                                        updateState(selector.getChannelID(), UnDefType.UNDEF);
+                                                        updateChannelState(selector.getChannelID(), UnDefType.UNDEF);
                                                     }
                                                 } else {
                                                     Map<String, String> properties = editProperties();
@@ -1062,9 +1133,9 @@ public class TeslaHandler extends BaseThingHandler {
                         } else {
                             logger.debug("Event stream : The vehicle is not awake");
                             if (vehicle != null) {
-                                // wake up the vehicle until streaming token <> 0
-                                logger.debug("Event stream : Waking up the vehicle");
-                                sendCommand(TESLA_COMMAND_WAKE_UP);
+                                // the slow state refresh notices when the vehicle wakes up, do not flood the
+                                // throttler that is shared with the other vehicles of the account
+                                Thread.sleep(FAST_STATUS_REFRESH_INTERVAL);
                             } else {
                                 logger.debug("Event stream : Querying the vehicle");
                                 vehicle = queryVehicle();
@@ -1091,6 +1162,16 @@ public class TeslaHandler extends BaseThingHandler {
         }
     };
 
+    private static class AccountThrottler {
+
+        private final QueueChannelThrottler throttler;
+        private int references;
+
+        public AccountThrottler(QueueChannelThrottler throttler) {
+            this.throttler = throttler;
+        }
+    }
+
     protected class Request implements Runnable {
 
         private String request;
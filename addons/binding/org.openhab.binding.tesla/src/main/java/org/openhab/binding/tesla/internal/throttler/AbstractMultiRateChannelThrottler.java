@@ -9,9 +9,9 @@
 package org.openhab.binding.tesla.internal.throttler;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -24,7 +24,7 @@ abstract class AbstractMultiRateChannelThrottler implements ChannelThrottler {
 
     protected final TimeProvider timeProvider;
     protected final ScheduledExecutorService scheduler;
-    protected final Map<Object, Rate> channels = new HashMap<Object, Rate>();
+    protected final Map<Object, Rate> channels = new ConcurrentHashMap<Object, Rate>();
     protected final ArrayList<Rate> rates = new ArrayList<Rate>();
 
     protected AbstractMultiRateChannelThrottler(Rate rate, ScheduledExecutorService scheduler,
@@ -39,9 +39,23 @@ abstract class AbstractMultiRateChannelThrottler implements ChannelThrottler {
         this.rates.add(rate);
     }
 
+    /**
+     * Adds a channel with its own rate, e.g. when a throttler is shared by several consumers
+     *
+     * @param channelKey the key used to submit tasks for this channel
+     * @param rate the rate of the channel
+     */
+    public void addChannel(Object channelKey, Rate rate) {
+        channels.put(channelKey, rate);
+    }
+
+    public void removeChannel(Object channelKey) {
+        channels.remove(channelKey);
+    }
+
     protected synchronized long callTime(Rate channel) {
         long maxCallTime = 0;
-        long finalCallTime = 0;
+        long finalCallTime;
         long now = timeProvider.getCurrentTimeInMillis();
         Iterator<Rate> iterator = rates.iterator();
         while (iterator.hasNext()) {
@@ -52,6 +66,8 @@ abstract class AbstractMultiRateChannelThrottler implements ChannelThrottler {
         if (channel != null) {
             finalCallTime = Math.max(maxCallTime, channel.callTime(now));
             channel.addCall(finalCallTime);
+        } else {
+            finalCallTime = maxCallTime;
         }
 
         iterator = rates.iterator();
@@ -13,10 +13,19 @@ import java.io.InputStream;
 import java.io.PrintStream;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -41,10 +50,20 @@ import org.xml.sax.helpers.XMLReaderFactory;
  * The {@link VitotronicBridgeHandler} class handles the connection to the
  * optolink adapter.
  *
+ * All messages are sent in order by a single writer thread. Get requests for
+ * the same thing are merged into one line while they wait to be sent, unless
+ * a set request for the thing has been queued after them. Things
+ * whose values did not change are polled less often.
+ *
  * @author Stefan Andres - Initial contribution
  */
 public class VitotronicBridgeHandler extends BaseBridgeHandler {
 
+    private static final String GET_REQUEST = "get ";
+
+    // Maximum number of refresh intervals between two polls of an unchanged thing
+    private static final int MAX_POLLING_INTERVALS = 4;
+
     private Logger logger = LoggerFactory.getLogger(VitotronicBridgeHandler.class);
 
     private String ipAddress;
@@ -53,8 +72,15 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
     private Socket socket;
     private PrintStream out;
     private InputStream inStream;
-    private boolean isConnect = false;
+    private volatile boolean isConnect = false;
     private boolean isDiscover = false;
+    private CountDownLatch connectLatch;
+    private final BlockingQueue<String> sendQueue = new LinkedBlockingQueue<String>();
+    // Channels to get by thing id, an empty set requests all channels of the thing
+    private final Map<String, Set<String>> pendingGets = new LinkedHashMap<String, Set<String>>();
+    // Get requests by thing id that are followed by a set request in the queue and must not be merged any more,
+    // oldest first. Guarded by pendingGets.
+    private final Map<String, Deque<Set<String>>> closedGets = new HashMap<String, Deque<Set<String>>>();
 
     public VitotronicBridgeHandler(Bridge bridge) {
         super(bridge);
@@ -107,7 +133,8 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
 
     // Managing ThingHandler
 
-    private Map<String, VitotronicThingHandler> thingHandlerMap = new HashMap<String, VitotronicThingHandler>();
+    private Map<String, VitotronicThingHandler> thingHandlerMap = new ConcurrentHashMap<>();
+    private Map<String, ThingPolling> thingPollingMap = new ConcurrentHashMap<>();
 
     public void registerVitotronicThingListener(VitotronicThingHandler thingHandler) {
         if (thingHandler == null) {
@@ -115,10 +142,11 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
         } else {
             String thingID = thingHandler.getThing().getUID().getId();
             if (thingHandlerMap.get(thingID) == null) {
+                thingPollingMap.put(thingID, new ThingPolling());
                 thingHandlerMap.put(thingID, thingHandler);
                 logger.trace("register thingHandler for thing: {}", thingID);
                 updateThingHandlerStatus(thingHandler, this.getStatus());
-                sendSocketData("get " + thingID);
+                requestData(thingID, "");
             } else {
                 logger.trace("thingHandler for thing: '{}' allready registerd", thingID);
             }
@@ -132,6 +160,7 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
             if (thingHandlerMap.remove(thingID) == null) {
                 logger.trace("thingHandler for thing: {} not registered", thingID);
             } else {
+                thingPollingMap.remove(thingID);
                 updateThingHandlerStatus(thingHandler, ThingStatus.OFFLINE);
             }
         }
@@ -159,8 +188,13 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
             if (!isConnect) {
                 startSocketReceiver();
                 try {
-                    Thread.sleep(5000); // Wait for connection .
+                    // Wait for the adapter to start sending data
+                    if (connectLatch != null) {
+                        connectLatch.await(5, TimeUnit.SECONDS);
+                    }
                 } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
                 }
             }
             if (isConnect) {
@@ -185,14 +219,75 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
         for (Map.Entry<String, VitotronicThingHandler> entry : thingHandlerMap.entrySet()) {
             channelList = entry.getValue().getActiveChannelListAsString();
             thingId = entry.getValue().getThing().getUID().getId();
-            if (isConnect && (channelList.length() > 0)) {
+            ThingPolling polling = thingPollingMap.get(thingId);
+            if (isConnect && (channelList.length() > 0) && polling != null && polling.isDue(channelList)) {
                 logger.trace("Get Data for '{}'", thingId);
-                sendSocketData("get " + thingId + " " + channelList);
+                requestData(thingId, channelList);
+            } else {
+                logger.trace("Skip polling of '{}'", thingId);
             }
 
         }
     }
 
+    /**
+     * Queues a get request. The channels are merged into a get request for the
+     * same thing if one is still waiting to be sent.
+     *
+     * @param thingId the thing to get the data for
+     * @param channelList comma separated channels, or an empty string for all channels
+     */
+    private void requestData(String thingId, String channelList) {
+        if (!isConnect) {
+            return;
+        }
+        boolean isQueued;
+        synchronized (pendingGets) {
+            Set<String> channels = pendingGets.get(thingId);
+            isQueued = channels != null;
+            if (!isQueued) {
+                channels = new LinkedHashSet<String>();
+                pendingGets.put(thingId, channels);
+            }
+            if (channelList.isEmpty()) {
+                channels.clear();
+            } else if (!isQueued || !channels.isEmpty()) {
+                channels.addAll(Arrays.asList(channelList.split(",")));
+            }
+        }
+        if (isQueued) {
+            logger.trace("Merged get request for '{}'", thingId);
+        } else {
+            sendSocketData(GET_REQUEST + thingId);
+        }
+    }
+
+    private String takeGetRequest(String thingId) {
+        Set<String> channels;
+        synchronized (pendingGets) {
+            // Closed requests were queued before the pending one
+            Deque<Set<String>> closed = closedGets.get(thingId);
+            if (closed != null) {
+                channels = closed.poll();
+                if (closed.isEmpty()) {
+                    closedGets.remove(thingId);
+                }
+            } else {
+                channels = pendingGets.remove(thingId);
+            }
+        }
+        if (channels == null || channels.isEmpty()) {
+            return GET_REQUEST + thingId;
+        }
+        StringBuilder message = new StringBuilder(GET_REQUEST).append(thingId).append(' ');
+        String separator = "";
+        for (String channel : channels) {
+            message.append(separator).append(channel);
+            separator = ",";
+        }
+        return message.toString();
+    }
+
     // Methods for ThingHandler
 
     public void scanThings() {
@@ -209,7 +304,23 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
     }
 
     public void updateChannel(String thingId, String channelId, String value) {
-        sendSocketData("set " + thingId + ":" + channelId + " " + value);
+        synchronized (pendingGets) {
+            // A get request queued before the set must not pick up later gets, they have to read the new value
+            Set<String> channels = pendingGets.remove(thingId);
+            if (channels != null) {
+                Deque<Set<String>> closed = closedGets.get(thingId);
+                if (closed == null) {
+                    closed = new ArrayDeque<Set<String>>();
+                    closedGets.put(thingId, closed);
+                }
+                closed.add(channels);
+            }
+            sendSocketData("set " + thingId + ":" + channelId + " " + value);
+        }
+        ThingPolling polling = thingPollingMap.get(thingId);
+        if (polling != null) {
+            polling.reset();
+        }
     }
 
     // internal Methods
@@ -240,24 +351,36 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
             pollingJob.cancel(true);
             pollingJob = null;
         }
+        closeSocket();
         updateStatus(ThingStatus.OFFLINE); // Set all State to offline
     }
 
     // Connection to adapter
 
-    private void openSocket() {
+    private boolean openSocket() {
         logger.trace("Try to open connection to Optolink Adapter {}:{}", ipAddress, port);
 
         try {
             socket = new Socket(ipAddress, port);
             out = new PrintStream(socket.getOutputStream());
             inStream = socket.getInputStream();
+            return true;
         } catch (UnknownHostException e) {
             logger.error("Can't find Host: {}:{}", ipAddress, port);
         } catch (IOException e) {
             logger.debug("Error in communication to Host: {}:{}", ipAddress, port);
             logger.trace("Diagnostic: ", e);
         }
+        return false;
+    }
+
+    private void closeSocket() {
+        try {
+            if (socket != null && !socket.isClosed()) {
+                socket.close();
+            }
+        } catch (IOException e) {
+        }
     }
 
     Runnable socketReceiverRunnable = new Runnable() {
@@ -279,12 +402,41 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
             }
             updateStatus(ThingStatus.OFFLINE);
             isConnect = false;
+            closeSocket();
+            logger.trace("Connection to optolink adapter is died ... wait for restart");
+        }
+
+    };
+
+    // Sends the queued messages in order, as long as the socket is open
+    Runnable socketWriterRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            Socket writerSocket = socket;
+            PrintStream writerOut = out;
+            logger.trace("Start Background Thread for sending data to adapter");
             try {
-                if (!socket.isClosed())
-                    socket.close();
-            } catch (Exception e) {
+                while (!writerSocket.isClosed()) {
+                    String message = sendQueue.poll(1, TimeUnit.SECONDS);
+                    if (message == null) {
+                        continue;
+                    }
+                    if (message.startsWith(GET_REQUEST)) {
+                        message = takeGetRequest(message.substring(GET_REQUEST.length()));
+                    }
+                    logger.trace("Send Message {}", message);
+                    writerOut.write((message + "\n").getBytes());
+                    writerOut.flush();
+                }
+            } catch (IOException e) {
+                logger.error("Error in sending data to optolink addapter");
+                logger.trace("Diagnostic: ", e);
+                closeSocket();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
-            logger.trace("Connection to optolink adapter is died ... wait for restart");
+            logger.trace("Stop Background Thread for sending data to adapter");
         }
 
     };
@@ -293,28 +445,73 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
 
         if (!isConnect) {
 
-            openSocket();
+            sendQueue.clear();
+            synchronized (pendingGets) {
+                pendingGets.clear();
+                closedGets.clear();
+            }
+            connectLatch = new CountDownLatch(1);
+            if (!openSocket()) {
+                return;
+            }
 
             Thread thread = new Thread(socketReceiverRunnable);
             thread.setName("VitotronicSocketThread");
             thread.start();
+
+            Thread writerThread = new Thread(socketWriterRunnable);
+            writerThread.setName("VitotronicSocketWriterThread");
+            writerThread.start();
         }
 
     }
 
     private void sendSocketData(String message) {
 
-        try {
-            logger.trace("Send Message {}", message);
-            if (isConnect)
-                out.write((message + "\n").getBytes());
-        } catch (IOException e) {
-            logger.error("Error in sending data to optolink addapter");
-            logger.trace("Diagnostic: ", e);
+        logger.trace("Queue Message {}", message);
+        if (isConnect) {
+            sendQueue.offer(message);
         }
 
     }
 
+    /**
+     * Polling state of a thing. A thing is polled every refresh interval while
+     * its values change. Otherwise the interval between polls is doubled up to
+     * {@link #MAX_POLLING_INTERVALS} refresh intervals.
+     */
+    private static class ThingPolling {
+
+        private final Map<String, String> values = new ConcurrentHashMap<String, String>();
+        private volatile boolean isChanged;
+        private String channelList = "";
+        private int intervals = 1;
+        private int skipped;
+
+        synchronized boolean isDue(String activeChannelList) {
+            boolean isSameChannels = activeChannelList.equals(channelList);
+            if (isSameChannels && ++skipped < intervals) {
+                return false;
+            }
+            intervals = (isChanged || !isSameChannels) ? 1 : Math.min(intervals * 2, MAX_POLLING_INTERVALS);
+            channelList = activeChannelList;
+            skipped = 0;
+            isChanged = false;
+            return true;
+        }
+
+        synchronized void reset() {
+            intervals = 1;
+            skipped = 0;
+        }
+
+        void setValue(String channelId, String value) {
+            if (value != null && !value.equals(values.put(channelId, value))) {
+                isChanged = true;
+            }
+        }
+    }
+
     // Handles all data what received from optolink adapter
 
     public class xmlHandler implements ContentHandler {
@@ -329,6 +526,7 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
         String channelID;
         String description;
         VitotronicThingHandler thingHandler;
+        ThingPolling thingPolling;
         Set<String> channels = new HashSet<String>();
 
         @Override
@@ -340,6 +538,9 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
                     case "optolink":
                         isConnect = true;
                         updateStatus(ThingStatus.ONLINE);
+                        if (connectLatch != null) {
+                            connectLatch.countDown();
+                        }
                         break;
                     case "data":
                         isDefine = false;
@@ -358,6 +559,7 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
                         thingID = attr.getValue("id");
                         channels.clear();
                         thingHandler = thingHandlerMap.get(thingID);
+                        thingPolling = thingPollingMap.get(thingID);
                         break;
                     case "channel":
                         isChannel = true;
@@ -369,6 +571,9 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
                                 logger.trace("Set Data for channel '{}' value '{}'", channelID, attr.getValue("value"));
                                 thingHandler.setChannelValue(channelID, attr.getValue("value"));
                             }
+                            if (thingPolling != null) {
+                                thingPolling.setValue(channelID, attr.getValue("value"));
+                            }
                         }
                         break;
                 }
@@ -399,6 +604,7 @@ public class VitotronicBridgeHandler extends BaseBridgeHandler {
                         createThing(thingType, thingID);
                     isThing = false;
                     thingHandler = null;
+                    thingPolling = null;
                     break;
                 case "channel":
                     isChannel = false;
@@ -11,10 +11,17 @@ package org.openhab.binding.yamahareceiver.internal.protocol.xml;
 import java.io.BufferedReader;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import org.openhab.binding.yamahareceiver.internal.protocol.AbstractConnection;
 import org.slf4j.Logger;
@@ -22,7 +29,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * All other protocol classes in this directory use this class for communication. An object
- * of HttpXMLSendReceive is always bound to a specific host.
+ * of HttpXMLSendReceive is always bound to a specific host. Requests reuse the keep-alive
+ * connection to the host, and GET responses are shared for a short time.
  *
  * @author David Graeff - Initial contribution
  * @author Tomasz Maruszak - Minor refactor
@@ -35,10 +43,24 @@ public class XMLConnection extends AbstractConnection {
     public final static String XML_PUT = "<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"PUT\">";
     public final static String XML_END = "</YAMAHA_AV>";
 
+    /**
+     * Responses to GET requests are reused for this time (ms). Zones and inputs that are refreshed in the same
+     * cycle share the responses for the same nodes this way.
+     */
+    private static final long RESPONSE_CACHE_TIME = 1000;
+
+    private final Map<String, CachedResponse> responseCache = new ConcurrentHashMap<>();
+
     public XMLConnection(String host) {
         super(host);
     }
 
+    @Override
+    public void setHost(String host) {
+        super.setHost(host);
+        responseCache.clear();
+    }
+
     /**
      * Post the given xml message
      *
@@ -47,7 +69,6 @@ public class XMLConnection extends AbstractConnection {
      */
     @Override
     public void send(String message) throws IOException {
-        HttpURLConnection connection = null;
         if (message.startsWith("<?xml")) {
             throw new IOException("No preformatted xml allowed!");
         }
@@ -57,39 +78,17 @@ public class XMLConnection extends AbstractConnection {
         writeTraceFile(message);
 
         try {
-            URL url = createCrlUrl();
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Length", "" + Integer.toString(message.length()));
-
-            connection.setUseCaches(false);
-            connection.setDoInput(true);
-            connection.setDoOutput(true);
-
-            // Send request
-            DataOutputStream wr = new DataOutputStream(connection.getOutputStream());
-            try {
-                wr.writeBytes(message);
-                wr.flush();
-            } finally {
-                wr.close();
-            }
-
-            if (connection.getResponseCode() != 200) {
-                throw new IOException("Changing a value on the Yamaha AVR failed: " + message);
-            }
-
-        } catch (IOException e) {
-            throw e;
+            post(message);
         } finally {
-            if (connection != null) {
-                connection.disconnect();
-            }
+            // The change invalidates the cached state
+            responseCache.clear();
         }
     }
 
     /**
-     * Post the given xml message and return the response as string.
+     * Post the given xml message and return the response as string. A response to the same message that
+     * is not older than {@link #RESPONSE_CACHE_TIME} is returned without another request, and concurrent
+     * requests for the same message share one request.
      *
      * @param message XML formatted message excluding <?xml> or <YAMAHA_AV> tags.
      * @return Return the response as text or throws an exception if the connection failed.
@@ -97,18 +96,50 @@ public class XMLConnection extends AbstractConnection {
      */
     @Override
     public String sendReceive(String message) throws IOException {
-        HttpURLConnection connection = null;
         if (message.startsWith("<?xml")) {
             throw new IOException("No preformatted xml allowed!");
         }
 
-        message = XML_GET + message + XML_END;
+        final String getMessage = XML_GET + message + XML_END;
 
-        writeTraceFile(message);
+        writeTraceFile(getMessage);
 
+        final long now = System.currentTimeMillis();
+
+        CachedResponse cachedResponse = responseCache.compute(message,
+                (key, cached) -> cached == null || now - cached.time > RESPONSE_CACHE_TIME
+                        ? new CachedResponse(now, () -> post(getMessage))
+                        : cached);
+
+        // Only the first caller executes the request, all others wait for its response
+        cachedResponse.response.run();
+        try {
+            return cachedResponse.response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response");
+        } catch (ExecutionException e) {
+            responseCache.remove(message, cachedResponse);
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Post the given complete xml message and return the response as string. The response is always read
+     * completely and the connection is not disconnected, so that the underlying keep-alive connection to the
+     * AVR can be reused for the next request.
+     *
+     * @param message The complete XML message
+     * @return The response as text
+     * @throws IOException
+     */
+    private String post(String message) throws IOException {
         try {
             URL url = createCrlUrl();
-            connection = (HttpURLConnection) url.openConnection();
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
             connection.setRequestMethod("POST");
             connection.setRequestProperty("Content-Length", "" + Integer.toString(message.length()));
 
@@ -125,29 +156,49 @@ public class XMLConnection extends AbstractConnection {
                 wr.close();
             }
 
-            // Read response
-            BufferedReader rd = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            try {
-                String line;
-                StringBuffer responseBuffer = new StringBuffer();
-                while ((line = rd.readLine()) != null) {
-                    responseBuffer.append(line);
-                    responseBuffer.append('\r');
-                }
-                String response = responseBuffer.toString();
-
-                writeTraceFile(message);
-                return response;
-            } finally {
-                rd.close();
+            int responseCode = connection.getResponseCode();
+            if (responseCode != 200) {
+                // Read the error response to be able to reuse the connection
+                readResponse(connection.getErrorStream());
+                throw new IOException("Request to the Yamaha AVR failed with status " + responseCode + ": " + message);
             }
-        } catch (Exception e) {
+
+            // Read response
+            return readResponse(connection.getInputStream());
+        } catch (IOException e) {
             logger.warn("post failed on: {}", message);
             throw e;
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
+        }
+    }
+
+    private String readResponse(InputStream inputStream) throws IOException {
+        if (inputStream == null) {
+            return "";
+        }
+        BufferedReader rd = new BufferedReader(new InputStreamReader(inputStream));
+        try {
+            String line;
+            StringBuilder responseBuffer = new StringBuilder();
+            while ((line = rd.readLine()) != null) {
+                responseBuffer.append(line);
+                responseBuffer.append('\r');
             }
+            return responseBuffer.toString();
+        } finally {
+            rd.close();
+        }
+    }
+
+    /**
+     * A response to a GET request, which is requested when the first caller runs it.
+     */
+    private static class CachedResponse {
+        private final long time;
+        private final FutureTask<String> response;
+
+        CachedResponse(long time, Callable<String> request) {
+            this.time = time;
+            this.response = new FutureTask<>(request);
         }
     }
 
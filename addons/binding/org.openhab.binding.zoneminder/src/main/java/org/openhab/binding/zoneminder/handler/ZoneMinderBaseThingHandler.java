@@ -36,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import name.eskildsen.zoneminder.IZoneMinderConnectionInfo;
+import name.eskildsen.zoneminder.IZoneMinderMonitorData;
 import name.eskildsen.zoneminder.IZoneMinderSession;
 import name.eskildsen.zoneminder.ZoneMinderFactory;
 import name.eskildsen.zoneminder.exception.ZoneMinderUrlNotFoundException;
@@ -162,10 +163,30 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
 
     protected abstract void onFetchData();
 
+    /**
+     * Fetches data using the monitor data that the bridge fetched for all monitors in one request.
+     * Subclasses can override this to save requests, the default fetches all data.
+     *
+     * @param monitorData monitor data of this thing, or null if the monitor list could not be fetched
+     */
+    protected void onFetchData(IZoneMinderMonitorData monitorData) {
+        onFetchData();
+    }
+
     /**
      * Method to Refresh Thing Handler.
      */
-    public final synchronized void refreshThing(IZoneMinderSession session, DataRefreshPriorityEnum refreshPriority) {
+    public final void refreshThing(IZoneMinderSession session, DataRefreshPriorityEnum refreshPriority) {
+        refreshThing(session, refreshPriority, null);
+    }
+
+    /**
+     * Method to Refresh Thing Handler.
+     *
+     * @param monitorData monitor data of this thing fetched by the bridge, or null to fetch all data
+     */
+    public final synchronized void refreshThing(IZoneMinderSession session, DataRefreshPriorityEnum refreshPriority,
+            IZoneMinderMonitorData monitorData) {
 
         if ((refreshPriority != getRefreshPriority()) && (!isConnected())) {
             return;
@@ -183,7 +204,11 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
                 logger.debug("{}: refreshThing(): Bridge '{}' Found for Thing '{}'!", getLogIdentifier(),
                         getThing().getUID(), this.getThing().getUID());
 
-                onFetchData();
+                if (monitorData != null) {
+                    onFetchData(monitorData);
+                } else {
+                    onFetchData();
+                }
             }
         }
 
@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
@@ -186,54 +187,81 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
         }
     };
 
+    private final Object priorityRefreshLock = new Object();
+
     private Runnable refreshPriorityDataRunnable = new Runnable() {
 
         @Override
         public void run() {
             try {
+                refreshPriorityData();
+            } catch (Exception exception) {
+                logger.error("[MONITOR]: monitorRunnable::run(): Exception: ", exception);
+            }
+        }
+    };
 
-                // Make sure priority updates is done
-                for (Thing thing : getThing().getThings()) {
-                    try {
-
-                        if (thing.getThingTypeUID().equals(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR)) {
-                            Thing thingMonitor = thing;
-
-                            ZoneMinderBaseThingHandler thingHandler = (ZoneMinderBaseThingHandler) thing.getHandler();
-                            if (thingHandler != null) {
-
-                                if (thingHandler.getRefreshPriority() == DataRefreshPriorityEnum.HIGH_PRIORITY) {
-                                    logger.debug("[MONITOR-{}]: RefreshPriority is High Priority",
-                                            thingHandler.getZoneMinderId());
-                                    thingHandler.refreshThing(zoneMinderSession, DataRefreshPriorityEnum.HIGH_PRIORITY);
-                                }
-                            } else {
-                                logger.debug(
-                                        "[MONITOR]: refreshThing not called for monitor, since thingHandler is 'null'");
-
-                            }
-                        }
-
-                    } catch (NullPointerException ex) {
-                        // This isn't critical (unless it comes over and over). There seems to be a bug so that a
-                        // null
-                        // pointer exception is coming every now and then.
-                        // HAve to find the reason for that. Until thenm, don't Spamm
-                        logger.error(
-                                "[MONITOR]: Method 'refreshThing()' for Bridge failed for thing='{}' - Exception='{}'",
-                                thing.getUID(), ex);
-                    } catch (Exception ex) {
-                        logger.error(
-                                "[MONITOR]: Method 'refreshThing()' for Bridge failed for thing='{}' - Exception='{}'",
-                                thing.getUID(), ex);
+    /**
+     * Refreshes the monitors with high priority. The monitor data of all these monitors is fetched in one
+     * request, so only the detailed status has to be requested per monitor.
+     */
+    protected void refreshPriorityData() {
+        synchronized (priorityRefreshLock) {
+            List<ZoneMinderBaseThingHandler> thingHandlers = new ArrayList<ZoneMinderBaseThingHandler>();
+            for (Thing thing : getThing().getThings()) {
+                if (thing.getThingTypeUID().equals(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR)) {
+                    ZoneMinderBaseThingHandler thingHandler = (ZoneMinderBaseThingHandler) thing.getHandler();
+                    if (thingHandler == null) {
+                        logger.debug("[MONITOR]: refreshThing not called for monitor, since thingHandler is 'null'");
+                    } else if (thingHandler.getRefreshPriority() == DataRefreshPriorityEnum.HIGH_PRIORITY) {
+                        thingHandlers.add(thingHandler);
                     }
                 }
+            }
 
-            } catch (Exception exception) {
-                logger.error("[MONITOR]: monitorRunnable::run(): Exception: ", exception);
+            // Nothing to do until a monitor receives a trigger event
+            if (thingHandlers.isEmpty()) {
+                return;
+            }
+
+            // The items of the monitor list carry no response code of their own, so only the list request itself
+            // tells whether the data can be used. Without it every monitor fetches its own data.
+            Map<String, IZoneMinderMonitorData> monitors = new HashMap<String, IZoneMinderMonitorData>();
+            if (isConnected()) {
+                IZoneMinderServer serverProxy = ZoneMinderFactory.getServerProxy(zoneMinderSession);
+                ArrayList<IZoneMinderMonitorData> monitorList = serverProxy.getMonitors();
+                if (monitorList == null) {
+                    logger.debug("[MONITOR]: Fetching the monitor list failed - URL='{}' ResponseCode='{}'",
+                            serverProxy.getHttpUrl(), serverProxy.getHttpResponseCode());
+                } else {
+                    for (IZoneMinderMonitorData monitorData : monitorList) {
+                        monitors.put(monitorData.getId(), monitorData);
+                    }
+                }
+            }
+
+            for (ZoneMinderBaseThingHandler thingHandler : thingHandlers) {
+                try {
+                    logger.debug("[MONITOR-{}]: RefreshPriority is High Priority", thingHandler.getZoneMinderId());
+                    thingHandler.refreshThing(zoneMinderSession, DataRefreshPriorityEnum.HIGH_PRIORITY,
+                            monitors.get(thingHandler.getZoneMinderId()));
+                } catch (Exception ex) {
+                    logger.error("[MONITOR]: Method 'refreshThing()' for Bridge failed for thing='{}' - Exception='{}'",
+                            thingHandler.getThing().getUID(), ex);
+                }
             }
         }
-    };
+    }
+
+    /**
+     * Requests a refresh of the monitors with high priority without waiting for the next scheduled one,
+     * e.g. when a monitor received a trigger event.
+     */
+    public void requestPriorityRefresh() {
+        if (isConnected()) {
+            scheduler.execute(refreshPriorityDataRunnable);
+        }
+    }
 
     /**
      * Constructor
@@ -95,6 +95,18 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
     private int forceAlarmManualState = -1;
 
+    /**
+     * Time the last trigger event was received, until the alarm is fetched (0 if none)
+     */
+    private volatile long triggerEventTime = 0;
+
+    /**
+     * Latency between receiving trigger events and fetching the alarm (ms)
+     */
+    private int alarmLatencyCount = 0;
+    private long alarmLatencyTotal = 0;
+    private long alarmLatencyMax = 0;
+
     public ZoneMinderThingMonitorHandler(Thing thing) {
         super(thing);
 
@@ -338,8 +350,15 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
             // Set Current Event to actual event
             if (event.getState()) {
+                triggerEventTime = System.currentTimeMillis();
                 startPriorityRefresh();
 
+                // Don't wait for the next priority refresh
+                ZoneMinderServerBridgeHandler bridge = getZoneMinderBridgeHandler();
+                if (bridge != null) {
+                    bridge.requestPriorityRefresh();
+                }
+
             } else {
                 curEvent = null;
             }
@@ -818,8 +837,62 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
             releaseSession();
         }
 
+        onDataFetched();
+    }
+
+    @Override
+    protected void onFetchData(IZoneMinderMonitorData data) {
+        if (data == null) {
+            onFetchData();
+            return;
+        }
+
+        // Function and enabled state are taken from the monitor data of all monitors, the daemon states are kept
+        // until the next scheduled refresh. Only the detailed status has to be requested for this monitor.
+        IZoneMinderSession session = aquireSession();
+        try {
+            if (isConnected()) {
+                IZoneMinderMonitor monitorProxy = ZoneMinderFactory.getMonitorProxy(session, getZoneMinderId());
+                ZoneMinderMonitorStatusEnum monitorStatus = monitorProxy.getMonitorDetailedStatus();
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
+                        monitorProxy.getHttpResponseMessage());
+
+                channelFunction = data.getFunction();
+                channelEnabled = data.getEnabled();
+
+                // The cause can only have changed with the status
+                if (monitorStatus != channelMonitorStatus) {
+                    IZoneMinderEventData event = monitorProxy.getLastEvent();
+                    if (event != null) {
+                        channelEventCause = event.getCause();
+                    } else {
+                        channelEventCause = "";
+                    }
+                }
+                channelMonitorStatus = monitorStatus;
+            }
+        } finally {
+            releaseSession();
+        }
+
+        onDataFetched();
+    }
+
+    private void onDataFetched() {
         RecalculateChannelStates();
 
+        if ((triggerEventTime != 0) && (channelAlarmedState || channelForceAlarm)) {
+            long latency = System.currentTimeMillis() - triggerEventTime;
+            triggerEventTime = 0;
+            alarmLatencyCount++;
+            alarmLatencyTotal += latency;
+            alarmLatencyMax = Math.max(alarmLatencyMax, latency);
+            logger.debug("{}: Alarm fetched {} ms after trigger event (average='{}' ms, max='{}' ms, count='{}')",
+                    getLogIdentifier(), latency, alarmLatencyTotal / alarmLatencyCount, alarmLatencyMax,
+                    alarmLatencyCount);
+        }
+
         if ((channelForceAlarm == false) && (channelAlarmedState == false)
                 && (DataRefreshPriorityEnum.HIGH_PRIORITY == getRefreshPriority())) {
             stopPriorityRefresh();